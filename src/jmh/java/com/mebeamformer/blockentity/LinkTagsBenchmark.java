@@ -0,0 +1,93 @@
+package com.mebeamformer.blockentity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密集链接集合的保存/加载耗时：新的差分 LongArrayTag 与旧的 x/y/z CompoundTag 列表对比。
+ * 保存包括写入方块实体标签并按区块存档的方式压缩序列化，加载包括解压、解析与还原链接。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LinkTagsBenchmark {
+    @Param({"16", "300", "1000"})
+    public int links;
+
+    private List<BlockPos> positions;
+    private byte[] packedBytes;
+    private byte[] legacyBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        positions = new ArrayList<>(links);
+        int side = (int) Math.ceil(Math.sqrt(links));
+        for (int i = 0; i < links; i++) {
+            positions.add(new BlockPos(1000 + (i % side) * 3, 64 + i % 7, -2000 + (i / side) * 3));
+        }
+        packedBytes = savePacked();
+        legacyBytes = saveLegacy();
+    }
+
+    @Benchmark
+    public byte[] savePacked() throws IOException {
+        CompoundTag tag = new CompoundTag();
+        LinkTags.write(tag, positions);
+        return compress(tag);
+    }
+
+    @Benchmark
+    public byte[] saveLegacy() throws IOException {
+        CompoundTag tag = new CompoundTag();
+        ListTag list = new ListTag();
+        for (BlockPos pos : positions) {
+            CompoundTag t = new CompoundTag();
+            t.putInt("x", pos.getX());
+            t.putInt("y", pos.getY());
+            t.putInt("z", pos.getZ());
+            list.add(t);
+        }
+        tag.put(LinkTags.LEGACY_KEY, list);
+        return compress(tag);
+    }
+
+    @Benchmark
+    public List<BlockPos> loadPacked() throws IOException {
+        return load(packedBytes);
+    }
+
+    @Benchmark
+    public List<BlockPos> loadLegacy() throws IOException {
+        return load(legacyBytes);
+    }
+
+    private static byte[] compress(CompoundTag tag) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NbtIo.writeCompressed(tag, out);
+        return out.toByteArray();
+    }
+
+    private List<BlockPos> load(byte[] bytes) throws IOException {
+        CompoundTag tag = NbtIo.readCompressed(new ByteArrayInputStream(bytes));
+        List<BlockPos> out = new ArrayList<>(links);
+        LinkTags.read(tag, out);
+        return out;
+    }
+}
@@ -0,0 +1,52 @@
+package com.mebeamformer.blockentity;
+
+/**
+ * 光束反复通断时 {@link StatusDebouncer} 的写入决策次数：./gradlew flappingSimulation
+ * 模拟 1000 个成型器（每 tick 由自身与配对方各给出一次目标状态），目标状态每隔 P tick 翻转一次，
+ * 统计每游戏秒决定写入的次数，对比不去抖（状态变化即写入）与去抖。
+ * 只验证去抖逻辑本身；真实的 setBlock 与邻居更新次数见 PerformanceGameTests#beamFlapping。
+ */
+public final class StatusFlappingSimulation {
+    private static final int FORMERS = 1000;
+    private static final int DEBOUNCE_TICKS = 10;
+    private static final int SIMULATED_TICKS = 20 * 60;
+    private static final int[] FLAP_PERIODS = {1, 2, 5, 10, 20, 40};
+
+    private StatusFlappingSimulation() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("formers=%d debounce=%d ticks, %d simulated ticks%n", FORMERS, DEBOUNCE_TICKS, SIMULATED_TICKS);
+        System.out.printf("%-12s %18s %18s%n", "flap period", "raw updates/s", "debounced updates/s");
+        for (int period : FLAP_PERIODS) {
+            System.out.printf("%-12d %18.1f %18.1f%n", period, simulate(period, false), simulate(period, true));
+        }
+    }
+
+    private static double simulate(int period, boolean debounced) {
+        long updates = 0;
+        for (int former = 0; former < FORMERS; former++) {
+            StatusDebouncer<Boolean> debouncer = new StatusDebouncer<>(DEBOUNCE_TICKS);
+            boolean current = false;
+            // 各成型器的翻转相位错开
+            int phase = former % period;
+            for (long tick = 0; tick < SIMULATED_TICKS; tick++) {
+                boolean desired = ((tick + phase) / period) % 2 == 1;
+                if (debounced) {
+                    // 自身 tick 与配对方 tick 各给出一次目标状态，自身 tick 评估一次
+                    debouncer.offer(desired);
+                    debouncer.offer(desired);
+                    Boolean apply = debouncer.settle(current, tick);
+                    if (apply != null) {
+                        current = apply;
+                        updates++;
+                    }
+                } else if (current != desired) {
+                    current = desired;
+                    updates++;
+                }
+            }
+        }
+        return updates / (SIMULATED_TICKS / 20.0d);
+    }
+}
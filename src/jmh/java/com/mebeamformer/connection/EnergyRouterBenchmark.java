@@ -0,0 +1,314 @@
+package com.mebeamformer.connection;
+
+import com.mebeamformer.energy.EnergyEndpoint;
+import com.mebeamformer.energy.ILongEnergyStorage;
+import com.mebeamformer.energy.backend.ForgeEnergyBackend;
+import com.mebeamformer.energy.backend.LongEnergyBackend;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.energy.IEnergyStorage;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每 tick 能量路由的耗时：链状、星状、网格三种拓扑，10 到 1000 座塔。
+ * 用内存中的塔替身与假能量存储驱动 {@link EnergyRouter}（与游戏中网络 tick 相同的代码），不经 Level 与方块实体；
+ * 设备经真实的 Forge / Long 能量后端适配器调用。
+ * 每座塔链接两台用电设备并紧邻一台，Forge 与 Long 设备交替，每台每 tick 最多接收 {@link #SINK_RATE_PER_TICK}；
+ * 根塔（链首、星心、网格第一列）紧邻一个能量源。每次调用推进一个 tick，后台路由计划按同一拓扑预先构建。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnergyRouterBenchmark {
+    private static final int CONSUMERS_PER_TOWER = 2;
+    private static final long SINK_RATE_PER_TICK = 1_000L;
+    // 能量源单次提取的上限，足以在一次推送中填满整个网络
+    private static final long SOURCE_RATE = 100_000_000L;
+
+    @Param({"chain", "star", "mesh"})
+    public String topology;
+
+    @Param({"10", "100", "1000"})
+    public int towers;
+
+    private long tick;
+    private FakeGraph graph;
+    private TowerTable<FakeTower> table;
+    private EnergyRouter<FakeTower, Object> router;
+    private FakeTower root;
+    private Object rootTarget;
+
+    @Setup
+    public void setUp() {
+        long[] nodes = Topologies.positions(towers);
+        graph = new FakeGraph();
+        table = new TowerTable<>();
+
+        FakeTower[] fakeTowers = new FakeTower[towers];
+        for (int i = 0; i < towers; i++) {
+            fakeTowers[i] = new FakeTower(BlockPos.of(nodes[i]));
+            graph.targets.put(nodes[i], fakeTowers[i]);
+        }
+
+        long[][] targets = new long[towers][];
+        int devices = 0;
+        for (int i = 0; i < towers; i++) {
+            FakeTower tower = fakeTowers[i];
+            long[] towerLinks = Topologies.towerLinks(topology, nodes, i);
+            long[] links = new long[towerLinks.length + CONSUMERS_PER_TOWER];
+            System.arraycopy(towerLinks, 0, links, 0, towerLinks.length);
+            for (int c = 0; c < CONSUMERS_PER_TOWER; c++) {
+                long consumer = tower.pos.above(c + 1).asLong();
+                graph.targets.put(consumer, endpoint(new FakeStorage(false, SINK_RATE_PER_TICK), devices++));
+                links[towerLinks.length + c] = consumer;
+            }
+            for (long link : links) {
+                tower.activeLinks.add(BlockPos.of(link));
+            }
+            targets[i] = links;
+
+            tower.neighbor = endpoint(new FakeStorage(false, SINK_RATE_PER_TICK), devices++);
+            if (Topologies.isRoot(topology, towers, i)) {
+                tower.source = endpoint(new FakeStorage(true, SOURCE_RATE), i);
+            }
+            table.add(tower);
+        }
+        graph.plan = RoutingPlan.build(1L, nodes, targets);
+
+        router = new EnergyRouter<>(graph);
+        root = fakeTowers[0];
+        long[] rootLinks = Topologies.towerLinks(topology, nodes, 0);
+        rootTarget = graph.targets.get(rootLinks.length > 0 ? rootLinks[0] : targets[0][0]);
+    }
+
+    /**
+     * 网络 tick 处理整个维度：每座塔沿 CSR 邻接推送，根塔的推送经塔网络分配。
+     */
+    @Benchmark
+    public void tick() {
+        tick++;
+        router.tick(table, tick, 1);
+    }
+
+    /**
+     * 根塔向第一条塔链接推送一轮：从能量源提取、在目标塔的网络中分配、按实际分配量提取。
+     */
+    @Benchmark
+    public void pushEnergyToTarget() {
+        tick++;
+        router.pushToTarget(root, rootTarget, 1);
+    }
+
+    /**
+     * 从根塔在整个塔网络中分配（需求足够大，遍历所有塔）。
+     */
+    @Benchmark
+    public long distributeEnergyInNetwork() {
+        tick++;
+        return router.distribute(root, Long.MAX_VALUE, false, new HashSet<>());
+    }
+
+    // 偶数编号的设备走 Forge 后端（单次受 int 限制），奇数编号走 Long 后端
+    private static EnergyEndpoint endpoint(FakeStorage storage, int index) {
+        if (index % 2 == 0) {
+            return ForgeEnergyBackend.endpoint(LazyOptional.of(() -> storage), storage);
+        }
+        return LongEnergyBackend.endpoint(LazyOptional.of(() -> storage), storage, null);
+    }
+
+    private static final class FakeTower implements RoutingNode {
+        final BlockPos pos;
+        final Set<BlockPos> activeLinks = new HashSet<>();
+        private final Set<BlockPos> activeLinksView = Collections.unmodifiableSet(activeLinks);
+        EnergyEndpoint neighbor;
+        @Nullable
+        EnergyEndpoint source;
+
+        FakeTower(BlockPos pos) {
+            this.pos = pos;
+        }
+
+        @Override
+        public BlockPos getBlockPos() {
+            return pos;
+        }
+
+        @Override
+        public boolean isDetached() {
+            return false;
+        }
+
+        @Override
+        public Set<BlockPos> getActiveLinks() {
+            return activeLinksView;
+        }
+
+        @Override
+        public int getPulseInterval() {
+            return 1;
+        }
+    }
+
+    /**
+     * 链接目标为 {@link FakeTower} 或设备的 {@link EnergyEndpoint}；设备视为已解析且从不退避。
+     */
+    private static final class FakeGraph implements EnergyRouter.Graph<FakeTower, Object> {
+        final Long2ObjectOpenHashMap<Object> targets = new Long2ObjectOpenHashMap<>();
+        RoutingPlan plan;
+
+        @Override
+        @Nullable
+        public Object targetAt(BlockPos pos) {
+            return targets.get(pos.asLong());
+        }
+
+        @Override
+        @Nullable
+        public FakeTower asTower(Object target) {
+            return target instanceof FakeTower tower ? tower : null;
+        }
+
+        @Override
+        public RoutingPlan plan() {
+            return plan;
+        }
+
+        @Override
+        public int sourceCount(FakeTower tower) {
+            return tower.source != null ? 1 : 0;
+        }
+
+        @Override
+        public long extract(FakeTower tower, int source, long amount, boolean simulate) {
+            return tower.source != null ? tower.source.extract(amount, simulate) : 0L;
+        }
+
+        @Override
+        public boolean accepts(FakeTower owner, Object target) {
+            return target instanceof EnergyEndpoint;
+        }
+
+        @Override
+        public long insert(FakeTower owner, Object target, long amount, boolean simulate) {
+            return target instanceof EnergyEndpoint endpoint ? endpoint.insertBulk(amount, simulate) : 0L;
+        }
+
+        @Override
+        public long insertIntoNeighbors(FakeTower owner, FakeTower tower, long amount, boolean simulate) {
+            return tower.neighbor.insertBulk(amount, simulate);
+        }
+
+        @Override
+        public long getPulseBuffer(FakeTower tower) {
+            return 0L;
+        }
+
+        @Override
+        public void drainPulseBuffer(FakeTower tower, long delivered) {
+        }
+
+        @Override
+        public void beforePush(FakeTower tower, int passes) {
+        }
+
+        @Override
+        public boolean onMissingTargets(FakeTower tower, List<BlockPos> missing) {
+            return false;
+        }
+
+        @Override
+        public void afterPush(FakeTower tower) {
+        }
+    }
+
+    /**
+     * 假能量存储：能量源每次最多提供固定的量且永不耗尽；用电设备每 tick 最多接收固定的量。
+     */
+    private final class FakeStorage implements IEnergyStorage, ILongEnergyStorage {
+        private final boolean source;
+        private final long rate;
+        private long receivedTick = Long.MIN_VALUE;
+        private long receivedThisTick;
+
+        FakeStorage(boolean source, long rate) {
+            this.source = source;
+            this.rate = rate;
+        }
+
+        @Override
+        public long receiveEnergyL(long maxReceive, boolean simulate) {
+            if (source) {
+                return 0L;
+            }
+            if (receivedTick != tick) {
+                receivedTick = tick;
+                receivedThisTick = 0L;
+            }
+            long accepted = Math.min(maxReceive, rate - receivedThisTick);
+            if (!simulate) {
+                receivedThisTick += accepted;
+            }
+            return accepted;
+        }
+
+        @Override
+        public long extractEnergyL(long maxExtract, boolean simulate) {
+            return source ? Math.min(maxExtract, rate) : 0L;
+        }
+
+        @Override
+        public long getEnergyStoredL() {
+            return source ? Long.MAX_VALUE : 0L;
+        }
+
+        @Override
+        public long getMaxEnergyStoredL() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int receiveEnergy(int maxReceive, boolean simulate) {
+            return (int) receiveEnergyL(maxReceive, simulate);
+        }
+
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+            return (int) extractEnergyL(maxExtract, simulate);
+        }
+
+        @Override
+        public int getEnergyStored() {
+            return source ? Integer.MAX_VALUE : 0;
+        }
+
+        @Override
+        public int getMaxEnergyStored() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public boolean canExtract() {
+            return source;
+        }
+
+        @Override
+        public boolean canReceive() {
+            return !source;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.mebeamformer.connection;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 用 JOL 测量 10k 座塔（每座 4 条链接）的链接存储占用：./gradlew footprint
+ * 分别统计每座塔自身的链接集合（links / activeLinks / dormantLinks）与塔表的 CSR 视图及下标结构。
+ * CSR 视图只是派生数据，实际占用为两者之和。
+ */
+public final class LinkStorageFootprint {
+    private static final int TOWERS = 10_000;
+    private static final int LINKS_PER_TOWER = 4;
+
+    private LinkStorageFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int side = (int) Math.ceil(Math.sqrt(TOWERS));
+        long[] positions = new long[TOWERS];
+        Object[] towerSets = new Object[TOWERS * 3];
+        Long2IntOpenHashMap indexByPos = new Long2IntOpenHashMap();
+        indexByPos.defaultReturnValue(-1);
+        int[] linkStart = new int[TOWERS + 1];
+        long[] linkTargets = new long[TOWERS * LINKS_PER_TOWER];
+
+        int cursor = 0;
+        for (int i = 0; i < TOWERS; i++) {
+            BlockPos pos = new BlockPos((i % side) * 4, 64, (i / side) * 4);
+            positions[i] = pos.asLong();
+            indexByPos.put(positions[i], i);
+
+            Set<BlockPos> links = new HashSet<>();
+            for (int l = 0; l < LINKS_PER_TOWER; l++) {
+                links.add(pos.offset(l + 1, 0, 0));
+            }
+            towerSets[i * 3] = links;
+            towerSets[i * 3 + 1] = new HashSet<>(links);
+            towerSets[i * 3 + 2] = new HashSet<BlockPos>();
+
+            linkStart[i] = cursor;
+            for (BlockPos target : links) {
+                linkTargets[cursor++] = target.asLong();
+            }
+        }
+        linkStart[TOWERS] = cursor;
+
+        long perTowerSets = GraphLayout.parseInstance(towerSets).totalSize();
+        long csr = GraphLayout.parseInstance(linkStart, linkTargets).totalSize();
+        long table = GraphLayout.parseInstance(positions, indexByPos).totalSize();
+
+        System.out.printf("towers=%d links/tower=%d%n", TOWERS, LINKS_PER_TOWER);
+        System.out.printf("per-tower link sets:   %,d bytes%n", perTowerSets);
+        System.out.printf("CSR adjacency:         %,d bytes%n", csr);
+        System.out.printf("positions + index map: %,d bytes%n", table);
+    }
+}
@@ -0,0 +1,53 @@
+package com.mebeamformer.connection;
+
+import net.minecraft.core.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 后台路由计划构建的耗时：链状、星状、网格三种拓扑，10 到 1000 座塔，每座塔另链接两台用电设备。
+ * 计划在后台线程上构建，不占用 tick；每 tick 的路由见 {@link EnergyRouterBenchmark}。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoutingPlanBenchmark {
+    private static final int CONSUMERS_PER_TOWER = 2;
+
+    @Param({"chain", "star", "mesh"})
+    public String topology;
+
+    @Param({"10", "100", "1000"})
+    public int towers;
+
+    private long[] nodes;
+    private long[][] targets;
+
+    @Setup
+    public void setUp() {
+        nodes = Topologies.positions(towers);
+        targets = new long[towers][];
+        for (int i = 0; i < towers; i++) {
+            long[] towerLinks = Topologies.towerLinks(topology, nodes, i);
+            long[] links = new long[towerLinks.length + CONSUMERS_PER_TOWER];
+            System.arraycopy(towerLinks, 0, links, 0, towerLinks.length);
+            for (int c = 0; c < CONSUMERS_PER_TOWER; c++) {
+                links[towerLinks.length + c] = BlockPos.of(nodes[i]).above(c + 1).asLong();
+            }
+            targets[i] = links;
+        }
+    }
+
+    @Benchmark
+    public RoutingPlan build() {
+        return RoutingPlan.build(1L, nodes, targets);
+    }
+}
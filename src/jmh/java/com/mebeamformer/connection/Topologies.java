@@ -0,0 +1,67 @@
+package com.mebeamformer.connection;
+
+import net.minecraft.core.BlockPos;
+
+/**
+ * 微基准共用的塔拓扑。塔在同一高度按方阵排列（间距 4 格），链接只指向其他塔：
+ * chain 每座塔单向链接下一座；star 中心塔与其余各塔双向链接；mesh 网格中与上下左右的塔双向链接。
+ */
+final class Topologies {
+
+    private Topologies() {
+    }
+
+    static int side(int towers) {
+        return (int) Math.ceil(Math.sqrt(towers));
+    }
+
+    static long[] positions(int towers) {
+        long[] nodes = new long[towers];
+        int side = side(towers);
+        for (int i = 0; i < towers; i++) {
+            nodes[i] = BlockPos.asLong((i % side) * 4, 64, (i / side) * 4);
+        }
+        return nodes;
+    }
+
+    static long[] towerLinks(String topology, long[] nodes, int i) {
+        return switch (topology) {
+            case "chain" -> chainLinks(nodes, i);
+            case "star" -> starLinks(nodes, i);
+            default -> meshLinks(nodes, i, side(nodes.length));
+        };
+    }
+
+    /**
+     * 有能量源的根塔：链首、星心，以及网格的第一列。
+     */
+    static boolean isRoot(String topology, int towers, int i) {
+        return topology.equals("mesh") ? i % side(towers) == 0 : i == 0;
+    }
+
+    private static long[] chainLinks(long[] nodes, int i) {
+        return i + 1 < nodes.length ? new long[]{nodes[i + 1]} : new long[0];
+    }
+
+    private static long[] starLinks(long[] nodes, int i) {
+        if (i != 0) {
+            return new long[]{nodes[0]};
+        }
+        long[] links = new long[nodes.length - 1];
+        System.arraycopy(nodes, 1, links, 0, nodes.length - 1);
+        return links;
+    }
+
+    private static long[] meshLinks(long[] nodes, int i, int side) {
+        long[] links = new long[4];
+        int count = 0;
+        int x = i % side;
+        if (x + 1 < side && i + 1 < nodes.length) links[count++] = nodes[i + 1];
+        if (x > 0) links[count++] = nodes[i - 1];
+        if (i + side < nodes.length) links[count++] = nodes[i + side];
+        if (i - side >= 0) links[count++] = nodes[i - side];
+        long[] result = new long[count];
+        System.arraycopy(links, 0, result, 0, count);
+        return result;
+    }
+}
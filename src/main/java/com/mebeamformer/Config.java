@@ -1,5 +1,8 @@
 package com.mebeamformer;
 
+import com.mebeamformer.connection.TransferGovernor;
+import com.mebeamformer.diagnostics.RoutingMetrics;
+import com.mebeamformer.diagnostics.TickBudgetWatchdog;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraftforge.common.ForgeConfigSpec;
@@ -25,6 +28,42 @@ public class Config
             .comment("Whether to always render energy tower beams. When true, beams are always visible. When false, beams are only visible when holding the laser binding tool.")
             .define("alwaysRenderBeams", false);
 
+    private static final ForgeConfigSpec.BooleanValue ENABLE_ROUTING_METRICS = BUILDER
+            .comment("Whether to collect energy tower routing metrics (tick time, allocation, transfers). Adds a small overhead when enabled.")
+            .define("enableRoutingMetrics", false);
+
+    private static final ForgeConfigSpec.IntValue ROUTING_METRICS_LOG_INTERVAL = BUILDER
+            .comment("How often (in ticks) routing metrics are written to the log while enabled. 0 disables periodic logging.")
+            .defineInRange("routingMetricsLogInterval", 0, 0, 72000);
+
+    private static final ForgeConfigSpec.BooleanValue ENABLE_TICK_BUDGET_WATCHDOG = BUILDER
+            .comment("Whether to measure this mod's share of server tick time and warn when it exceeds the budget.")
+            .define("enableTickBudgetWatchdog", false);
+
+    private static final ForgeConfigSpec.IntValue TICK_BUDGET_MICROS = BUILDER
+            .comment("Average time budget per server tick for this mod, in microseconds.")
+            .defineInRange("tickBudgetMicros", 2000, 1, 50000);
+
+    private static final ForgeConfigSpec.IntValue TICK_BUDGET_WINDOW = BUILDER
+            .comment("Number of ticks averaged before the tick budget is checked.")
+            .defineInRange("tickBudgetWindow", 200, 1, 72000);
+
+    private static final ForgeConfigSpec.BooleanValue ENABLE_ADAPTIVE_TRANSFER = BUILDER
+            .comment("Whether energy towers transfer less often while the server is lagging. Each delayed transfer is repeated once per skipped tick to make up for per-call rate limits, but sinks limited per tick (e.g. GregTech amperage) still lose throughput.")
+            .define("enableAdaptiveTransfer", false);
+
+    private static final ForgeConfigSpec.IntValue ADAPTIVE_TRANSFER_TARGET_MSPT = BUILDER
+            .comment("Average server tick time (milliseconds) at which tower transfer intervals start to stretch. Intervals shrink again below 80% of this value.")
+            .defineInRange("adaptiveTransferTargetMspt", 45, 1, 1000);
+
+    private static final ForgeConfigSpec.IntValue ADAPTIVE_TRANSFER_MAX_INTERVAL = BUILDER
+            .comment("Maximum number of ticks between transfers of a single energy tower when the server is lagging.")
+            .defineInRange("adaptiveTransferMaxInterval", 8, 1, 40);
+
+    private static final ForgeConfigSpec.BooleanValue ENABLE_JMX = BUILDER
+            .comment("Whether to register JMX MBeans (com.mebeamformer:type=...) for the wireless energy network and beam connections. Tick and energy percentiles are only collected while a JMX client keeps reading them.")
+            .define("enableJmx", false);
+
     private static final ForgeConfigSpec.IntValue MAGIC_NUMBER = BUILDER
             .comment("A magic number")
             .defineInRange("magicNumber", 42, 0, Integer.MAX_VALUE);
@@ -40,6 +79,15 @@ public class Config
 
     public static boolean logDirtBlock;
     public static boolean alwaysRenderBeams;
+    public static boolean enableRoutingMetrics;
+    public static int routingMetricsLogInterval;
+    public static boolean enableTickBudgetWatchdog;
+    public static int tickBudgetMicros;
+    public static int tickBudgetWindow;
+    public static boolean enableAdaptiveTransfer;
+    public static int adaptiveTransferTargetMspt;
+    public static int adaptiveTransferMaxInterval;
+    public static boolean enableJmx;
     public static int magicNumber;
     public static String magicNumberIntroduction;
     public static Set<Item> items;
@@ -54,6 +102,18 @@ public class Config
     {
         logDirtBlock = LOG_DIRT_BLOCK.get();
         alwaysRenderBeams = ALWAYS_RENDER_BEAMS.get();
+        enableRoutingMetrics = ENABLE_ROUTING_METRICS.get();
+        routingMetricsLogInterval = ROUTING_METRICS_LOG_INTERVAL.get();
+        RoutingMetrics.configure(enableRoutingMetrics, routingMetricsLogInterval);
+        enableTickBudgetWatchdog = ENABLE_TICK_BUDGET_WATCHDOG.get();
+        tickBudgetMicros = TICK_BUDGET_MICROS.get();
+        tickBudgetWindow = TICK_BUDGET_WINDOW.get();
+        TickBudgetWatchdog.configure(enableTickBudgetWatchdog, tickBudgetMicros, tickBudgetWindow);
+        enableAdaptiveTransfer = ENABLE_ADAPTIVE_TRANSFER.get();
+        adaptiveTransferTargetMspt = ADAPTIVE_TRANSFER_TARGET_MSPT.get();
+        adaptiveTransferMaxInterval = ADAPTIVE_TRANSFER_MAX_INTERVAL.get();
+        TransferGovernor.configure(enableAdaptiveTransfer, adaptiveTransferTargetMspt, adaptiveTransferMaxInterval);
+        enableJmx = ENABLE_JMX.get();
         magicNumber = MAGIC_NUMBER.get();
         magicNumberIntroduction = MAGIC_NUMBER_INTRODUCTION.get();
         items = ITEM_STRINGS.get().stream()
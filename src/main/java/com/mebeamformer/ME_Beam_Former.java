@@ -44,6 +44,7 @@ import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
 import com.mebeamformer.client.render.WirelessEnergyTowerRenderer;
 import com.mebeamformer.block.EnergyNetworkMonitorBlock;
 import com.mebeamformer.blockentity.EnergyNetworkMonitorBlockEntity;
+import com.mebeamformer.network.MEBFNetwork;
 
 // The value here should match an entry in the META-INF/mods.toml file
 @Mod(ME_Beam_Former.MODID)
@@ -172,6 +173,9 @@ public class ME_Beam_Former {
     }
 
     private void commonSetup(final FMLCommonSetupEvent event) {
+        // 注册网络通道
+        MEBFNetwork.register();
+
         // 绑定 AEBaseEntityBlock 的方块实体类型与 tickers
         event.enqueueWork(() -> {
             try {
@@ -32,6 +32,8 @@ import java.util.EnumMap;
 import java.util.Map;
 
 import com.mebeamformer.blockentity.BeamFormerBlockEntity;
+import com.mebeamformer.diagnostics.NetworkProfiler;
+import com.mebeamformer.diagnostics.TickBudgetWatchdog;
 import appeng.block.AEBaseEntityBlock;
 
 public class BeamFormerBlock extends AEBaseEntityBlock<BeamFormerBlockEntity> {
@@ -74,7 +76,11 @@ public class BeamFormerBlock extends AEBaseEntityBlock<BeamFormerBlockEntity> {
                 if (lvl.isClientSide) {
                     BeamFormerBlockEntity.clientTick(lvl, pos, st, bf);
                 } else {
+                    long start = TickBudgetWatchdog.begin();
+                    long profileStart = NetworkProfiler.begin();
                     BeamFormerBlockEntity.serverTick(lvl, pos, st, bf);
+                    NetworkProfiler.endBeamFormer(lvl, pos, "beam_former", profileStart);
+                    TickBudgetWatchdog.end(start);
                 }
             }
         };
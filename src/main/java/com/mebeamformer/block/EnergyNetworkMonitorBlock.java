@@ -1,7 +1,11 @@
 package com.mebeamformer.block;
 
 import com.mebeamformer.blockentity.EnergyNetworkMonitorBlockEntity;
+import com.mebeamformer.client.screen.EnergyNetworkMonitorScreen;
 import net.minecraft.core.BlockPos;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.EntityBlock;
@@ -10,6 +14,9 @@ import net.minecraft.world.level.block.entity.BlockEntityTicker;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -19,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
  * - 让性能检测模组能够显示全局能源网络的延迟
  * - 放置在世界中即可监控整个网络性能
  * - 不影响实际游戏功能
+ * - 右键打开遥测界面，比较器输出与网络负载成比例
  */
 public class EnergyNetworkMonitorBlock extends Block implements EntityBlock {
     
@@ -45,5 +53,25 @@ public class EnergyNetworkMonitorBlock extends Block implements EntityBlock {
             }
         };
     }
-}
 
+    @Override
+    public InteractionResult use(BlockState state, Level level, BlockPos pos, Player player, InteractionHand hand,
+            BlockHitResult hit) {
+        if (level.isClientSide) {
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> EnergyNetworkMonitorScreen.open(pos));
+        }
+        return InteractionResult.sidedSuccess(level.isClientSide);
+    }
+
+    @Override
+    public boolean hasAnalogOutputSignal(BlockState state) {
+        return true;
+    }
+
+    @Override
+    public int getAnalogOutputSignal(BlockState state, Level level, BlockPos pos) {
+        return level.getBlockEntity(pos) instanceof EnergyNetworkMonitorBlockEntity monitor
+                ? monitor.getComparatorSignal()
+                : 0;
+    }
+}
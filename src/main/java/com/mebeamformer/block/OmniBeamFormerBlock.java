@@ -2,6 +2,7 @@ package com.mebeamformer.block;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.Level;
@@ -32,6 +33,9 @@ import java.util.EnumMap;
 import java.util.Map;
 
 import com.mebeamformer.blockentity.OmniBeamFormerBlockEntity;
+import com.mebeamformer.connection.NetworkTopology;
+import com.mebeamformer.diagnostics.NetworkProfiler;
+import com.mebeamformer.diagnostics.TickBudgetWatchdog;
 import appeng.block.AEBaseEntityBlock;
 
 public class OmniBeamFormerBlock extends AEBaseEntityBlock<OmniBeamFormerBlockEntity> {
@@ -109,7 +113,11 @@ public class OmniBeamFormerBlock extends AEBaseEntityBlock<OmniBeamFormerBlockEn
                 if (lvl.isClientSide) {
                     OmniBeamFormerBlockEntity.clientTick(lvl, pos, st, bf);
                 } else {
+                    long start = TickBudgetWatchdog.begin();
+                    long profileStart = NetworkProfiler.begin();
                     OmniBeamFormerBlockEntity.serverTick(lvl, pos, st, bf);
+                    NetworkProfiler.endBeamFormer(lvl, pos, "omni_beam_former", profileStart);
+                    TickBudgetWatchdog.end(start);
                 }
             }
         };
@@ -131,6 +139,15 @@ public class OmniBeamFormerBlock extends AEBaseEntityBlock<OmniBeamFormerBlockEn
         return state.rotate(mirror.getRotation(state.getValue(FACING)));
     }
 
+    @Override
+    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
+        // 方块被破坏（而非区块卸载）时从维度拓扑中注销
+        if (!state.is(newState.getBlock()) && level instanceof ServerLevel serverLevel) {
+            NetworkTopology.get(serverLevel).removeOmni(pos);
+        }
+        super.onRemove(state, level, pos, newState, isMoving);
+    }
+
     @Override
     public boolean hasAnalogOutputSignal(BlockState state) { return false; }
 
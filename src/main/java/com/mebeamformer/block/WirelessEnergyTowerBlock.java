@@ -1,8 +1,10 @@
 package com.mebeamformer.block;
 
 import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
+import com.mebeamformer.connection.NetworkTopology;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.context.BlockPlaceContext;
@@ -119,6 +121,11 @@ public class WirelessEnergyTowerBlock extends Block implements EntityBlock {
                     level.setBlock(pos.below(2), Blocks.AIR.defaultBlockState(), 35);
                 }
             }
+
+            // 方块实体在底部；任一部分被破坏都会连带移除底部，此时从维度拓扑中注销
+            if (part == 0 && level instanceof ServerLevel serverLevel) {
+                NetworkTopology.get(serverLevel).removeTower(pos);
+            }
             
             super.onRemove(state, level, pos, newState, isMoving);
         }
@@ -0,0 +1,90 @@
+package com.mebeamformer.blockentity;
+
+import appeng.api.util.AEColor;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 单条光束的颜色缓存。
+ * 记住两端提供颜色的方块实体，每帧只读取其 AE2 颜色；颜色变化时才重新查表。
+ */
+public final class BeamColorCache {
+    // 端点绑定的最长有效期，过期后重新从世界中解析（例如背后新放置了线缆）
+    private static final long REBIND_INTERVAL_TICKS = 20L;
+
+    @Nullable
+    private BlockEntity sourceEndpoint;
+    @Nullable
+    private BlockEntity targetEndpoint;
+    private boolean bound;
+    private long boundKey;
+    private long boundTick;
+
+    private boolean colorsValid;
+    @Nullable
+    private AEColor sourceColor;
+    @Nullable
+    private AEColor targetColor;
+    private int outerColor = BeamColors.WHITE;
+    private int coreColor = BeamColors.WHITE;
+
+    /**
+     * 端点绑定是否仍然有效：几何键一致、未过期且端点方块实体未被移除。
+     */
+    public boolean isBound(long key, long gameTime) {
+        return bound
+                && boundKey == key
+                && gameTime - boundTick < REBIND_INTERVAL_TICKS
+                && gameTime >= boundTick
+                && !isStale(sourceEndpoint)
+                && !isStale(targetEndpoint);
+    }
+
+    public void bind(long key, long gameTime, @Nullable BlockEntity source, @Nullable BlockEntity target) {
+        sourceEndpoint = source;
+        targetEndpoint = target;
+        boundKey = key;
+        boundTick = gameTime;
+        bound = true;
+    }
+
+    /**
+     * 从已绑定的端点读取当前 AE2 颜色。
+     */
+    public void refresh() {
+        update(
+                BeamColors.getColorableBlockEntityColor(sourceEndpoint),
+                BeamColors.getColorableBlockEntityColor(targetEndpoint));
+    }
+
+    public void update(@Nullable AEColor source, @Nullable AEColor target) {
+        if (colorsValid && source == sourceColor && target == targetColor) {
+            return;
+        }
+
+        sourceColor = source;
+        targetColor = target;
+        outerColor = BeamColors.getOuterColor(source, target);
+        coreColor = BeamColors.getCoreColor(source, target);
+        colorsValid = true;
+    }
+
+    public void invalidate() {
+        sourceEndpoint = null;
+        targetEndpoint = null;
+        bound = false;
+        colorsValid = false;
+    }
+
+    public int getOuterColor() {
+        return outerColor;
+    }
+
+    public int getCoreColor() {
+        return coreColor;
+    }
+
+    private static boolean isStale(@Nullable BlockEntity blockEntity) {
+        return blockEntity != null && blockEntity.isRemoved();
+    }
+}
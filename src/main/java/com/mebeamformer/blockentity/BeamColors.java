@@ -0,0 +1,165 @@
+package com.mebeamformer.blockentity;
+
+import appeng.api.implementations.blockentities.IColorableBlockEntity;
+import appeng.api.util.AEColor;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 光束颜色表：两端 AE2 颜色组合对应的外壳/内核颜色（ARGB）在类加载时一次算好。
+ * 纯计算、不依赖客户端类，方块实体与部件上的 {@link BeamColorCache} 直接查表。
+ */
+public final class BeamColors {
+    private static final float OUTER_ALPHA = 0.22f;
+    private static final float CORE_ALPHA = 0.90f;
+    private static final float CORE_WHITE_MIX = 0.16f;
+
+    /**
+     * 端点不存在或未着色时使用的占位颜色（alpha 为 0）。
+     */
+    public static final int NO_COLOR = 0;
+    public static final int WHITE = 0xFFFFFFFF;
+
+    // 端点颜色组合 -> 预计算的外壳/内核颜色（索引 0 表示无颜色）
+    private static final int COLOR_SLOTS = AEColor.values().length + 1;
+    private static final int[] OUTER_COLORS = new int[COLOR_SLOTS * COLOR_SLOTS];
+    private static final int[] CORE_COLORS = new int[COLOR_SLOTS * COLOR_SLOTS];
+
+    static {
+        AEColor[] colors = AEColor.values();
+        for (int i = 0; i < COLOR_SLOTS; i++) {
+            int first = i == 0 ? NO_COLOR : colorOf(colors[i - 1]);
+            for (int j = 0; j < COLOR_SLOTS; j++) {
+                int second = j == 0 ? NO_COLOR : colorOf(colors[j - 1]);
+                int displayColor = normalizeDisplayColor(blendEndpointColors(first, second));
+                OUTER_COLORS[i * COLOR_SLOTS + j] = withAlpha(displayColor, OUTER_ALPHA);
+                CORE_COLORS[i * COLOR_SLOTS + j] = withAlpha(mixWithWhite(displayColor, CORE_WHITE_MIX), CORE_ALPHA);
+            }
+        }
+    }
+
+    private BeamColors() {
+    }
+
+    public static int packRgb(int hex) {
+        return 0xFF000000 | (hex & 0xFFFFFF);
+    }
+
+    public static int colorOf(@Nullable AEColor color) {
+        return color == null ? NO_COLOR : packRgb(color.blackVariant);
+    }
+
+    /**
+     * 两端颜色组合对应的外壳颜色（ARGB，已包含外壳透明度）。
+     */
+    public static int getOuterColor(@Nullable AEColor source, @Nullable AEColor target) {
+        return OUTER_COLORS[colorSlot(source) * COLOR_SLOTS + colorSlot(target)];
+    }
+
+    /**
+     * 两端颜色组合对应的内核颜色（ARGB，已包含内核透明度）。
+     */
+    public static int getCoreColor(@Nullable AEColor source, @Nullable AEColor target) {
+        return CORE_COLORS[colorSlot(source) * COLOR_SLOTS + colorSlot(target)];
+    }
+
+    @Nullable
+    public static AEColor getColorableBlockEntityColor(@Nullable BlockEntity blockEntity) {
+        if (!(blockEntity instanceof IColorableBlockEntity colorableBlockEntity)) {
+            return null;
+        }
+        return colorableBlockEntity.getColor();
+    }
+
+    public static int blendEndpointColors(int first, int second) {
+        if (first == NO_COLOR && second == NO_COLOR) {
+            return WHITE;
+        }
+        if (first == NO_COLOR) {
+            return second;
+        }
+        if (second == NO_COLOR) {
+            return first;
+        }
+
+        return packRgb(
+                (channel(rms(red(first), red(second))) << 16)
+                        | (channel(rms(green(first), green(second))) << 8)
+                        | channel(rms(blue(first), blue(second))));
+    }
+
+    private static int normalizeDisplayColor(int color) {
+        float cr = red(color);
+        float cg = green(color);
+        float cb = blue(color);
+
+        float max = Math.max(cr, Math.max(cg, cb));
+        if (max <= 1.0E-4f) {
+            return WHITE;
+        }
+
+        float min = Math.min(cr, Math.min(cg, cb));
+        float saturation = (max - min) / max;
+        if (saturation < 0.08f) {
+            return WHITE;
+        }
+
+        float gain = 0.92f / max;
+        cr = clamp01(cr * gain);
+        cg = clamp01(cg * gain);
+        cb = clamp01(cb * gain);
+
+        float average = (cr + cg + cb) / 3.0f;
+        float saturationBoost = 1.28f;
+        cr = clamp01(average + (cr - average) * saturationBoost);
+        cg = clamp01(average + (cg - average) * saturationBoost);
+        cb = clamp01(average + (cb - average) * saturationBoost);
+        return packRgb((channel(cr) << 16) | (channel(cg) << 8) | channel(cb));
+    }
+
+    private static int mixWithWhite(int color, float amount) {
+        float mix = clamp01(amount);
+        return packRgb(
+                (channel(red(color) * (1.0f - mix) + mix) << 16)
+                        | (channel(green(color) * (1.0f - mix) + mix) << 8)
+                        | channel(blue(color) * (1.0f - mix) + mix));
+    }
+
+    private static int colorSlot(@Nullable AEColor color) {
+        return color == null ? 0 : color.ordinal() + 1;
+    }
+
+    private static int withAlpha(int color, float alpha) {
+        return (channel(alpha) << 24) | (color & 0xFFFFFF);
+    }
+
+    private static float red(int color) {
+        return ((color >> 16) & 0xFF) / 255.0f;
+    }
+
+    private static float green(int color) {
+        return ((color >> 8) & 0xFF) / 255.0f;
+    }
+
+    private static float blue(int color) {
+        return (color & 0xFF) / 255.0f;
+    }
+
+    private static int channel(float value) {
+        return (int) (clamp01(value) * 255.0f);
+    }
+
+    private static float rms(float first, float second) {
+        return (float) Math.sqrt((first * first + second * second) * 0.5f);
+    }
+
+    private static float clamp01(float value) {
+        if (value < 0.0f) {
+            return 0.0f;
+        }
+        if (value > 1.0f) {
+            return 1.0f;
+        }
+        return value;
+    }
+}
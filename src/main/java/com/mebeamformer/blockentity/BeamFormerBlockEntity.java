@@ -10,11 +10,17 @@ import appeng.api.util.AECableType;
 import appeng.blockentity.grid.AENetworkBlockEntity;
 import com.mebeamformer.ME_Beam_Former;
 import com.mebeamformer.block.BeamFormerBlock;
+import com.mebeamformer.diagnostics.BeamConnectionTracker;
+import com.mebeamformer.diagnostics.jfr.BeamScanEvent;
+import com.mebeamformer.diagnostics.jfr.GridConnectionEvent;
+import com.mebeamformer.diagnostics.jfr.JfrEvents;
+import com.mebeamformer.network.VisualSyncCoordinator;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraftforge.api.distmarker.Dist;
@@ -26,6 +32,9 @@ import java.util.Set;
 
 public class BeamFormerBlockEntity extends AENetworkBlockEntity {
     private static final int MAX_BEAM_RANGE = 32;
+    // 状态需稳定的 tick 数，以及改写状态时使用的更新标志
+    private static final int STATUS_DEBOUNCE_TICKS = 10;
+    private static final int STATUS_UPDATE_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
 
     private int beamLength;
     @Nullable
@@ -35,6 +44,11 @@ public class BeamFormerBlockEntity extends AENetworkBlockEntity {
     private boolean hideBeam;
     @Nullable
     private Direction lastExposedBack;
+    @Nullable
+    private BeamColorCache beamColorCache;
+
+    private final StatusDebouncer<BeamFormerBlock.Status> statusDebouncer =
+            new StatusDebouncer<>(STATUS_DEBOUNCE_TICKS);
 
     public BeamFormerBlockEntity(BlockPos pos, BlockState state) {
         super(ME_Beam_Former.BEAM_FORMER_BE.get(), pos, state);
@@ -63,6 +77,14 @@ public class BeamFormerBlockEntity extends AENetworkBlockEntity {
         return !hideBeam && beamLength > 0;
     }
 
+    @OnlyIn(Dist.CLIENT)
+    public BeamColorCache getBeamColorCache() {
+        if (beamColorCache == null) {
+            beamColorCache = new BeamColorCache();
+        }
+        return beamColorCache;
+    }
+
     public void toggleBeamVisibility() {
         setBeamHidden(!hideBeam);
     }
@@ -72,6 +94,7 @@ public class BeamFormerBlockEntity extends AENetworkBlockEntity {
             return;
         }
 
+        be.settleStatus(level, state);
         Direction facing = state.getValue(BeamFormerBlock.FACING);
         be.syncExposedBack(facing.getOpposite());
 
@@ -84,7 +107,9 @@ public class BeamFormerBlockEntity extends AENetworkBlockEntity {
             return;
         }
 
+        BeamScanEvent scanEvent = JfrEvents.beginBeamScan();
         ScanResult scan = be.scanForTarget(level, pos, facing);
+        JfrEvents.commitBeamScan(scanEvent, level, pos, "beam_former", scan.target != null, scan.length);
         if (!be.hasConnectableTarget(scan.target)) {
             BeamFormerBlockEntity partner = scan.target != null ? scan.target : be.other;
             be.disconnect();
@@ -125,10 +150,13 @@ public class BeamFormerBlockEntity extends AENetworkBlockEntity {
         }
 
         if (activeConnection != null) {
+            GridConnectionEvent event = JfrEvents.beginGridConnection();
             try {
                 activeConnection.destroy();
             } catch (IllegalArgumentException | IllegalStateException ignored) {
             }
+            BeamConnectionTracker.onDestroyed(activeConnection);
+            JfrEvents.commitGridConnection(event, level, worldPosition, "beam_former", false);
         }
 
         if (selfChanged) {
@@ -230,11 +258,14 @@ public class BeamFormerBlockEntity extends AENetworkBlockEntity {
 
         IGridConnection activeConnection = findConnection(myNode, otherNode);
         if (activeConnection == null) {
+            GridConnectionEvent event = JfrEvents.beginGridConnection();
             try {
                 activeConnection = GridHelper.createConnection(myNode, otherNode);
+                BeamConnectionTracker.onCreated(activeConnection);
             } catch (IllegalStateException ignored) {
                 activeConnection = findConnection(myNode, otherNode);
             }
+            JfrEvents.commitGridConnection(event, level, worldPosition, "beam_former", activeConnection != null);
         }
 
         if (activeConnection == null) {
@@ -315,10 +346,18 @@ public class BeamFormerBlockEntity extends AENetworkBlockEntity {
         if (level == null || isRemoved()) {
             return;
         }
+        // 只记录目标状态，由自身 tick 统一评估
+        statusDebouncer.offer(status);
+    }
 
-        BlockState state = getBlockState();
-        if (state.getBlock() instanceof BeamFormerBlock && state.getValue(BeamFormerBlock.STATUS) != status) {
-            level.setBlock(getBlockPos(), state.setValue(BeamFormerBlock.STATUS, status), 3);
+    private void settleStatus(Level level, BlockState state) {
+        if (!(state.getBlock() instanceof BeamFormerBlock)) {
+            return;
+        }
+        BeamFormerBlock.Status status = statusDebouncer.settle(state.getValue(BeamFormerBlock.STATUS), level.getGameTime());
+        if (status != null) {
+            // 状态只影响外观（亮度恒定），只通知客户端，不触发邻居与形状更新
+            level.setBlock(getBlockPos(), state.setValue(BeamFormerBlock.STATUS, status), STATUS_UPDATE_FLAGS);
         }
     }
 
@@ -414,7 +453,8 @@ public class BeamFormerBlockEntity extends AENetworkBlockEntity {
 
     private void markVisualChanged() {
         if (level != null) {
-            markForUpdate();
+            // 两端在同一 tick 内可能多次变化，由合并器在 tick 末统一同步
+            VisualSyncCoordinator.markDirty(this);
         }
     }
 
@@ -1,21 +1,93 @@
 package com.mebeamformer.blockentity;
 
+import com.mebeamformer.Config;
 import com.mebeamformer.ME_Beam_Former;
 import com.mebeamformer.connection.WirelessEnergyNetwork;
+import com.mebeamformer.diagnostics.NetworkTelemetry;
+import com.mebeamformer.network.MEBFNetwork;
+import com.mebeamformer.network.MonitorTelemetryPacket;
 import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
 /**
- * 用于触发全局能源网络的检测逻辑。
+ * 能源网络监控方块实体。
+ * 触发全局能源网络的检测逻辑，并作为遥测端点：
+ * 通过界面、比较器输出（与网络负载成比例）以及 /data 查询暴露网络 tick 的分位数统计。
+ * 遥测经 {@link MEBFNetwork} 只发给打开了界面的玩家，不随方块实体更新包广播给区块内所有玩家。
  */
 public class EnergyNetworkMonitorBlockEntity extends BlockEntity {
+    // 遥测同步与比较器刷新间隔（tick）
+    private static final int REFRESH_INTERVAL = 20;
+
+    private boolean telemetryRegistered = false;
+    private int comparatorSignal = 0;
+    // 打开了本监控方块界面的玩家（服务端）
+    private final Set<UUID> telemetrySubscribers = new HashSet<>();
+    // 客户端收到的最新遥测数据
+    private CompoundTag clientTelemetry = new CompoundTag();
     
     public EnergyNetworkMonitorBlockEntity(BlockPos pos, BlockState state) {
         super(ME_Beam_Former.ENERGY_NETWORK_MONITOR_BE.get(), pos, state);
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide && !telemetryRegistered) {
+            NetworkTelemetry.getInstance().acquire();
+            telemetryRegistered = true;
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        releaseTelemetry();
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        releaseTelemetry();
+    }
+
+    private void releaseTelemetry() {
+        if (telemetryRegistered) {
+            NetworkTelemetry.getInstance().release();
+            telemetryRegistered = false;
+        }
+        telemetrySubscribers.clear();
+    }
+
+    /**
+     * 玩家打开界面：登记并立即发送一次当前遥测。
+     */
+    public void subscribeTelemetry(ServerPlayer player) {
+        telemetrySubscribers.add(player.getUUID());
+        MEBFNetwork.sendTo(player, new MonitorTelemetryPacket(getBlockPos(), NetworkTelemetry.getInstance().write()));
+    }
+
+    public void unsubscribeTelemetry(ServerPlayer player) {
+        telemetrySubscribers.remove(player.getUUID());
+    }
+
+    /**
+     * 客户端收到服务端发送的遥测。
+     */
+    public void applyTelemetry(CompoundTag telemetry) {
+        clientTelemetry = telemetry;
+    }
+
     public static void serverTick(Level level, BlockPos pos, BlockState state, EnergyNetworkMonitorBlockEntity be) {
         if (level.isClientSide) {
             return;
@@ -25,9 +97,49 @@ public class EnergyNetworkMonitorBlockEntity extends BlockEntity {
 
         // 由监控方块主动触发一次网络处理，便于性能检测模组统计。
         network.triggerPerformanceCheck();
+
+        if (level.getGameTime() % REFRESH_INTERVAL == 0) {
+            be.refreshTelemetry(level, pos, state);
+        }
     }
     
     public static void clientTick(Level level, BlockPos pos, BlockState state, EnergyNetworkMonitorBlockEntity be) {
     }
-}
 
+    private void refreshTelemetry(Level level, BlockPos pos, BlockState state) {
+        // 分位数由 NetworkTelemetry 每个间隔计算一次，所有监控方块共用
+        long budgetNanos = Config.tickBudgetMicros * 1000L;
+        double load = NetworkTelemetry.getInstance().getLoad(budgetNanos);
+        int signal = Mth.clamp((int) Math.ceil(load * 15.0d), 0, 15);
+        if (signal != comparatorSignal) {
+            comparatorSignal = signal;
+            level.updateNeighbourForOutputSignal(pos, state.getBlock());
+        }
+
+        if (!telemetrySubscribers.isEmpty() && level instanceof ServerLevel serverLevel) {
+            MEBFNetwork.sendToSubscribers(serverLevel, pos, telemetrySubscribers,
+                    new MonitorTelemetryPacket(pos, NetworkTelemetry.getInstance().write()));
+        }
+    }
+
+    public int getComparatorSignal() {
+        return comparatorSignal;
+    }
+
+    /**
+     * 当前可展示的遥测数据：服务端为实时统计，客户端为最近一次同步结果。
+     */
+    public CompoundTag getTelemetry() {
+        if (level != null && !level.isClientSide) {
+            return NetworkTelemetry.getInstance().write();
+        }
+        return clientTelemetry;
+    }
+
+    @Override
+    protected void saveAdditional(CompoundTag tag) {
+        super.saveAdditional(tag);
+        // 仅用于 /data 查询，加载时忽略
+        tag.put("Telemetry", getTelemetry());
+    }
+}
@@ -0,0 +1,57 @@
+package com.mebeamformer.blockentity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.Tag;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 链接列表的 NBT 读写。
+ * 新格式为单个 LongArrayTag：BlockPos.asLong 升序排列后做差分编码（首项为原值），
+ * 相比每个链接一个 CompoundTag 大幅减少 NBT 对象数量，差分后的小数值也更易被区块压缩。
+ * 读取时兼容旧的 x/y/z CompoundTag 列表格式。
+ */
+final class LinkTags {
+    static final String PACKED_KEY = "linksPacked";
+    static final String LEGACY_KEY = "links";
+
+    private LinkTags() {
+    }
+
+    static void write(CompoundTag tag, Collection<BlockPos> links) {
+        long[] packed = new long[links.size()];
+        int i = 0;
+        for (BlockPos pos : links) {
+            packed[i++] = pos.asLong();
+        }
+        Arrays.sort(packed);
+        for (int j = packed.length - 1; j > 0; j--) {
+            packed[j] -= packed[j - 1];
+        }
+        tag.put(PACKED_KEY, new LongArrayTag(packed));
+    }
+
+    static void read(CompoundTag tag, Collection<BlockPos> out) {
+        if (tag.contains(PACKED_KEY, Tag.TAG_LONG_ARRAY)) {
+            long[] packed = tag.getLongArray(PACKED_KEY);
+            long value = 0L;
+            for (int i = 0; i < packed.length; i++) {
+                value = i == 0 ? packed[0] : value + packed[i];
+                out.add(BlockPos.of(value));
+            }
+            return;
+        }
+
+        if (tag.contains(LEGACY_KEY, Tag.TAG_LIST)) {
+            ListTag list = tag.getList(LEGACY_KEY, Tag.TAG_COMPOUND);
+            for (int i = 0; i < list.size(); i++) {
+                CompoundTag t = list.getCompound(i);
+                out.add(new BlockPos(t.getInt("x"), t.getInt("y"), t.getInt("z")));
+            }
+        }
+    }
+}
@@ -9,13 +9,18 @@ import appeng.api.util.AECableType;
 import appeng.blockentity.grid.AENetworkBlockEntity;
 import com.mebeamformer.ME_Beam_Former;
 import com.mebeamformer.block.OmniBeamFormerBlock;
+import com.mebeamformer.connection.NetworkTopology;
+import com.mebeamformer.diagnostics.BeamConnectionTracker;
+import com.mebeamformer.diagnostics.jfr.GridConnectionEvent;
+import com.mebeamformer.diagnostics.jfr.JfrEvents;
+import com.mebeamformer.network.VisualSyncCoordinator;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.Tag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraftforge.api.distmarker.Dist;
@@ -34,6 +39,9 @@ import java.util.Set;
 
 public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements ILinkable {
     private static final Comparator<BlockPos> TARGET_ORDER = Comparator.comparingLong(BlockPos::asLong);
+    // 状态需稳定的 tick 数，以及改写状态时使用的更新标志
+    private static final int STATUS_DEBOUNCE_TICKS = 10;
+    private static final int STATUS_UPDATE_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
 
     private final Set<BlockPos> links = new HashSet<>();
     private final Map<BlockPos, IGridConnection> connections = new HashMap<>();
@@ -41,6 +49,12 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
     private List<BlockPos> clientActiveTargets = List.of();
     @Nullable
     private Direction lastExposedBack;
+    // 与 clientActiveTargets 一一对应的光束颜色缓存，目标列表变化时重建
+    @Nullable
+    private BeamColorCache[] beamColorCaches;
+
+    private final StatusDebouncer<OmniBeamFormerBlock.Status> statusDebouncer =
+            new StatusDebouncer<>(STATUS_DEBOUNCE_TICKS);
 
     public OmniBeamFormerBlockEntity(BlockPos pos, BlockState state) {
         super(ME_Beam_Former.OMNI_BEAM_FORMER_BE.get(), pos, state);
@@ -64,6 +78,7 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
             return;
         }
 
+        be.settleStatus(level, state);
         Direction facing = state.getValue(OmniBeamFormerBlock.FACING);
         be.syncExposedBack(facing.getOpposite());
 
@@ -123,6 +138,7 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
 
         if (links.add(other)) {
             setChanged();
+            recordTopology();
         }
     }
 
@@ -135,6 +151,13 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
         releaseConnection(other, getMainNode().getNode(), true);
         removeActiveTarget(other);
         setChanged();
+        recordTopology();
+    }
+
+    private void recordTopology() {
+        if (level instanceof ServerLevel serverLevel) {
+            NetworkTopology.get(serverLevel).setOmniLinks(getBlockPos(), links);
+        }
     }
 
     @Override
@@ -146,6 +169,18 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
         return clientActiveTargets;
     }
 
+    @OnlyIn(Dist.CLIENT)
+    public BeamColorCache[] getBeamColorCaches() {
+        if (beamColorCaches == null || beamColorCaches.length != clientActiveTargets.size()) {
+            BeamColorCache[] caches = new BeamColorCache[clientActiveTargets.size()];
+            for (int i = 0; i < caches.length; i++) {
+                caches[i] = new BeamColorCache();
+            }
+            beamColorCaches = caches;
+        }
+        return beamColorCaches;
+    }
+
     @Override
     protected void writeToStream(FriendlyByteBuf data) {
         super.writeToStream(data);
@@ -167,9 +202,19 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
         List<BlockPos> immutableTargets = updatedTargets.isEmpty() ? List.of() : List.copyOf(updatedTargets);
         boolean targetsChanged = !immutableTargets.equals(clientActiveTargets);
         clientActiveTargets = immutableTargets;
+        if (targetsChanged) {
+            beamColorCaches = null;
+        }
         return changed || targetsChanged;
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        // 与维度拓扑对账，旧存档在此时完成登记
+        recordTopology();
+    }
+
     @Override
     public void onChunkUnloaded() {
         disconnectAll();
@@ -185,15 +230,7 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
     @Override
     public void saveAdditional(CompoundTag tag) {
         super.saveAdditional(tag);
-        ListTag list = new ListTag();
-        for (BlockPos pos : links) {
-            CompoundTag targetTag = new CompoundTag();
-            targetTag.putInt("x", pos.getX());
-            targetTag.putInt("y", pos.getY());
-            targetTag.putInt("z", pos.getZ());
-            list.add(targetTag);
-        }
-        tag.put("links", list);
+        LinkTags.write(tag, links);
     }
 
     @Override
@@ -203,18 +240,10 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
         connections.clear();
         activeTargets = List.of();
         clientActiveTargets = List.of();
+        beamColorCaches = null;
         lastExposedBack = null;
 
-        if (tag.contains("links", Tag.TAG_LIST)) {
-            ListTag list = tag.getList("links", Tag.TAG_COMPOUND);
-            for (int i = 0; i < list.size(); i++) {
-                CompoundTag targetTag = list.getCompound(i);
-                links.add(new BlockPos(
-                        targetTag.getInt("x"),
-                        targetTag.getInt("y"),
-                        targetTag.getInt("z")));
-            }
-        }
+        LinkTags.read(tag, links);
     }
 
     @OnlyIn(Dist.CLIENT)
@@ -282,11 +311,14 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
 
         IGridConnection liveConnection = findLiveConnection(myNode, otherNode);
         if (liveConnection == null) {
+            GridConnectionEvent event = JfrEvents.beginGridConnection();
             try {
                 liveConnection = GridHelper.createConnection(myNode, otherNode);
+                BeamConnectionTracker.onCreated(liveConnection);
             } catch (IllegalStateException ignored) {
                 liveConnection = findLiveConnection(myNode, otherNode);
             }
+            JfrEvents.commitGridConnection(event, level, worldPosition, "omni_beam_former", liveConnection != null);
         }
 
         if (liveConnection != null) {
@@ -335,7 +367,7 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
         List<BlockPos> immutableTargets = activeNow.isEmpty() ? List.of() : List.copyOf(activeNow);
         if (!immutableTargets.equals(activeTargets)) {
             activeTargets = immutableTargets;
-            markForUpdate();
+            VisualSyncCoordinator.markDirty(this);
         }
     }
 
@@ -363,11 +395,19 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
         if (level == null || isRemoved()) {
             return;
         }
+        // 只记录目标状态，由自身 tick 统一评估
+        statusDebouncer.offer(status);
+    }
 
-        BlockState currentState = getBlockState();
-        if (currentState.getBlock() instanceof OmniBeamFormerBlock
-                && currentState.getValue(OmniBeamFormerBlock.STATUS) != status) {
-            level.setBlock(getBlockPos(), currentState.setValue(OmniBeamFormerBlock.STATUS, status), 3);
+    private void settleStatus(Level level, BlockState state) {
+        if (!(state.getBlock() instanceof OmniBeamFormerBlock)) {
+            return;
+        }
+        OmniBeamFormerBlock.Status status = statusDebouncer.settle(state.getValue(OmniBeamFormerBlock.STATUS),
+                level.getGameTime());
+        if (status != null) {
+            // 状态只影响外观（亮度恒定），只通知客户端，不触发邻居与形状更新
+            level.setBlock(getBlockPos(), state.setValue(OmniBeamFormerBlock.STATUS, status), STATUS_UPDATE_FLAGS);
         }
     }
 
@@ -413,9 +453,12 @@ public class OmniBeamFormerBlockEntity extends AENetworkBlockEntity implements I
     }
 
     private void destroyConnection(IGridConnection connection) {
+        GridConnectionEvent event = JfrEvents.beginGridConnection();
         try {
             connection.destroy();
         } catch (IllegalArgumentException | IllegalStateException ignored) {
         }
+        BeamConnectionTracker.onDestroyed(connection);
+        JfrEvents.commitGridConnection(event, level, worldPosition, "omni_beam_former", false);
     }
 }
@@ -0,0 +1,58 @@
+package com.mebeamformer.blockentity;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 方块状态属性的去抖。
+ * 目标状态需连续保持指定 tick 数才真正写入方块状态，光束在短时间内反复通断时不会每次都改写方块。
+ * 同一 tick 内可能多次给出目标状态（成型器自身 tick 与配对方 tick 各一次），后写覆盖先写；
+ * 方块实体每 tick 只在自身 tick 中按最新的目标状态评估一次，与方块实体的 tick 顺序无关。
+ */
+final class StatusDebouncer<S> {
+    private final int delayTicks;
+    @Nullable
+    private S latest;
+    @Nullable
+    private S pending;
+    private long pendingSince;
+    private long lastSettled = Long.MIN_VALUE;
+
+    StatusDebouncer(int delayTicks) {
+        this.delayTicks = delayTicks;
+    }
+
+    /**
+     * 记录最新的目标状态，不做评估。
+     */
+    void offer(S desired) {
+        latest = desired;
+    }
+
+    /**
+     * 每 tick 调用一次：按最新的目标状态推进等待计时。
+     *
+     * @return 应当立即写入的状态；无需写入时返回 null
+     */
+    @Nullable
+    S settle(S current, long gameTime) {
+        S desired = latest;
+        if (desired == null || gameTime == lastSettled) {
+            return null;
+        }
+        lastSettled = gameTime;
+        if (current == desired) {
+            pending = null;
+            return null;
+        }
+        if (pending != desired) {
+            pending = desired;
+            pendingSince = gameTime;
+            return null;
+        }
+        if (gameTime - pendingSince < delayTicks) {
+            return null;
+        }
+        pending = null;
+        return desired;
+    }
+}
@@ -3,16 +3,34 @@ package com.mebeamformer.blockentity;
 import appeng.api.networking.GridFlags;
 import appeng.blockentity.grid.AENetworkBlockEntity;
 import com.mebeamformer.ME_Beam_Former;
+import com.mebeamformer.client.TowerLinkInterest;
+import com.mebeamformer.connection.EnergyRouter;
+import com.mebeamformer.connection.NetworkTopology;
+import com.mebeamformer.connection.RoutingNode;
+import com.mebeamformer.connection.RoutingPlan;
 import com.mebeamformer.connection.WirelessEnergyNetwork;
+import com.mebeamformer.diagnostics.CacheMetrics;
+import com.mebeamformer.diagnostics.NetworkProfiler;
+import com.mebeamformer.diagnostics.NetworkTelemetry;
+import com.mebeamformer.diagnostics.RoutingMetrics;
+import com.mebeamformer.diagnostics.jfr.AE2ExtractionEvent;
+import com.mebeamformer.diagnostics.jfr.JfrEvents;
+import com.mebeamformer.energy.EnergyBackends;
+import com.mebeamformer.energy.EnergyEndpoint;
+import com.mebeamformer.energy.ILongEnergyDemand;
 import com.mebeamformer.energy.ILongEnergyStorage;
 import com.mebeamformer.energy.MEBFCapabilities;
 import com.mebeamformer.integration.AE2FluxIntegration;
+import com.mebeamformer.network.MEBFNetwork;
+import com.mebeamformer.network.TowerLinksPacket;
+import com.mebeamformer.network.TowerLinksInterestPacket;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.Tag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
@@ -27,13 +45,15 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.util.function.Consumer;
 
 /**
  * 无线能源感应塔。
  * 能量转发由 {@link WirelessEnergyNetwork} 统一驱动。
  */
-public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity implements ILinkable {
+public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity implements ILinkable, RoutingNode {
 
     // 反射缓存（所有实例共享）
     // Flux Networks
@@ -47,21 +67,12 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     private static Method FLUX_GET_ENERGY_STORED_METHOD = null;
     private static Method FLUX_GET_MAX_ENERGY_STORED_METHOD = null;
     
-    // GregTech
-    private static volatile boolean GT_INITIALIZED = false;
-    private static Class<?> GT_CAP_CLASS = null;
-    private static Capability<?> GT_CAPABILITY = null;
-    private static Method GT_INPUTS_ENERGY_METHOD = null;
-    private static Method GT_ACCEPT_ENERGY_METHOD = null;
-    private static Method GT_GET_INPUT_VOLTAGE_METHOD = null;
-    private static Method GT_GET_INPUT_AMPERAGE_METHOD = null;
-    private static Method GT_GET_ENERGY_CAN_BE_INSERTED_METHOD = null;
-    
     // 邻居能量源缓存
     private static class NeighborEnergyCache {
         Direction direction;
         BlockPos position;
         Object energyHandler; // 存储实际的能量接口对象
+        @Nullable ILongEnergyDemand demand; // Long 能量源可选的需求/供给查询
         EnergySourceType type;
         long lastValidatedTick;
     }
@@ -75,17 +86,110 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     }
     
     private NeighborEnergyCache energySourceCache = null;
+
+    // 链接目标（及网络分配中经过的设备）解析出的能量后端，按位置缓存
+    private static class ResolvedTarget {
+        BlockEntity target;
+        @Nullable EnergyEndpoint sink;
+        long retryAt;
+        long lastUsed;     // 最近一次被查询的 tick，长期未用的条目在清扫时丢弃
+        int rejections;    // 连续未接收任何能量的次数
+        long backoffUntil; // 在此之前跳过该目标（指数退避）
+
+        boolean isBackingOff(long now) {
+            return now < backoffUntil;
+        }
+
+        void recordAttempt(long inserted, long now) {
+            if (inserted > 0) {
+                rejections = 0;
+                backoffUntil = 0L;
+            } else {
+                rejections++;
+                backoffUntil = now + Math.min(MAX_BACKOFF_TICKS, 1L << Math.min(rejections - 1, 30));
+            }
+        }
+    }
+
+    private static final int MAX_BACKOFF_TICKS = 32; // 已满目标最长 1.6 秒重试一次
+    // Direction.values() 每次调用都会复制数组，转发与邻居扫描共用这一份
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Map<BlockPos, ResolvedTarget> resolvedTargets = new HashMap<>();
     private static final int CACHE_VALIDITY_TICKS = 40; // 2秒缓存有效期
+    // 清扫周期：移除已拆除/被替换/已卸载的目标，以及一个周期内未再使用的条目，避免缓存只增不减
+    private static final int RESOLVED_SWEEP_TICKS = 200;
+    private long lastResolvedSweep = Long.MIN_VALUE;
+
+    // 对外暴露的存量/需求快照：外部模组和界面频繁轮询，getter 只读快照，
+    // 能力查询只在网络 tick（以及传输路径的增量更新）中进行
+    private static class EnergyStats {
+        boolean neighborFound;      // 是否有可用的邻居能量存储
+        long neighborStored;
+        long neighborMax;
+        boolean neighborCanExtract;
+        long demand;                // 链接网络的可接收量（getDemandL）
+        long refreshedAt = Long.MIN_VALUE;
+        boolean dirty = true;       // 邻居能量源失效后本 tick 内也重新查询
+        // 自上次刷新后是否有人读取过；无人读取的塔不做任何查询。首个网络 tick 填充初始快照
+        volatile boolean requested = true;
+        volatile boolean demandRequested;
+    }
+
+    // 被动接收能量的转发计划：按 tick 构建，同一 tick 内的多次推入复用
+    private static final class ForwardingPlan {
+        final long builtAt;
+        final WirelessEnergyTowerBlockEntity[] owners; // 负责推送的塔（决定后端缓存与退避状态）
+        final BlockEntity[] targets;
+        final boolean[] saturated; // 本 tick 内已填满或失效的设备
+
+        ForwardingPlan(long builtAt, WirelessEnergyTowerBlockEntity[] owners, BlockEntity[] targets) {
+            this.builtAt = builtAt;
+            this.owners = owners;
+            this.targets = targets;
+            this.saturated = new boolean[targets.length];
+        }
+    }
+
+    @Nullable private ForwardingPlan forwardingPlan;
+
+    private final EnergyStats energyStats = new EnergyStats();
 
     private final Set<BlockPos> links = new HashSet<>();
-    private List<BlockPos> clientLinks = Collections.emptyList();
+    // 目标区块已卸载的链接保留在 links 中但进入休眠，不参与每 tick 的处理；由 WirelessEnergyNetwork 按区块事件维护
+    private final Set<BlockPos> activeLinks = new HashSet<>();
+    private final Set<BlockPos> dormantLinks = new HashSet<>();
+    private final Set<BlockPos> activeLinksView = Collections.unmodifiableSet(activeLinks);
+    private final Set<BlockPos> clientLinks = new HashSet<>();
+    private final Collection<BlockPos> clientLinksView = Collections.unmodifiableSet(clientLinks);
     private final Set<BlockPos> lastSyncedLinks = new HashSet<>();
+    // 连接同步版本：服务端每次下发变化递增，客户端记录已应用的版本
+    private int linkSyncVersion = 0;
+    private int clientLinkVersion = -1;
+    private long clientResyncRequestedAt = Long.MIN_VALUE;
+    // 订阅了本塔连接列表的玩家（服务端）；只有订阅者会收到同步包
+    private final Set<UUID> linkSubscribers = new HashSet<>();
+    // 客户端是否已向服务端订阅本塔的连接列表
+    private boolean clientSubscribed = false;
+    private static final int RESYNC_RETRY_TICKS = 40;
     private static final long MAX_TRANSFER = Long.MAX_VALUE;
 
-    // 能量能力缓存
-    private final LazyOptional<?>[] forgeEnergyCaps = new LazyOptional[7]; // 标准 Forge Energy
-    private final LazyOptional<?>[] longEnergyCaps = new LazyOptional[7]; // Long Energy
-    private final LazyOptional<?>[] fluxEnergyCaps = new LazyOptional[7]; // Flux Networks Energy
+    // 脉冲模式：每 N tick 集中传输一次（1 为每 tick 传输）。两次脉冲之间由能量源自身的缓冲积累；
+    // 来源单次提取有上限时，脉冲开始时先把间隔内应得的量提取到塔内的小缓冲，再向每个目标各送一次。
+    // 适合电池组、慢速机器等对延迟不敏感的链接。绑定工具选定本塔为源后，Shift+右键本塔切换间隔
+    private static final String TAG_PULSE_INTERVAL = "PulseInterval";
+    private static final String TAG_PULSE_BUFFER = "PulseBuffer";
+    private static final int[] PULSE_INTERVAL_STEPS = {1, 5, 10, 20, 40};
+    public static final int MAX_PULSE_INTERVAL = 200;
+    private int pulseInterval = 1;
+    // 脉冲缓冲：最多为来源单次提取上限 × 间隔，未送完的部分留到下一次脉冲（随方块实体保存）
+    private long pulseBuffer;
+
+    // 能量能力缓存：适配器与方向无关，每座塔各一份，首次查询时创建；未被查询的塔只占几个空引用
+    @Nullable private TowerEnergyStorage energyStorage;
+    @Nullable private LazyOptional<?> energyCap; // 标准 Forge Energy 与 Long Energy 共用
+    @Nullable private LazyOptional<?> fluxEnergyCap; // Flux Networks Energy
+    @Nullable private LazyOptional<?> longDemandCap; // Long Energy 需求查询
 
     public WirelessEnergyTowerBlockEntity(BlockPos pos, BlockState state) {
         super(ME_Beam_Former.WIRELESS_ENERGY_TOWER_BE.get(), pos, state);
@@ -122,27 +226,6 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         }
     }
     
-    /**
-     * 初始化 GregTech 反射缓存。
-     */
-    private static void initGTReflection() {
-        if (GT_INITIALIZED) return;
-        synchronized (WirelessEnergyTowerBlockEntity.class) {
-            if (GT_INITIALIZED) return;
-            try {
-                GT_CAP_CLASS = Class.forName("com.gregtechceu.gtceu.api.capability.forge.GTCapability");
-                java.lang.reflect.Field field = GT_CAP_CLASS.getField("CAPABILITY_ENERGY_CONTAINER");
-                GT_CAPABILITY = (Capability<?>) field.get(null);
-                
-                // 不预加载具体的容器方法，因为接口可能有多个实现
-                // 在实际使用时再获取方法
-            } catch (Exception e) {
-                // GregTech 未安装或版本不兼容
-            }
-            GT_INITIALIZED = true;
-        }
-    }
-    
     @Override
     public void onLoad() {
         super.onLoad();
@@ -150,6 +233,11 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         // 注册到全局网络
         if (level != null && !level.isClientSide) {
             WirelessEnergyNetwork.getInstance().registerTower(this);
+            recordTopology();
+            // 休眠链接同样需要同步给客户端渲染
+            updateSyncedLinks(this.links);
+        } else if (level != null) {
+            TowerLinkInterest.track(this);
         }
     }
     
@@ -160,6 +248,10 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         // 从全局网络注销
         if (level != null && !level.isClientSide) {
             WirelessEnergyNetwork.getInstance().unregisterTower(this);
+            this.linkSubscribers.clear();
+            this.resolvedTargets.clear();
+        } else if (level != null) {
+            TowerLinkInterest.untrack(this);
         }
         invalidateEnergyCaps();
     }
@@ -171,23 +263,17 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     }
     
     private void invalidateEnergyCaps() {
-        for (int i = 0; i < forgeEnergyCaps.length; i++) {
-            if (forgeEnergyCaps[i] != null) {
-                forgeEnergyCaps[i].invalidate();
-                forgeEnergyCaps[i] = null;
-            }
+        if (energyCap != null) {
+            energyCap.invalidate();
+            energyCap = null;
         }
-        for (int i = 0; i < longEnergyCaps.length; i++) {
-            if (longEnergyCaps[i] != null) {
-                longEnergyCaps[i].invalidate();
-                longEnergyCaps[i] = null;
-            }
+        if (fluxEnergyCap != null) {
+            fluxEnergyCap.invalidate();
+            fluxEnergyCap = null;
         }
-        for (int i = 0; i < fluxEnergyCaps.length; i++) {
-            if (fluxEnergyCaps[i] != null) {
-                fluxEnergyCaps[i].invalidate();
-                fluxEnergyCaps[i] = null;
-            }
+        if (longDemandCap != null) {
+            longDemandCap.invalidate();
+            longDemandCap = null;
         }
     }
 
@@ -204,745 +290,405 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
      * 更新同步的连接列表（供全局管理器使用）
      */
     public void updateSyncedLinks(Set<BlockPos> validLinks) {
-        this.lastSyncedLinks.clear();
-        this.lastSyncedLinks.addAll(validLinks);
-        this.markForUpdate();
-    }
-
-    /**
-     * 向目标推送能量（供全局网络调用）。
-     * 优先级：AE2(appflux) -> GregTech -> Long -> Forge。
-     */
-    public void pushEnergyToTarget(BlockEntity target) {
-        if (level == null) return;
-
-        // 目标为塔时，进行网络分配
-        if (target instanceof WirelessEnergyTowerBlockEntity targetTower) {
-            pushEnergyToTower(targetTower);
-            return;
+        List<BlockPos> added = new ArrayList<>();
+        for (BlockPos p : validLinks) {
+            if (!this.lastSyncedLinks.contains(p)) {
+                added.add(p);
+            }
         }
-
-        // AE2 网络
-        if (AE2FluxIntegration.isAvailable()) {
-            boolean transferred = tryPushFromAE2Network(target);
-            if (transferred) return;
+        List<BlockPos> removed = new ArrayList<>();
+        for (BlockPos p : this.lastSyncedLinks) {
+            if (!validLinks.contains(p)) {
+                removed.add(p);
+            }
+        }
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
         }
 
-        // GregTech
-        boolean transferred = tryPushGTEnergy(target);
-        if (transferred) return;
+        this.lastSyncedLinks.removeAll(removed);
+        this.lastSyncedLinks.addAll(added);
+        int baseVersion = this.linkSyncVersion++;
 
-        // Long / Forge
-        transferred = tryPushLongEnergy(target);
-        if (!transferred) {
-            // 回退到标准Forge Energy
-            tryPushForgeEnergy(target);
+        // 没有订阅者时不构造也不序列化任何同步包
+        if (level instanceof ServerLevel serverLevel && !this.linkSubscribers.isEmpty()) {
+            // 变化量不小于全量时直接发全量，顺便让落后的客户端追上
+            TowerLinksPacket packet = added.size() + removed.size() >= this.lastSyncedLinks.size()
+                    ? TowerLinksPacket.full(getBlockPos(), this.linkSyncVersion, new ArrayList<>(this.lastSyncedLinks))
+                    : TowerLinksPacket.delta(getBlockPos(), baseVersion, this.linkSyncVersion, added, removed);
+            MEBFNetwork.sendToSubscribers(serverLevel, getBlockPos(), this.linkSubscribers, packet);
         }
     }
-    
+
     /**
-     * 尝试从AE2网络提取能量并推送到目标设备
+     * 玩家订阅本塔的连接列表，并立即收到一次全量（也用于客户端的重同步请求）。
      */
-    private boolean tryPushFromAE2Network(BlockEntity target) {
-        // 尝试从AE2网络提取能量（模拟）
-        long extracted = AE2FluxIntegration.extractEnergyFromOwnNetwork(this, MAX_TRANSFER, true);
-        if (extracted <= 0) return false;
-        
-        // 尝试推送到目标（实际）
-        long inserted = pushEnergyToTargetDirect(target, extracted, false);
-        if (inserted > 0) {
-            // 从AE2网络实际提取对应的能量
-            AE2FluxIntegration.extractEnergyFromOwnNetwork(this, inserted, false);
-            return true;
-        }
-        
-        return false;
+    public void subscribeLinks(ServerPlayer player) {
+        this.linkSubscribers.add(player.getUUID());
+        MEBFNetwork.sendTo(player,
+                TowerLinksPacket.full(getBlockPos(), this.linkSyncVersion, new ArrayList<>(this.lastSyncedLinks)));
     }
-    
+
+    public void unsubscribeLinks(ServerPlayer player) {
+        this.linkSubscribers.remove(player.getUUID());
+    }
+
     /**
-     * 推送能量到另一个感应塔（电网功能）
-     * 直接从源的邻居提取能量，传递给目标塔及其整个电网
+     * 客户端设置是否需要本塔的连接列表（由 {@link TowerLinkInterest} 驱动）。
+     * 取消订阅时丢弃本地列表，重新订阅时由服务端下发全量。
      */
-    private void pushEnergyToTower(WirelessEnergyTowerBlockEntity targetTower) {
-        if (level == null) return;
-        
-        // 创建访问追踪集合，防止循环
-        Set<BlockPos> visited = new HashSet<>();
-        visited.add(this.worldPosition); // 标记源塔已访问
-        
-        // 优先尝试从 AE2 网络提取能量
-        if (AE2FluxIntegration.isAvailable()) {
-            long extracted = AE2FluxIntegration.extractEnergyFromOwnNetwork(this, MAX_TRANSFER, true);
-            if (extracted > 0) {
-                // 尝试将能量推送到目标塔及其整个电网
-                long inserted = targetTower.distributeEnergyInNetwork(extracted, false, visited);
-                if (inserted > 0) {
-                    AE2FluxIntegration.extractEnergyFromOwnNetwork(this, inserted, false);
-                    return;
-                }
-            }
-        }
-        
-        // 从自己的邻居获取能量源
-        Object sourceFlux = getNeighborFluxEnergy();
-        if (sourceFlux != null) {
-            try {
-                Method extractMethod = sourceFlux.getClass().getMethod("extractEnergyL", long.class, boolean.class);
-                long extracted = (Long) extractMethod.invoke(sourceFlux, MAX_TRANSFER, true);
-                if (extracted > 0) {
-                    long inserted = targetTower.distributeEnergyInNetwork(extracted, false, visited);
-                    if (inserted > 0) {
-                        extractMethod.invoke(sourceFlux, inserted, false);
-                        return;
-                    }
-                }
-            } catch (Exception ignored) {}
-        }
-        
-        ILongEnergyStorage sourceLong = getNeighborLongEnergy();
-        if (sourceLong != null) {
-            long extracted = sourceLong.extractEnergyL(MAX_TRANSFER, true);
-            if (extracted > 0) {
-                long inserted = targetTower.distributeEnergyInNetwork(extracted, false, visited);
-                if (inserted > 0) {
-                    sourceLong.extractEnergyL(inserted, false);
-                    return;
-                }
-            }
+    public void setLinkInterest(boolean interested) {
+        if (interested == this.clientSubscribed) {
+            return;
         }
-        
-        IEnergyStorage sourceEnergy = getNeighborForgeEnergy();
-        if (sourceEnergy != null) {
-            int extracted = sourceEnergy.extractEnergy(Integer.MAX_VALUE, true);
-            if (extracted > 0) {
-                long inserted = targetTower.distributeEnergyInNetwork(extracted, false, visited);
-                if (inserted > 0) {
-                    sourceEnergy.extractEnergy((int) Math.min(inserted, Integer.MAX_VALUE), false);
-                }
-            }
+        this.clientSubscribed = interested;
+        this.clientResyncRequestedAt = Long.MIN_VALUE;
+        if (interested) {
+            requestLinkResync();
+        } else {
+            this.clientLinks.clear();
+            this.clientLinkVersion = -1;
+            MEBFNetwork.sendToServer(new TowerLinksInterestPacket(getBlockPos(), false));
         }
     }
-    
+
     /**
-     * 接收来自其他感应塔转发的能量（被动接收模式）
-     * 用于塔到塔的递归转发，防止循环
-     * 
-     * @param amount 要接收的能量
-     * @param simulate 是否模拟
-     * @param visited 已访问的塔的位置集合（防止循环）
-     * @return 实际接收并转发的能量
+     * 客户端应用连接同步包；增量的基准版本与本地不一致时请求全量。
      */
-    private long receiveEnergyFromTower(long amount, boolean simulate, Set<BlockPos> visited) {
-        if (level == null || amount <= 0) return 0;
-        
-        // 标记当前塔为已访问，防止循环
-        if (!visited.add(this.worldPosition)) {
-            return 0; // 已经访问过，避免循环
+    public void applyLinkSync(TowerLinksPacket packet) {
+        if (!this.clientSubscribed) {
+            // 取消订阅后仍在途的包
+            return;
         }
-        
-        long totalInserted = 0;
-        
-        // 分配给当前塔的邻居设备（不是感应塔的设备）
-        for (Direction dir : Direction.values()) {
-            if (totalInserted >= amount) break;
-            
-            BlockPos neighborPos = worldPosition.relative(dir);
-            BlockEntity neighborBE = level.getBlockEntity(neighborPos);
-            if (neighborBE != null && !(neighborBE instanceof WirelessEnergyTowerBlockEntity)) {
-                long remaining = amount - totalInserted;
-                long inserted = pushEnergyToTargetDirect(neighborBE, remaining, simulate);
-                totalInserted += inserted;
-            }
+        if (packet.isFull()) {
+            this.clientLinks.clear();
+            this.clientLinks.addAll(packet.getAdded());
+            this.clientLinkVersion = packet.getVersion();
+            this.clientResyncRequestedAt = Long.MIN_VALUE;
+            return;
         }
-        
-        // 分配给当前塔绑定的普通设备（非感应塔）
-        if (totalInserted < amount && !links.isEmpty()) {
-            for (BlockPos targetPos : new HashSet<>(links)) {
-                if (totalInserted >= amount) break;
-                
-                BlockEntity targetBE = level.getBlockEntity(targetPos);
-                if (targetBE == null) continue;
-                
-                if (!(targetBE instanceof WirelessEnergyTowerBlockEntity)) {
-                    long remaining = amount - totalInserted;
-                    long inserted = pushEnergyToTargetDirect(targetBE, remaining, simulate);
-                    totalInserted += inserted;
-                }
-            }
+        if (packet.getBaseVersion() != this.clientLinkVersion) {
+            requestLinkResync();
+            return;
         }
-        
-        // 将剩余能量递归分配给连接的其他感应塔
-        if (totalInserted < amount && !links.isEmpty()) {
-            for (BlockPos targetPos : new HashSet<>(links)) {
-                if (totalInserted >= amount) break;
-                
-                BlockEntity targetBE = level.getBlockEntity(targetPos);
-                if (targetBE instanceof WirelessEnergyTowerBlockEntity targetTower) {
-                    if (!visited.contains(targetPos)) {
-                        long remaining = amount - totalInserted;
-                        long inserted = targetTower.receiveEnergyFromTower(remaining, simulate, visited);
-                        totalInserted += inserted;
-                    }
-                }
-            }
+        this.clientLinks.removeAll(packet.getRemoved());
+        this.clientLinks.addAll(packet.getAdded());
+        this.clientLinkVersion = packet.getVersion();
+    }
+
+    private void requestLinkResync() {
+        if (level == null) {
+            return;
         }
-        
-        return totalInserted;
+        long now = level.getGameTime();
+        if (this.clientResyncRequestedAt != Long.MIN_VALUE
+                && now - this.clientResyncRequestedAt < RESYNC_RETRY_TICKS) {
+            return;
+        }
+        this.clientResyncRequestedAt = now;
+        MEBFNetwork.sendToServer(new TowerLinksInterestPacket(getBlockPos(), true));
     }
-    
+
     /**
-     * 在塔网络中分配能量（队列遍历，避免递归）。
+     * 查询方块实体能力，并在开启路由统计时计数。
      */
-    private long distributeEnergyInNetwork(long amount, boolean simulate, Set<BlockPos> visited) {
-        if (level == null || amount <= 0) return 0;
-        
-        // 使用队列遍历
-        java.util.Queue<WirelessEnergyTowerBlockEntity> towerQueue = new java.util.LinkedList<>();
-        towerQueue.add(this);
-        visited.add(this.worldPosition);
-        
-        long totalInserted = 0;
-        
-        // 迭代处理每个塔
-        while (!towerQueue.isEmpty() && totalInserted < amount) {
-            WirelessEnergyTowerBlockEntity currentTower = towerQueue.poll();
-            long remaining = amount - totalInserted;
-            
-            // 1. 先分配给当前塔的邻居设备（非塔）
-            for (Direction dir : Direction.values()) {
-                if (totalInserted >= amount) break;
-                
-                BlockPos neighborPos = currentTower.worldPosition.relative(dir);
-                BlockEntity neighborBE = level.getBlockEntity(neighborPos);
-                if (neighborBE != null && !(neighborBE instanceof WirelessEnergyTowerBlockEntity)) {
-                    long neighborRemaining = amount - totalInserted;
-                    
-                    // 优先尝试Flux Networks接口（支持Long，无限制）
-                    long fluxInserted = tryInsertFluxEnergy(neighborBE, dir.getOpposite(), neighborRemaining, simulate);
-                    if (fluxInserted > 0) {
-                        totalInserted += fluxInserted;
-                        continue;
-                    }
-                    
-                    // 尝试Long接口（支持超大值传输）
-                    try {
-                        LazyOptional<ILongEnergyStorage> longCap = neighborBE.getCapability(MEBFCapabilities.LONG_ENERGY_STORAGE, dir.getOpposite());
-                        if (longCap.isPresent()) {
-                            ILongEnergyStorage storage = longCap.resolve().orElse(null);
-                            if (storage != null && storage.canReceive()) {
-                                long inserted = storage.receiveEnergyL(neighborRemaining, simulate);
-                                totalInserted += inserted;
-                                continue;
-                            }
-                        }
-                    } catch (ClassCastException e) {
-                        // 跳过不兼容的能力实现
-                    }
-                    
-                    // 回退到标准接口（分批传输突破INT_MAX）
-                    try {
-                        LazyOptional<IEnergyStorage> normalCap = neighborBE.getCapability(ForgeCapabilities.ENERGY, dir.getOpposite());
-                        if (normalCap.isPresent()) {
-                            IEnergyStorage storage = normalCap.resolve().orElse(null);
-                            if (storage != null && storage.canReceive()) {
-                                if (simulate) {
-                                    int batchSize = (int) Math.min(neighborRemaining, Integer.MAX_VALUE);
-                                    int inserted = storage.receiveEnergy(batchSize, true);
-                                    totalInserted += inserted;
-                                } else {
-                                    long batchRemaining = neighborRemaining;
-                                    while (batchRemaining > 0 && totalInserted < amount) {
-                                        int batchSize = (int) Math.min(batchRemaining, Integer.MAX_VALUE);
-                                        int inserted = storage.receiveEnergy(batchSize, false);
-                                        if (inserted == 0) break;
-                                        totalInserted += inserted;
-                                        batchRemaining -= inserted;
-                                    }
-                                }
-                            }
-                        }
-                    } catch (ClassCastException e) {
-                        // 跳过不兼容的能力实现
-                    }
-                }
-            }
-            
-            // 2. 分配给当前塔连接的普通设备（非感应塔）
-            if (totalInserted < amount && !currentTower.links.isEmpty()) {
-                for (BlockPos targetPos : new HashSet<>(currentTower.links)) {
-                    if (totalInserted >= amount) break;
-                    
-                    BlockEntity targetBE = level.getBlockEntity(targetPos);
-                    if (targetBE == null || targetBE instanceof WirelessEnergyTowerBlockEntity) {
-                        continue;
-                    }
-                    
-                    long targetRemaining = amount - totalInserted;
-                    long inserted = pushEnergyToTargetDirect(targetBE, targetRemaining, simulate);
-                    totalInserted += inserted;
-                }
-            }
-            
-            // 3. 将连接的其他感应塔加入队列（非递归）
-            if (totalInserted < amount && !currentTower.links.isEmpty()) {
-                for (BlockPos targetPos : currentTower.links) {
-                    if (visited.contains(targetPos)) continue;
-                    
-                    BlockEntity targetBE = level.getBlockEntity(targetPos);
-                    if (targetBE instanceof WirelessEnergyTowerBlockEntity targetTower) {
-                        visited.add(targetPos);
-                        towerQueue.add(targetTower);
-                    }
-                }
-            }
+    private static <T> LazyOptional<T> lookupCapability(BlockEntity be, Capability<T> cap, @Nullable Direction side) {
+        if (RoutingMetrics.isEnabled()) {
+            RoutingMetrics.getInstance().recordCapabilityLookup();
         }
-        
-        return totalInserted;
+        return be.getCapability(cap, side);
     }
-    
+
     /**
-     * 直接推送能量到目标设备（用于能量分配）
-     * 返回实际插入的能量
-     * 支持超过INT_MAX的传输
-     * 优先级：Flux Networks (Long) > GregTech > Long接口 > 标准接口（分批）
+     * 从塔所在的 AE2 网络提取能量（appflux），开启 JFR 时记录事件。
      */
-    private long pushEnergyToTargetDirect(BlockEntity target, long amount, boolean simulate) {
-        if (level == null || amount <= 0) return 0;
-        
-        // 优先尝试Flux Networks接口（支持Long，无限制）
-        for (Direction dir : Direction.values()) {
-            long fluxInserted = tryInsertFluxEnergy(target, dir, amount, simulate);
-            if (fluxInserted > 0) return fluxInserted;
+    private long extractFromOwnAE2Network(long amount, boolean simulate) {
+        AE2ExtractionEvent event = JfrEvents.beginAE2Extraction();
+        long extracted = AE2FluxIntegration.extractEnergyFromOwnNetwork(this, amount, simulate);
+        if (!simulate && extracted > 0 && NetworkTelemetry.isActive()) {
+            NetworkTelemetry.getInstance().recordAE2Extraction();
         }
-        
-        // 尝试格雷科技（支持Long）
-        long inserted = tryPushGTEnergyDirect(target, amount, simulate);
-        if (inserted > 0) return inserted;
-        
-        // 尝试Long能量接口（支持超大值）
-        for (Direction dir : Direction.values()) {
-            try {
-                LazyOptional<ILongEnergyStorage> longCap = target.getCapability(MEBFCapabilities.LONG_ENERGY_STORAGE, dir);
-                if (longCap.isPresent()) {
-                    ILongEnergyStorage storage = longCap.resolve().orElse(null);
-                    if (storage != null && storage.canReceive()) {
-                        return storage.receiveEnergyL(amount, simulate);
-                    }
-                }
-            } catch (ClassCastException e) {
-                // 跳过不兼容的能力实现
-            }
-        }
-        
-        // 回退到标准Forge Energy（分批传输突破INT_MAX）
-        for (Direction dir : Direction.values()) {
-            try {
-                LazyOptional<IEnergyStorage> cap = target.getCapability(ForgeCapabilities.ENERGY, dir);
-                if (cap.isPresent()) {
-                    IEnergyStorage storage = cap.resolve().orElse(null);
-                    if (storage != null && storage.canReceive()) {
-                        if (simulate) {
-                            // 模拟模式：单次传输，取最大可能值
-                            int batchSize = (int) Math.min(amount, Integer.MAX_VALUE);
-                            return storage.receiveEnergy(batchSize, true);
-                        } else {
-                            // 实际传输：分批传输直到完成或设备满
-                            long totalInserted = 0;
-                            long remaining = amount;
-                            
-                            while (remaining > 0) {
-                                int batchSize = (int) Math.min(remaining, Integer.MAX_VALUE);
-                                int batchInserted = storage.receiveEnergy(batchSize, false);
-                                if (batchInserted == 0) break; // 设备已满
-                                totalInserted += batchInserted;
-                                remaining -= batchInserted;
-                            }
-                            
-                            return totalInserted;
-                        }
-                    }
-                }
-            } catch (ClassCastException e) {
-                // 跳过不兼容的能力实现
-            }
+        if (event != null && level != null) {
+            JfrEvents.commitAE2Extraction(event, level, worldPosition, amount, extracted, simulate);
         }
-        
-        return 0;
+        return extracted;
     }
-    
+
     /**
-     * 尝试使用 Flux Networks 接口插入能量。
+     * 向监控方块的遥测记录一次实际送达消费者的能量。
      */
-    private long tryInsertFluxEnergy(BlockEntity target, Direction side, long amount, boolean simulate) {
-        initFluxReflection(); // 确保已初始化
-        if (FLUX_CAPABILITY == null) return 0; // Flux Networks 未安装
-        
-        try {
-            LazyOptional<?> cap = target.getCapability(FLUX_CAPABILITY, side);
-            if (cap.isPresent()) {
-                Object storage = cap.resolve().orElse(null);
-                if (storage != null) {
-                    // 使用缓存的 Method 对象
-                    if ((Boolean) FLUX_CAN_RECEIVE_METHOD.invoke(storage)) {
-                        return (Long) FLUX_RECEIVE_METHOD.invoke(storage, amount, simulate);
-                    }
-                }
-            }
-        } catch (Exception ignored) {
-            // 调用失败，静默处理
+    private static void recordDelivered(long amount) {
+        if (amount > 0 && NetworkTelemetry.isActive()) {
+            NetworkTelemetry.getInstance().recordEnergy(amount);
         }
-        return 0;
     }
-    
+
     /**
-     * 直接推送能量到 GregTech 设备。
+     * 脉冲开始时调用（网络 tick 处理本塔前经 {@link NetworkGraph#beforePush} 调用，{@code passes} 为距上次处理的 tick 数）：
+     * 邻居能量源单次提取有上限时，按间隔补足提取到脉冲缓冲，之后每个目标从缓冲一次取走，不再逐个目标重复调用来源。
+     * 单次提取即可取走全部存量的来源（Flux、大多数 Long 储能）不需要缓冲，直接传输。
      */
-    private long tryPushGTEnergyDirect(BlockEntity target, long amountFE, boolean simulate) {
-        initGTReflection(); // 确保已初始化
-        if (GT_CAPABILITY == null) return 0; // GregTech 未安装
-        
-        try {
-            for (Direction dir : Direction.values()) {
-                LazyOptional<?> cap = target.getCapability(GT_CAPABILITY, dir);
-                if (cap.isPresent()) {
-                    Object container = cap.resolve().orElse(null);
-                    if (container != null) {
-                        // 动态获取方法（不同的GT容器实现可能不同）
-                        Method inputsEnergyMethod = container.getClass().getMethod("inputsEnergy", Direction.class);
-                        if ((Boolean) inputsEnergyMethod.invoke(container, dir)) {
-                            // FE 转换为 EU (4 FE = 1 EU)
-                            long amountEU = amountFE >> 2;
-                            
-                            Method getInputVoltageMethod = container.getClass().getMethod("getInputVoltage");
-                            Method getInputAmperageMethod = container.getClass().getMethod("getInputAmperage");
-                            
-                            long voltage = (Long) getInputVoltageMethod.invoke(container);
-                            long amperage = (Long) getInputAmperageMethod.invoke(container);
-                            
-                            long actualVoltage = Math.min(voltage, amountEU);
-                            long actualAmperage = Math.min(amperage, amountEU / Math.max(actualVoltage, 1));
-                            
-                            if (!simulate) {
-                                Method acceptEnergyMethod = container.getClass().getMethod("acceptEnergyFromNetwork", Direction.class, long.class, long.class);
-                                long acceptedAmperage = (Long) acceptEnergyMethod.invoke(container, dir, actualVoltage, actualAmperage);
-                                long transferredEU = actualVoltage * acceptedAmperage;
-                                return transferredEU << 2; // EU 转回 FE
-                            } else {
-                                return (actualVoltage * actualAmperage) << 2;
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception ignored) {
+    private void fillPulseBuffer(int passes) {
+        if (level == null || passes <= 1 || activeLinks.isEmpty()) return;
+        // AE2 优先：AE2 网络有能量时不从邻居预取
+        if (AE2FluxIntegration.isAvailable() && extractFromOwnAE2Network(MAX_TRANSFER, true) > 0) return;
+
+        long perCall = extractFromNeighbor(MAX_TRANSFER, true);
+        if (perCall <= 0 || perCall >= getNeighborStoredNow()) return;
+
+        long capacity = perCall > Long.MAX_VALUE / passes ? Long.MAX_VALUE : perCall * passes;
+        long before = pulseBuffer;
+        for (int call = 0; call < passes && pulseBuffer < capacity; call++) {
+            long extracted = extractFromNeighbor(Math.min(perCall, capacity - pulseBuffer), false);
+            if (extracted <= 0) break;
+            pulseBuffer += extracted;
+        }
+        if (pulseBuffer != before) {
+            setChanged();
         }
-        return 0;
     }
 
-
     /**
-     * 尝试推送能量到 GregTech CEu 机器（4 FE = 1 EU）。
+     * 邻居能量源当前的实际存量（直接查询，不读快照）；无法获取时返回 0。
      */
-    private boolean tryPushGTEnergy(BlockEntity target) {
-        initGTReflection(); // 确保已初始化
-        if (GT_CAPABILITY == null) return false; // GregTech 未安装
-        
+    private long getNeighborStoredNow() {
+        Object source = getNeighborEnergySourceCached();
+        if (source == null || energySourceCache == null) return 0L;
         try {
-            // 检查目标是否有格雷能力
-            for (Direction dir : Direction.values()) {
-                LazyOptional<?> cap = target.getCapability(GT_CAPABILITY, dir);
-                if (cap.isPresent()) {
-                    Object container = cap.resolve().orElse(null);
-                    if (container != null) {
-                        // 检查是否可以输入能量
-                        Method inputsEnergyMethod = container.getClass().getMethod("inputsEnergy", Direction.class);
-                        if ((Boolean) inputsEnergyMethod.invoke(container, dir)) {
-                            return pushToGTContainer(container, dir);
-                        }
-                    }
-                }
-            }
+            return switch (energySourceCache.type) {
+                case FLUX_NETWORKS -> (Long) FLUX_GET_ENERGY_STORED_METHOD.invoke(source);
+                case LONG_ENERGY -> ((ILongEnergyStorage) source).getEnergyStoredL();
+                case FORGE_ENERGY -> ((IEnergyStorage) source).getEnergyStored();
+                default -> 0L;
+            };
         } catch (Exception e) {
-            // 格雷科技调用失败
+            // 能量源调用失败，视为无上限，不使用缓冲
+            return 0L;
         }
-        return false;
     }
-    
+
     /**
-     * 推送能量到格雷科技能量容器
-     * 处理电压、电流和FE-EU转换
+     * 解析目标的能量后端并按位置缓存。缓存的适配器在目标方块实体被替换或能力失效时重新解析；
+     * 不支持任何后端的目标也会缓存，{@link #CACHE_VALIDITY_TICKS} 后再探测。
+     * 重新解析时清空退避状态。
      */
-    private boolean pushToGTContainer(Object container, Direction side) {
-        try {
-            // 获取容器信息
-            Method getEnergyCanBeInsertedMethod = container.getClass().getMethod("getEnergyCanBeInserted");
-            long demand = (Long) getEnergyCanBeInsertedMethod.invoke(container);
-            if (demand == 0) return false;
-            
-            Method getInputVoltageMethod = container.getClass().getMethod("getInputVoltage");
-            Method getInputAmperageMethod = container.getClass().getMethod("getInputAmperage");
-            Method acceptEnergyMethod = container.getClass().getMethod("acceptEnergyFromNetwork", Direction.class, long.class, long.class);
-            
-            long voltage = (Long) getInputVoltageMethod.invoke(container);
-            long amperage = (Long) getInputAmperageMethod.invoke(container);
-            
-            // 从邻居能量源获取能量（FE）
-            // 优先级：AE2 Network (appflux) > Flux Networks (long) > Long Energy (long) > Forge Energy (int)
-            
-            // 0. 最优先：尝试从 AE2 网络提取能量（如果安装了 appflux）
-            if (AE2FluxIntegration.isAvailable()) {
-                long ae2Energy = tryExtractFromAE2Network(container, side, voltage, amperage, demand, acceptEnergyMethod);
-                if (ae2Energy > 0) {
-                    return true;
+    private ResolvedTarget resolveTarget(BlockEntity target) {
+        long now = level != null ? level.getGameTime() : 0L;
+        ResolvedTarget resolved = resolvedTargets.get(target.getBlockPos());
+        if (resolved != null && resolved.target == target && !target.isRemoved()
+                && (resolved.sink != null ? resolved.sink.isValid() : now < resolved.retryAt)) {
+            CacheMetrics.RESOLVED_TARGET.hit();
+            resolved.lastUsed = now;
+            return resolved;
+        }
+        CacheMetrics.RESOLVED_TARGET.miss();
+
+        // 旧条目引用的方块实体与适配器整体替换，不复用
+        BlockPos key = target.getBlockPos().immutable();
+        resolved = new ResolvedTarget();
+        resolved.target = target;
+        resolved.sink = EnergyBackends.resolveSink(target);
+        resolved.retryAt = now + CACHE_VALIDITY_TICKS;
+        resolved.lastUsed = now;
+        if (target.isRemoved()) {
+            resolvedTargets.remove(key);
+            return resolved;
+        }
+        resolvedTargets.put(key, resolved);
+        if (resolved.sink != null) {
+            // 能力失效时立即丢弃条目；监听器挂在目标上，只弱引用本塔
+            WeakReference<WirelessEnergyTowerBlockEntity> owner = new WeakReference<>(this);
+            ResolvedTarget entry = resolved;
+            resolved.sink.onInvalidated(() -> {
+                WirelessEnergyTowerBlockEntity tower = owner.get();
+                if (tower != null) {
+                    tower.resolvedTargets.remove(key, entry);
                 }
-            }
-            
-            // 1. 优先尝试 Flux Networks（支持 Long，无限制）
-            Object sourceFlux = getNeighborFluxEnergy();
-            if (sourceFlux != null) {
-                return pushFluxToGT(sourceFlux, container, side, voltage, amperage, demand);
-            }
-            
-            // 2. 尝试 Long 接口
-            ILongEnergyStorage sourceLong = getNeighborLongEnergy();
-            if (sourceLong != null) {
-                return pushLongToGT(sourceLong, container, side, voltage, amperage, demand, acceptEnergyMethod);
-            }
-            
-            // 3. 回退到标准 Forge Energy（限制为 Integer.MAX_VALUE）
-            IEnergyStorage sourceEnergy = getNeighborForgeEnergy();
-            if (sourceEnergy == null) {
-                return false;
-            }
-            
-            // 尝试提取尽可能多的能量（受限于 Integer.MAX_VALUE）
-            int extractedFE = sourceEnergy.extractEnergy(Integer.MAX_VALUE, true);
-            if (extractedFE == 0) return false;
-            
-            // FE 转换为 EU (4 FE = 1 EU)
-            long amountEU = extractedFE >> 2;
-            
-            // 计算实际传输的电压：取(机器电压, 可用EU, 需求)的最小值
-            long actualVoltage = Math.min(Math.min(voltage, amountEU), demand);
-            if (actualVoltage == 0) return false;
-            
-            // 计算实际传输的电流：取(机器电流, 可用EU/电压)的最小值
-            long actualAmperage = Math.min(amperage, amountEU / actualVoltage);
-            
-            // 调用格雷科技的接收方法
-            long acceptedAmperage = (Long) acceptEnergyMethod.invoke(container, side, actualVoltage, actualAmperage);
-            long transferredEU = actualVoltage * acceptedAmperage;
-            
-            if (transferredEU > 0) {
-                // 从源实际提取对应的FE（受限于 int 范围）
-                int actualExtractFE = (int) Math.min(transferredEU << 2, Integer.MAX_VALUE);
-                sourceEnergy.extractEnergy(actualExtractFE, false);
-                return true;
-            }
-        } catch (Exception e) {
-            // 传输失败
+            });
         }
-        return false;
+        return resolved;
     }
-    
+
     /**
-     * 使用Long能量接口推送到格雷科技
+     * 清扫后端缓存（由 WirelessEnergyNetwork 在处理本塔时调用，每 {@link #RESOLVED_SWEEP_TICKS} tick 一次）。
+     * 目标已拆除、位置上的方块实体已换成别的、所在区块已卸载，或整个周期内未被使用的条目都会移除。
      */
-    private boolean pushLongToGT(ILongEnergyStorage source, Object container, Direction side, 
-                                  long voltage, long amperage, long demand, Method acceptEnergyMethod) {
-        try {
-            // 尝试提取尽可能多的能量
-            long extractedFE = source.extractEnergyL(Long.MAX_VALUE, true);
-            if (extractedFE == 0) return false;
-            
-            // FE 转换为 EU (4 FE = 1 EU)
-            long amountEU = extractedFE >> 2;
-            
-            // 计算实际传输的电压：取(机器电压, 可用EU, 需求)的最小值
-            long actualVoltage = Math.min(Math.min(voltage, amountEU), demand);
-            if (actualVoltage == 0) return false;
-            
-            // 计算实际传输的电流：取(机器电流, 可用EU/电压)的最小值
-            long actualAmperage = Math.min(amperage, amountEU / actualVoltage);
-            
-            // 调用格雷科技的接收方法
-            long acceptedAmperage = (Long) acceptEnergyMethod.invoke(container, side, actualVoltage, actualAmperage);
-            long transferredEU = actualVoltage * acceptedAmperage;
-            
-            if (transferredEU > 0) {
-                // 从源实际提取对应的FE
-                long actualExtractFE = transferredEU << 2;
-                source.extractEnergyL(actualExtractFE, false);
-                return true;
-            }
-        } catch (Exception e) {
-            // 传输失败
+    public void sweepResolvedTargets(long gameTime) {
+        if (level == null || resolvedTargets.isEmpty()) return;
+        if (lastResolvedSweep != Long.MIN_VALUE && gameTime - lastResolvedSweep < RESOLVED_SWEEP_TICKS) return;
+        lastResolvedSweep = gameTime;
+
+        resolvedTargets.entrySet().removeIf(entry -> {
+            ResolvedTarget resolved = entry.getValue();
+            BlockPos pos = entry.getKey();
+            return resolved.target.isRemoved()
+                    || gameTime - resolved.lastUsed >= RESOLVED_SWEEP_TICKS
+                    || !level.isLoaded(pos)
+                    || level.getBlockEntity(pos) != resolved.target;
+        });
+    }
+
+    /**
+     * 向已解析的目标插入能量并记录统计。实际插入的结果计入退避历史，模拟不计入。
+     */
+    private long insertInto(ResolvedTarget resolved, long amount, boolean simulate) {
+        if (amount <= 0 || resolved.sink == null) return 0;
+
+        long inserted = resolved.sink.insertBulk(amount, simulate);
+        if (!simulate && level != null) {
+            resolved.recordAttempt(inserted, level.getGameTime());
         }
-        return false;
+        if (RoutingMetrics.isEnabled()) {
+            RoutingMetrics.getInstance().recordDirectPush(inserted, simulate);
+        }
+        if (!simulate) {
+            recordDelivered(inserted);
+        }
+        return inserted;
     }
-    
+
     /**
-     * 尝试从 AE2 网络提取能量并推送到格雷科技
-     * 
-     * @return 实际传输的 EU 数量
+     * 从缓存的邻居能量源提取能量。Forge Energy 单次受 int 限制。
      */
-    private long tryExtractFromAE2Network(Object container, Direction side, 
-                                          long voltage, long amperage, long demand, Method acceptEnergyMethod) {
+    private long extractFromNeighbor(long amount, boolean simulate) {
+        Object source = getNeighborEnergySourceCached();
+        if (source == null || energySourceCache == null) return 0;
+
+        long extracted;
         try {
-            // 计算可以传输的 EU 数量
-            long maxTransferEU = Math.min(voltage * amperage, demand);
-            long maxTransferFE = maxTransferEU << 2; // EU 转 FE (乘以4)
-            
-            // 从自己的 AE2 网络提取 FE（模拟）
-            long extractedFE = AE2FluxIntegration.extractEnergyFromOwnNetwork(this, maxTransferFE, true);
-            if (extractedFE == 0) {
-                return 0;
-            }
-            
-            // FE 转换为 EU (4 FE = 1 EU)
-            long amountEU = extractedFE >> 2;
-            
-            // 计算实际传输的电压：取(机器电压, 可用EU, 需求)的最小值
-            long actualVoltage = Math.min(Math.min(voltage, amountEU), demand);
-            if (actualVoltage == 0) {
-                return 0;
-            }
-            
-            // 计算实际传输的电流：取(机器电流, 可用EU/电压)的最小值
-            long actualAmperage = Math.min(amperage, amountEU / actualVoltage);
-            
-            // 调用格雷科技的接收方法
-            long acceptedAmperage = (Long) acceptEnergyMethod.invoke(container, side, actualVoltage, actualAmperage);
-            long transferredEU = actualVoltage * acceptedAmperage;
-            
-            if (transferredEU > 0) {
-                // 从自己的 AE2 网络实际提取对应的 FE
-                long actualExtractFE = transferredEU << 2;
-                AE2FluxIntegration.extractEnergyFromOwnNetwork(this, actualExtractFE, false);
-                return transferredEU;
+            switch (energySourceCache.type) {
+                case FLUX_NETWORKS:
+                    extracted = (Long) FLUX_EXTRACT_METHOD.invoke(source, amount, simulate);
+                    break;
+                case LONG_ENERGY:
+                    if (simulate && energySourceCache.demand != null) {
+                        return Math.min(amount, energySourceCache.demand.getSupplyL());
+                    }
+                    extracted = ((ILongEnergyStorage) source).extractEnergyL(amount, simulate);
+                    break;
+                case FORGE_ENERGY:
+                    extracted = ((IEnergyStorage) source).extractEnergy((int) Math.min(amount, Integer.MAX_VALUE), simulate);
+                    break;
+                default:
+                    return 0;
             }
         } catch (Exception e) {
-            // 传输失败
+            // 能量源调用失败，下次重新扫描
+            energySourceCache = null;
+            energyStats.dirty = true;
+            return 0;
+        }
+        if (!simulate && extracted > 0) {
+            // 快照随传输增量更新，不等下次刷新
+            energyStats.neighborStored = Math.max(0L, energyStats.neighborStored - extracted);
         }
-        return 0;
+        return extracted;
     }
     
     /**
-     * 使用 Flux Networks 接口向 GregTech 容器推送能量。
+     * 转发被动接收的能量（Flux Point、线缆等推入本塔时）。
+     * 同一 tick 内的多次推入共用一份转发计划，不重复遍历塔网络；
+     * 本 tick 已填满的设备在计划中标记，后续推入直接跳过。
+     *
+     * @return 实际接收并转发的能量
      */
-    private boolean pushFluxToGT(Object sourceFlux, Object container, Direction side,
-                                  long voltage, long amperage, long demand) {
-        try {
-            // 使用缓存的 Flux 方法
-            Method acceptEnergyMethod = container.getClass().getMethod("acceptEnergyFromNetwork", Direction.class, long.class, long.class);
-            
-            // 尝试提取尽可能多的能量（Long.MAX_VALUE）
-            long extractedFE = (Long) FLUX_EXTRACT_METHOD.invoke(sourceFlux, Long.MAX_VALUE, true);
-            if (extractedFE == 0) return false;
-            
-            // FE 转换为 EU (4 FE = 1 EU)
-            long amountEU = extractedFE >> 2;
-            
-            // 计算实际传输的电压：取(机器电压, 可用EU, 需求)的最小值
-            long actualVoltage = Math.min(Math.min(voltage, amountEU), demand);
-            if (actualVoltage == 0) return false;
-            
-            // 计算实际传输的电流：取(机器电流, 可用EU/电压)的最小值
-            long actualAmperage = Math.min(amperage, amountEU / actualVoltage);
+    private long forwardReceivedEnergy(long maxReceive, boolean simulate) {
+        if (level == null || maxReceive <= 0 || links.isEmpty()) return 0;
+        
+        ForwardingPlan plan = getForwardingPlan();
+        long totalInserted = 0;
+        for (int i = 0; i < plan.targets.length; i++) {
+            if (totalInserted >= maxReceive) break;
+            if (plan.saturated[i]) continue;
             
-            // 调用格雷科技的接收方法
-            long acceptedAmperage = (Long) acceptEnergyMethod.invoke(container, side, actualVoltage, actualAmperage);
-            long transferredEU = actualVoltage * acceptedAmperage;
+            WirelessEnergyTowerBlockEntity owner = plan.owners[i];
+            BlockEntity target = plan.targets[i];
+            if (owner.isRemoved() || target.isRemoved()) {
+                plan.saturated[i] = true;
+                continue;
+            }
             
-            if (transferredEU > 0) {
-                // 从Flux源实际提取对应的FE（使用缓存的方法）
-                long actualExtractFE = transferredEU << 2;
-                FLUX_EXTRACT_METHOD.invoke(sourceFlux, actualExtractFE, false);
-                return true;
+            long remaining = maxReceive - totalInserted;
+            long inserted = owner.pushEnergyToTargetDirect(target, remaining, simulate);
+            totalInserted += inserted;
+            if (!simulate && inserted < remaining) {
+                // 没有收下全部能量：本 tick 内视为已满
+                plan.saturated[i] = true;
             }
-        } catch (Exception e) {
-            // 传输失败
         }
-        return false;
+        if (!simulate && totalInserted > 0) {
+            // 需求快照随实际转发增量更新
+            energyStats.demand = Math.max(0L, energyStats.demand - totalInserted);
+        }
+        return totalInserted;
     }
-
+    
+    private ForwardingPlan getForwardingPlan() {
+        long now = level.getGameTime();
+        ForwardingPlan plan = forwardingPlan;
+        if (plan == null || plan.builtAt != now) {
+            plan = buildForwardingPlan(now);
+            forwardingPlan = plan;
+        }
+        return plan;
+    }
+    
     /**
-     * 尝试使用Long能量接口推送能量（主动模式）
-     * 优先使用Flux Networks接口
+     * 按广度优先顺序收集本塔转发能量可到达的普通设备（队列遍历，避免递归）。
+     * 本塔只转发给链接的设备（邻居通常就是推入方），下游塔还包括各自的邻居设备。
      */
-    private boolean tryPushLongEnergy(BlockEntity target) {
-        // 优先尝试Flux Networks接口（支持Long）
-        Object sourceFlux = getNeighborFluxEnergy();
-        if (sourceFlux != null) {
-            return pushFluxEnergy(sourceFlux, target);
-        }
+    private ForwardingPlan buildForwardingPlan(long now) {
+        List<WirelessEnergyTowerBlockEntity> owners = new ArrayList<>();
+        List<BlockEntity> targets = new ArrayList<>();
+        Set<BlockPos> visited = new HashSet<>();
+        ArrayDeque<WirelessEnergyTowerBlockEntity> towerQueue = new ArrayDeque<>();
+        visited.add(worldPosition);
+        collectLinkedConsumers(this, visited, towerQueue, owners, targets);
         
-        // 回退到自定义Long接口
-        ILongEnergyStorage sourceEnergy = getNeighborLongEnergy();
-        if (sourceEnergy == null) {
-            return false; // 没有Long能量源
-        }
-
-        // 检查目标是否支持Long能量接收
-        ILongEnergyStorage targetLongEnergy = null;
-        for (Direction dir : Direction.values()) {
-            try {
-                LazyOptional<ILongEnergyStorage> cap = target.getCapability(MEBFCapabilities.LONG_ENERGY_STORAGE, dir);
-                if (cap.isPresent()) {
-                    targetLongEnergy = cap.resolve().orElse(null);
-                    if (targetLongEnergy != null && targetLongEnergy.canReceive()) {
-                        break;
-                    }
-                    targetLongEnergy = null;
-                }
-            } catch (ClassCastException e) {
-                // 某些模组使用代理包装能力，跳过不兼容的实现
-                continue;
-            }
-        }
-
-        if (targetLongEnergy != null) {
-            // 双方都支持Long能量，进行超大值传输
-            long extracted = sourceEnergy.extractEnergyL(MAX_TRANSFER, true);
-            if (extracted > 0) {
-                long inserted = targetLongEnergy.receiveEnergyL(extracted, false);
-                if (inserted > 0) {
-                    sourceEnergy.extractEnergyL(inserted, false);
+        while (!towerQueue.isEmpty()) {
+            WirelessEnergyTowerBlockEntity tower = towerQueue.poll();
+            for (Direction dir : DIRECTIONS) {
+                BlockEntity neighborBE = level.getBlockEntity(tower.worldPosition.relative(dir));
+                if (neighborBE != null && !(neighborBE instanceof WirelessEnergyTowerBlockEntity)) {
+                    owners.add(tower);
+                    targets.add(neighborBE);
                 }
             }
-            return true;
+            collectLinkedConsumers(tower, visited, towerQueue, owners, targets);
         }
-
-        // 目标不支持Long能量，尝试标准能量接口
-        IEnergyStorage targetEnergy = null;
-        for (Direction dir : Direction.values()) {
-            try {
-                LazyOptional<IEnergyStorage> cap = target.getCapability(ForgeCapabilities.ENERGY, dir);
-                if (cap.isPresent()) {
-                    targetEnergy = cap.resolve().orElse(null);
-                    if (targetEnergy != null && targetEnergy.canReceive()) {
-                        break;
-                    }
-                    targetEnergy = null;
-                }
-            } catch (ClassCastException e) {
-                // 跳过不兼容的能力实现
-            }
-        }
-
-        if (targetEnergy != null) {
-            // 源支持Long，目标只支持int，每次最多传输Integer.MAX_VALUE
-            long extracted = sourceEnergy.extractEnergyL(Integer.MAX_VALUE, true);
-            if (extracted > 0) {
-                int inserted = targetEnergy.receiveEnergy((int) Math.min(extracted, Integer.MAX_VALUE), false);
-                if (inserted > 0) {
-                    sourceEnergy.extractEnergyL(inserted, false);
+        
+        return new ForwardingPlan(now, owners.toArray(new WirelessEnergyTowerBlockEntity[0]),
+                targets.toArray(new BlockEntity[0]));
+    }
+    
+    private void collectLinkedConsumers(WirelessEnergyTowerBlockEntity tower, Set<BlockPos> visited,
+                                        ArrayDeque<WirelessEnergyTowerBlockEntity> towerQueue,
+                                        List<WirelessEnergyTowerBlockEntity> owners, List<BlockEntity> targets) {
+        for (BlockPos targetPos : tower.activeLinks) {
+            BlockEntity targetBE = level.getBlockEntity(targetPos);
+            if (targetBE instanceof WirelessEnergyTowerBlockEntity targetTower) {
+                if (visited.add(targetTower.worldPosition)) {
+                    towerQueue.add(targetTower);
                 }
+            } else if (targetBE != null) {
+                owners.add(tower);
+                targets.add(targetBE);
             }
-            return true;
         }
-
-        return false;
+    }
+    
+    /**
+     * 直接推送能量到目标设备（用于能量分配）
+     * 返回实际插入的能量
+     * 支持超过INT_MAX的传输
+     * 后端按 {@link EnergyBackends} 的优先级解析并缓存（默认 Flux Networks > GregTech > Long接口 > 标准接口）
+     */
+    private long pushEnergyToTargetDirect(BlockEntity target, long amount, boolean simulate) {
+        if (level == null || amount <= 0) return 0;
+        
+        ResolvedTarget resolved = resolveTarget(target);
+        if (resolved.sink == null || resolved.isBackingOff(level.getGameTime())) return 0;
+        return insertInto(resolved, amount, simulate);
     }
     
     /**
@@ -961,19 +707,20 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
                 BlockEntity be = level.getBlockEntity(energySourceCache.position);
                 if (be != null && !be.isRemoved()) {
                     // 缓存仍然有效
+                    CacheMetrics.NEIGHBOR_SOURCE.hit();
                     return energySourceCache.energyHandler;
                 }
             }
             // 缓存失效，清空
             energySourceCache = null;
         }
+        CacheMetrics.NEIGHBOR_SOURCE.miss();
         
         // 初始化反射（如果尚未初始化）
         initFluxReflection();
-        initGTReflection();
         
         // 扫描邻居并建立缓存（按优先级：Flux > Long > Forge）
-        for (Direction dir : Direction.values()) {
+        for (Direction dir : DIRECTIONS) {
             BlockPos neighborPos = worldPosition.relative(dir);
             BlockEntity neighborBE = level.getBlockEntity(neighborPos);
             if (neighborBE == null || neighborBE == this || neighborBE instanceof WirelessEnergyTowerBlockEntity) {
@@ -982,7 +729,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
             
             // 优先级 1: Flux Networks（支持 Long，无限制）
             if (FLUX_CAPABILITY != null) {
-                LazyOptional<?> fluxCap = neighborBE.getCapability(FLUX_CAPABILITY, dir.getOpposite());
+                LazyOptional<?> fluxCap = lookupCapability(neighborBE, FLUX_CAPABILITY, dir.getOpposite());
                 if (fluxCap.isPresent()) {
                     Object storage = fluxCap.resolve().orElse(null);
                     if (storage != null) {
@@ -1003,7 +750,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
             
             // 优先级 2: Long Energy（支持超大值）
             try {
-                LazyOptional<ILongEnergyStorage> longCap = neighborBE.getCapability(MEBFCapabilities.LONG_ENERGY_STORAGE, dir.getOpposite());
+                LazyOptional<ILongEnergyStorage> longCap = lookupCapability(neighborBE, MEBFCapabilities.LONG_ENERGY_STORAGE, dir.getOpposite());
                 if (longCap.isPresent()) {
                     ILongEnergyStorage storage = longCap.resolve().orElse(null);
                     if (storage != null && storage.canExtract()) {
@@ -1012,6 +759,8 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
                         energySourceCache.position = neighborPos;
                         energySourceCache.energyHandler = storage;
                         energySourceCache.type = EnergySourceType.LONG_ENERGY;
+                        energySourceCache.demand = lookupCapability(neighborBE, MEBFCapabilities.LONG_ENERGY_DEMAND, dir.getOpposite())
+                                .resolve().orElse(null);
                         energySourceCache.lastValidatedTick = currentTick;
                         return storage;
                     }
@@ -1020,7 +769,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
             
             // 优先级 3: 标准 Forge Energy
             try {
-                LazyOptional<IEnergyStorage> forgeCap = neighborBE.getCapability(ForgeCapabilities.ENERGY, dir.getOpposite());
+                LazyOptional<IEnergyStorage> forgeCap = lookupCapability(neighborBE, ForgeCapabilities.ENERGY, dir.getOpposite());
                 if (forgeCap.isPresent()) {
                     IEnergyStorage storage = forgeCap.resolve().orElse(null);
                     if (storage != null && storage.canExtract()) {
@@ -1031,169 +780,28 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
                         energySourceCache.type = EnergySourceType.FORGE_ENERGY;
                         energySourceCache.lastValidatedTick = currentTick;
                         return storage;
-                    }
-                }
-            } catch (Exception ignored) {}
-        }
-        
-        return null;
-    }
-    
-    /**
-     * 从邻居获取Flux Networks能量接口（使用缓存）
-     */
-    private Object getNeighborFluxEnergy() {
-        Object cached = getNeighborEnergySourceCached();
-        if (cached != null && energySourceCache != null && energySourceCache.type == EnergySourceType.FLUX_NETWORKS) {
-            return cached;
-        }
-        return null;
-    }
-    
-    /**
-     * 使用 Flux Networks 接口推送能量。
-     */
-    private boolean pushFluxEnergy(Object sourceFlux, BlockEntity target) {
-        if (FLUX_CAPABILITY == null) return false; // Flux 未安装
-        
-        try {
-            // 尝试获取目标的Flux接口
-            Object targetFlux = null;
-            for (Direction dir : Direction.values()) {
-                LazyOptional<?> cap = target.getCapability(FLUX_CAPABILITY, dir);
-                if (cap.isPresent()) {
-                    targetFlux = cap.resolve().orElse(null);
-                    if (targetFlux != null) {
-                        if ((Boolean) FLUX_CAN_RECEIVE_METHOD.invoke(targetFlux)) {
-                            break;
-                        }
-                        targetFlux = null;
-                    }
-                }
-            }
-            
-            if (targetFlux != null) {
-                // 双方都支持Flux，使用Long传输（使用缓存的方法）
-                long extracted = (Long) FLUX_EXTRACT_METHOD.invoke(sourceFlux, Long.MAX_VALUE, true);
-                if (extracted > 0) {
-                    // 向目标插入能量（实际）
-                    long inserted = (Long) FLUX_RECEIVE_METHOD.invoke(targetFlux, extracted, false);
-                    if (inserted > 0) {
-                        // 从源实际提取能量
-                        FLUX_EXTRACT_METHOD.invoke(sourceFlux, inserted, false);
-                        return true;
-                    }
-                }
-            } else {
-                // 目标不支持Flux，尝试标准接口
-                IEnergyStorage targetEnergy = null;
-                for (Direction dir : Direction.values()) {
-                    try {
-                        LazyOptional<IEnergyStorage> cap = target.getCapability(ForgeCapabilities.ENERGY, dir);
-                        if (cap.isPresent()) {
-                            targetEnergy = cap.resolve().orElse(null);
-                            if (targetEnergy != null && targetEnergy.canReceive()) {
-                                break;
-                            }
-                            targetEnergy = null;
-                        }
-                    } catch (ClassCastException e) {
-                        // 跳过不兼容的能力实现
-                    }
-                }
-                
-                if (targetEnergy != null) {
-                    // 源支持Flux Long，目标只支持int（使用缓存的方法）
-                    long extracted = (Long) FLUX_EXTRACT_METHOD.invoke(sourceFlux, (long) Integer.MAX_VALUE, true);
-                    if (extracted > 0) {
-                        int inserted = targetEnergy.receiveEnergy((int) Math.min(extracted, Integer.MAX_VALUE), false);
-                        if (inserted > 0) {
-                            FLUX_EXTRACT_METHOD.invoke(sourceFlux, (long) inserted, false);
-                            return true;
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // 静默失败
-        }
-        return false;
-    }
-    
-    /**
-     * 从邻居获取Long能量存储（使用缓存）
-     */
-    private ILongEnergyStorage getNeighborLongEnergy() {
-        Object cached = getNeighborEnergySourceCached();
-        if (cached instanceof ILongEnergyStorage) {
-            return (ILongEnergyStorage) cached;
-        }
-        return null;
-    }
-
-    /**
-     * 使用标准Forge Energy推送能量（回退方案，主动模式）
-     */
-    private void tryPushForgeEnergy(BlockEntity target) {
-        // 从邻居获取能量源（标准接口）
-        IEnergyStorage sourceEnergy = getNeighborForgeEnergy();
-        if (sourceEnergy == null) return;
-
-        // 获取目标的能量存储
-        IEnergyStorage targetEnergy = null;
-        for (Direction dir : Direction.values()) {
-            try {
-                LazyOptional<IEnergyStorage> cap = target.getCapability(ForgeCapabilities.ENERGY, dir);
-                if (cap.isPresent()) {
-                    targetEnergy = cap.resolve().orElse(null);
-                    if (targetEnergy != null && targetEnergy.canReceive()) {
-                        break;
-                    }
-                    targetEnergy = null;
-                }
-            } catch (ClassCastException e) {
-                // 跳过不兼容的能力实现
-            }
-        }
-
-        if (targetEnergy == null) return;
-
-        // 从能量源提取能量，主动推送给目标
-        // 注意：即使内部使用long，向标准机器推送时也限制为Integer.MAX_VALUE
-        int extracted = sourceEnergy.extractEnergy(Integer.MAX_VALUE, true);
-        if (extracted > 0) {
-            // 主动推送到目标机器
-            int inserted = targetEnergy.receiveEnergy(extracted, false);
-            if (inserted > 0) {
-                // 实际从源提取能量
-                sourceEnergy.extractEnergy(inserted, false);
-            }
-        }
-    }
-    
-    /**
-     * 从邻居获取标准Forge能量存储（使用缓存）
-     */
-    private IEnergyStorage getNeighborForgeEnergy() {
-        Object cached = getNeighborEnergySourceCached();
-        if (cached instanceof IEnergyStorage) {
-            return (IEnergyStorage) cached;
+                    }
+                }
+            } catch (Exception ignored) {}
         }
+        
         return null;
     }
-
+    
     /**
      * 添加连接
      */
     public void addLink(BlockPos other) {
         if (other.equals(this.getBlockPos())) return;
         if (this.links.add(other)) {
+            this.activeLinks.add(other);
+            this.forwardingPlan = null;
             this.setChanged();
             // 立即同步到客户端（用于渲染）
             if (level != null && !level.isClientSide) {
-                this.lastSyncedLinks.clear();
-                this.lastSyncedLinks.addAll(this.links);
-                this.markForUpdate();
+                WirelessEnergyNetwork.getInstance().onLinksChanged(this);
+                this.updateSyncedLinks(this.links);
+                recordTopology();
             }
         }
     }
@@ -1203,13 +811,64 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
      */
     public void removeLink(BlockPos other) {
         if (this.links.remove(other)) {
+            this.activeLinks.remove(other);
+            this.dormantLinks.remove(other);
+            this.resolvedTargets.remove(other);
+            this.forwardingPlan = null;
             this.setChanged();
             // 立即同步到客户端（用于渲染）
             if (level != null && !level.isClientSide) {
-                this.lastSyncedLinks.clear();
-                this.lastSyncedLinks.addAll(this.links);
-                this.markForUpdate();
+                WirelessEnergyNetwork.getInstance().onLinksChanged(this);
+                this.updateSyncedLinks(this.links);
+                recordTopology();
+            }
+        }
+    }
+
+    /**
+     * 设置链接的休眠状态（目标区块卸载/加载时由 WirelessEnergyNetwork 调用）。
+     *
+     * @return 状态是否发生变化
+     */
+    public boolean setLinkDormant(BlockPos target, boolean dormant) {
+        if (!this.links.contains(target)) {
+            return false;
+        }
+        if (dormant) {
+            if (this.dormantLinks.add(target)) {
+                this.activeLinks.remove(target);
+                return true;
             }
+        } else if (this.dormantLinks.remove(target)) {
+            this.activeLinks.add(target);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 获取目标区块已加载的连接
+     */
+    @Override
+    public Set<BlockPos> getActiveLinks() {
+        return activeLinksView;
+    }
+
+    @Override
+    public boolean isDetached() {
+        return isRemoved() || level == null;
+    }
+
+    public int getDormantLinkCount() {
+        return dormantLinks.size();
+    }
+
+    /**
+     * 把当前链接写入维度拓扑（内容未变化时不会标脏）。
+     */
+    private void recordTopology() {
+        if (level instanceof ServerLevel serverLevel) {
+            NetworkTopology.get(serverLevel).setTowerLinks(getBlockPos(), this.links);
         }
     }
 
@@ -1223,74 +882,96 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     /**
      * 获取客户端连接列表（用于渲染）
      */
-    public List<BlockPos> getClientLinks() {
-        return clientLinks;
+    public Collection<BlockPos> getClientLinks() {
+        return clientLinksView;
     }
     
     @Override
     protected void writeToStream(FriendlyByteBuf data) {
         super.writeToStream(data);
-        // 同步当前连接目标集合
-        data.writeVarInt(this.lastSyncedLinks.size());
-        for (BlockPos p : this.lastSyncedLinks) {
-            data.writeBlockPos(p);
-        }
+        // 连接列表本身通过 TowerLinksPacket 增量同步，这里只带版本号
+        data.writeVarInt(this.linkSyncVersion);
     }
 
     @Override
     protected boolean readFromStream(FriendlyByteBuf data) {
         boolean changed = super.readFromStream(data);
-        int n = data.readVarInt();
-        List<BlockPos> list = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) {
-            list.add(data.readBlockPos());
+        int version = data.readVarInt();
+        if (this.clientSubscribed && version != this.clientLinkVersion) {
+            // 错过了增量，向服务端请求全量
+            requestLinkResync();
         }
-        boolean linksChanged = !list.equals(this.clientLinks);
-        this.clientLinks = list;
-        return changed || linksChanged;
+        return changed;
     }
 
     @Override
     public void saveAdditional(CompoundTag tag) {
         super.saveAdditional(tag);
-        ListTag list = new ListTag();
-        for (BlockPos p : this.links) {
-            CompoundTag t = new CompoundTag();
-            t.putInt("x", p.getX());
-            t.putInt("y", p.getY());
-            t.putInt("z", p.getZ());
-            list.add(t);
+        LinkTags.write(tag, this.links);
+        if (this.pulseInterval > 1) {
+            tag.putInt(TAG_PULSE_INTERVAL, this.pulseInterval);
+        }
+        if (this.pulseBuffer > 0) {
+            tag.putLong(TAG_PULSE_BUFFER, this.pulseBuffer);
         }
-        tag.put("links", list);
     }
 
     @Override
     public void loadTag(CompoundTag tag) {
         super.loadTag(tag);
         this.links.clear();
-        if (tag.contains("links", Tag.TAG_LIST)) {
-            ListTag list = tag.getList("links", Tag.TAG_COMPOUND);
-            for (int i = 0; i < list.size(); i++) {
-                CompoundTag t = list.getCompound(i);
-                BlockPos pos = new BlockPos(t.getInt("x"), t.getInt("y"), t.getInt("z"));
-                this.links.add(pos);
+        LinkTags.read(tag, this.links);
+        this.activeLinks.clear();
+        this.activeLinks.addAll(this.links);
+        this.dormantLinks.clear();
+        this.pulseInterval = tag.contains(TAG_PULSE_INTERVAL)
+                ? Mth.clamp(tag.getInt(TAG_PULSE_INTERVAL), 1, MAX_PULSE_INTERVAL)
+                : 1;
+        this.pulseBuffer = Math.max(0L, tag.getLong(TAG_PULSE_BUFFER));
+    }
+
+    /**
+     * 脉冲间隔（tick），1 表示每 tick 传输。
+     */
+    @Override
+    public int getPulseInterval() {
+        return pulseInterval;
+    }
+
+    public void setPulseInterval(int interval) {
+        int clamped = Mth.clamp(interval, 1, MAX_PULSE_INTERVAL);
+        if (clamped != this.pulseInterval) {
+            this.pulseInterval = clamped;
+            this.setChanged();
+        }
+    }
+
+    /**
+     * 切换到下一档脉冲间隔（绑定工具使用），返回新的间隔。
+     */
+    public int cyclePulseInterval() {
+        int next = PULSE_INTERVAL_STEPS[0];
+        for (int step : PULSE_INTERVAL_STEPS) {
+            if (step > this.pulseInterval) {
+                next = step;
+                break;
             }
         }
+        setPulseInterval(next);
+        return this.pulseInterval;
     }
 
     @Override
     public @NotNull <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side) {
         if (!isRemoved()) {
-            final int index = side == null ? 0 : side.get3DDataValue() + 1;
-            
             // 检查是否为Flux Networks的能力 - 只在明确请求时返回
             if (isFluxEnergyCapability(cap)) {
-                LazyOptional<?> handler = fluxEnergyCaps[index];
+                LazyOptional<?> handler = fluxEnergyCap;
                 if (handler == null) {
-                    Object fluxAdapter = createFluxEnergyAdapter(side);
+                    Object fluxAdapter = createFluxEnergyAdapter();
                     if (fluxAdapter != null) {
                         handler = LazyOptional.of(() -> fluxAdapter);
-                        fluxEnergyCaps[index] = handler;
+                        fluxEnergyCap = handler;
                     }
                 }
                 if (handler != null) {
@@ -1298,26 +979,25 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
                 }
             }
             
-            // 标准能量能力 - 返回支持多接口的通用能量存储（兼容AppliedFlux）
-            if (cap == ForgeCapabilities.ENERGY) {
-                // 返回同时支持 IEnergyStorage 和 IFNEnergyStorage 的代理对象
-                // 防止 AppliedFlux 尝试强制转换时崩溃
-                LazyOptional<?> handler = forgeEnergyCaps[index];
+            // 标准能量能力与 Long 能量能力 - 返回支持多接口的通用能量存储（兼容AppliedFlux）
+            // 同一个代理同时实现 IEnergyStorage 和 IFNEnergyStorage，防止 AppliedFlux 尝试强制转换时崩溃
+            if (cap == ForgeCapabilities.ENERGY || cap == MEBFCapabilities.LONG_ENERGY_STORAGE) {
+                LazyOptional<?> handler = energyCap;
                 if (handler == null) {
-                    Object storage = createUniversalEnergyStorage(side);
+                    Object storage = createUniversalEnergyStorage();
                     handler = LazyOptional.of(() -> storage);
-                    forgeEnergyCaps[index] = handler;
+                    energyCap = handler;
                 }
                 return handler.cast();
             }
             
-            // Long 能量能力
-            if (cap == MEBFCapabilities.LONG_ENERGY_STORAGE) {
-                LazyOptional<?> handler = longEnergyCaps[index];
+            // 需求/供给查询能力
+            if (cap == MEBFCapabilities.LONG_ENERGY_DEMAND) {
+                LazyOptional<?> handler = longDemandCap;
                 if (handler == null) {
-                    Object storage = createUniversalEnergyStorage(side);
+                    TowerEnergyStorage storage = getEnergyStorage();
                     handler = LazyOptional.of(() -> storage);
-                    longEnergyCaps[index] = handler;
+                    longDemandCap = handler;
                 }
                 return handler.cast();
             }
@@ -1325,6 +1005,18 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         return super.getCapability(cap, side);
     }
     
+    /**
+     * 本塔共用的能量适配器（无状态，所有方向共享）。
+     */
+    private TowerEnergyStorage getEnergyStorage() {
+        TowerEnergyStorage storage = energyStorage;
+        if (storage == null) {
+            storage = new TowerEnergyStorage();
+            energyStorage = storage;
+        }
+        return storage;
+    }
+    
     /**
      * 判断是否为 Flux Networks 能量能力。
      */
@@ -1336,8 +1028,8 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     /**
      * 创建同时支持 IEnergyStorage/ILongEnergyStorage/IFNEnergyStorage 的代理（兼容 AppliedFlux）。
      */
-    private Object createUniversalEnergyStorage(Direction side) {
-        TowerEnergyStorage baseStorage = new TowerEnergyStorage(side);
+    private Object createUniversalEnergyStorage() {
+        TowerEnergyStorage baseStorage = getEnergyStorage();
         
         initFluxReflection(); // 确保已初始化
         
@@ -1405,14 +1097,14 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     /**
      * 创建Flux Networks能量适配器（使用动态代理）
      */
-    private Object createFluxEnergyAdapter(Direction side) {
+    private Object createFluxEnergyAdapter() {
         try {
             Class<?> interfaceClass = Class.forName("sonar.fluxnetworks.api.energy.IFNEnergyStorage");
             
             return java.lang.reflect.Proxy.newProxyInstance(
                 interfaceClass.getClassLoader(),
                 new Class<?>[]{interfaceClass},
-                (proxy, method, args) -> handleFluxMethod(method.getName(), args, side)
+                (proxy, method, args) -> handleFluxMethod(method.getName(), args)
             );
         } catch (Exception e) {
             return null;
@@ -1422,7 +1114,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     /**
      * 处理Flux Networks接口方法调用
      */
-    private Object handleFluxMethod(String methodName, Object[] args, Direction side) {
+    private Object handleFluxMethod(String methodName, Object[] args) {
         switch (methodName) {
             case "extractEnergyL":
                 return handleExtractEnergyL(args);
@@ -1449,33 +1141,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         long maxReceive = (Long) args[0];
         boolean simulate = (Boolean) args[1];
         
-        if (maxReceive <= 0 || level == null || links.isEmpty()) return 0L;
-        
-        long totalInserted = 0;
-        
-        // 将能量分配给所有绑定的目标
-        for (BlockPos targetPos : new HashSet<>(links)) {
-            if (totalInserted >= maxReceive) break;
-            
-            BlockEntity targetBE = level.getBlockEntity(targetPos);
-            if (targetBE == null) continue;
-            
-            long remaining = maxReceive - totalInserted;
-            
-            // 特殊处理：如果目标是另一个感应塔
-            if (targetBE instanceof WirelessEnergyTowerBlockEntity targetTower) {
-                Set<BlockPos> visited = new HashSet<>();
-                visited.add(worldPosition);
-                long inserted = targetTower.receiveEnergyFromTower(remaining, simulate, visited);
-                totalInserted += inserted;
-            } else {
-                // 直接推送给普通设备
-                long inserted = pushEnergyToTargetDirect(targetBE, remaining, simulate);
-                totalInserted += inserted;
-            }
-        }
-        
-        return totalInserted;
+        return forwardReceivedEnergy(maxReceive, simulate);
     }
     
     /**
@@ -1495,51 +1161,11 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     
     /**
      * 获取最大能量存储量（Flux Networks接口）
-     * 返回目标设备的总容量作为参考
+     * 塔不储能，有链接时返回一个大值，让 Flux 网络持续向塔推送
      */
     private long getFluxMaxEnergyStoredL() {
         if (level == null || links.isEmpty()) return 0L;
-        
-        long totalCapacity = 0;
-        for (BlockPos targetPos : new HashSet<>(links)) {
-            BlockEntity targetBE = level.getBlockEntity(targetPos);
-            if (targetBE == null) continue;
-            
-            // 尝试获取目标的最大容量
-            for (Direction dir : Direction.values()) {
-                try {
-                    // 优先尝试Flux Networks接口
-                    long fluxMax = tryGetFluxMaxEnergyStored(targetBE, dir);
-                    if (fluxMax > 0) {
-                        totalCapacity += fluxMax;
-                        break;
-                    }
-                    
-                    // 尝试Long接口
-                    LazyOptional<ILongEnergyStorage> longCap = targetBE.getCapability(MEBFCapabilities.LONG_ENERGY_STORAGE, dir);
-                    if (longCap.isPresent()) {
-                        ILongEnergyStorage storage = longCap.resolve().orElse(null);
-                        if (storage != null) {
-                            totalCapacity += storage.getMaxEnergyStoredL();
-                            break;
-                        }
-                    }
-                    
-                    // 回退到标准接口
-                    LazyOptional<IEnergyStorage> normalCap = targetBE.getCapability(ForgeCapabilities.ENERGY, dir);
-                    if (normalCap.isPresent()) {
-                        IEnergyStorage storage = normalCap.resolve().orElse(null);
-                        if (storage != null) {
-                            totalCapacity += storage.getMaxEnergyStored();
-                            break;
-                        }
-                    }
-                } catch (Exception ignored) {
-                }
-            }
-        }
-        
-        return Math.max(totalCapacity, Long.MAX_VALUE / 2); // 返回目标总容量，至少返回一个大值
+        return Long.MAX_VALUE / 2;
     }
     
     /**
@@ -1553,7 +1179,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         if (maxExtract <= 0 || level == null) return 0L;
         
         // 尝试从邻居提取（优先Flux Networks接口）
-        for (Direction dir : Direction.values()) {
+        for (Direction dir : DIRECTIONS) {
             BlockPos neighborPos = worldPosition.relative(dir);
             BlockEntity neighborBE = level.getBlockEntity(neighborPos);
             if (neighborBE != null && neighborBE != this) {
@@ -1579,7 +1205,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         if (FLUX_CAPABILITY == null) return 0L; // Flux 未安装
         
         try {
-            LazyOptional<?> cap = be.getCapability(FLUX_CAPABILITY, side.getOpposite());
+            LazyOptional<?> cap = lookupCapability(be, FLUX_CAPABILITY, side.getOpposite());
             if (cap.isPresent()) {
                 Object storage = cap.resolve().orElse(null);
                 if (storage != null) {
@@ -1592,104 +1218,118 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     }
     
     /**
-     * 获取邻居的能量存储量
+     * 获取邻居的能量存储量（读取快照）
      */
     private long getNeighborEnergyStoredL() {
-        if (level == null) return 0L;
-        
-        for (Direction dir : Direction.values()) {
-            BlockPos neighborPos = worldPosition.relative(dir);
-            BlockEntity neighborBE = level.getBlockEntity(neighborPos);
-            if (neighborBE != null && neighborBE != this) {
-                long stored = tryGetFluxEnergyStored(neighborBE, dir);
-                if (stored > 0) return stored;
-                
-                IEnergyStorage storage = getForgeEnergyStorage(neighborBE, dir.getOpposite());
-                if (storage != null) {
-                    return storage.getEnergyStored();
-                }
-            }
-        }
-        return 0L;
+        EnergyStats stats = readEnergyStats();
+        return stats.neighborFound ? stats.neighborStored : 0L;
     }
     
     /**
-     * 获取邻居的最大能量存储量
+     * 获取邻居的最大能量存储量（读取快照）
      */
     private long getNeighborMaxEnergyStoredL() {
-        if (level == null) return Long.MAX_VALUE;
-        
-        for (Direction dir : Direction.values()) {
-            BlockPos neighborPos = worldPosition.relative(dir);
-            BlockEntity neighborBE = level.getBlockEntity(neighborPos);
-            if (neighborBE != null && neighborBE != this) {
-                long max = tryGetFluxMaxEnergyStored(neighborBE, dir);
-                if (max > 0) return max;
-                
-                IEnergyStorage storage = getForgeEnergyStorage(neighborBE, dir.getOpposite());
-                if (storage != null) {
-                    return storage.getMaxEnergyStored();
-                }
-            }
-        }
-        return Long.MAX_VALUE;
+        EnergyStats stats = readEnergyStats();
+        return stats.neighborFound ? stats.neighborMax : Long.MAX_VALUE;
     }
     
     /**
-     * 检查邻居是否可以提取能量
+     * 检查邻居是否可以提取能量（读取快照）
      */
     private boolean canNeighborExtract() {
-        if (level == null) return false;
-        
-        for (Direction dir : Direction.values()) {
-            BlockPos neighborPos = worldPosition.relative(dir);
-            BlockEntity neighborBE = level.getBlockEntity(neighborPos);
-            if (neighborBE != null && neighborBE != this) {
-                IEnergyStorage storage = getForgeEnergyStorage(neighborBE, dir.getOpposite());
-                if (storage != null && storage.canExtract()) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return readEnergyStats().neighborCanExtract;
     }
     
     /**
-     * 尝试获取 Flux Networks 的能量存储量。
+     * 返回快照并登记本塔的快照有人读取，不查询任何能力（任意线程可调用）。
      */
-    private long tryGetFluxEnergyStored(BlockEntity be, Direction side) {
-        if (FLUX_CAPABILITY == null) return 0L; // Flux 未安装
+    private EnergyStats readEnergyStats() {
+        EnergyStats stats = this.energyStats;
+        stats.requested = true;
+        return stats;
+    }
+
+    /**
+     * 由无线能源网络在处理本塔时调用：自上次刷新后快照被读取过才重新查询，
+     * 同一 tick 内只查询一次（邻居能量源失效时除外）。两次刷新之间的读取看到的值随实际传输增量更新。
+     */
+    public void refreshEnergyStats(long gameTime) {
+        if (level == null || level.isClientSide) return;
+        EnergyStats stats = this.energyStats;
+        if (!stats.requested || (!stats.dirty && stats.refreshedAt == gameTime)) {
+            return;
+        }
+        stats.requested = false;
+        stats.dirty = false;
+        stats.refreshedAt = gameTime;
         
-        try {
-            LazyOptional<?> cap = be.getCapability(FLUX_CAPABILITY, side.getOpposite());
-            if (cap.isPresent()) {
-                Object storage = cap.resolve().orElse(null);
-                if (storage != null) {
-                    return (Long) FLUX_GET_ENERGY_STORED_METHOD.invoke(storage);
-                }
-            }
-        } catch (Exception ignored) {
+        initFluxReflection();
+        refreshNeighborStats(stats);
+        if (stats.demandRequested) {
+            stats.demandRequested = false;
+            // 需求要模拟整个转发计划，只为查询过 getDemandL 的塔计算
+            stats.demand = forwardReceivedEnergy(Long.MAX_VALUE, true);
         }
-        return 0L;
     }
     
     /**
-     * 尝试获取 Flux Networks 的最大能量存储量。
+     * 扫描邻居能量存储（按优先级：Flux > Long > Forge），跳过其他感应塔。
      */
-    private long tryGetFluxMaxEnergyStored(BlockEntity be, Direction side) {
-        if (FLUX_CAPABILITY == null) return 0L; // Flux 未安装
+    private void refreshNeighborStats(EnergyStats stats) {
+        stats.neighborFound = false;
+        stats.neighborStored = 0L;
+        stats.neighborMax = 0L;
+        stats.neighborCanExtract = false;
         
-        try {
-            LazyOptional<?> cap = be.getCapability(FLUX_CAPABILITY, side.getOpposite());
-            if (cap.isPresent()) {
-                Object storage = cap.resolve().orElse(null);
+        for (Direction dir : DIRECTIONS) {
+            BlockPos neighborPos = worldPosition.relative(dir);
+            // 不为读取快照触发相邻区块加载
+            if (!level.isLoaded(neighborPos)) {
+                continue;
+            }
+            BlockEntity neighborBE = level.getBlockEntity(neighborPos);
+            if (neighborBE == null || neighborBE == this || neighborBE instanceof WirelessEnergyTowerBlockEntity) {
+                continue;
+            }
+            
+            if (FLUX_CAPABILITY != null) {
+                try {
+                    LazyOptional<?> fluxCap = lookupCapability(neighborBE, FLUX_CAPABILITY, dir.getOpposite());
+                    Object storage = fluxCap.resolve().orElse(null);
+                    if (storage != null) {
+                        stats.neighborFound = true;
+                        stats.neighborStored = (Long) FLUX_GET_ENERGY_STORED_METHOD.invoke(storage);
+                        stats.neighborMax = (Long) FLUX_GET_MAX_ENERGY_STORED_METHOD.invoke(storage);
+                        stats.neighborCanExtract = (Boolean) FLUX_CAN_EXTRACT_METHOD.invoke(storage);
+                        return;
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+            
+            try {
+                LazyOptional<ILongEnergyStorage> longCap = lookupCapability(neighborBE, MEBFCapabilities.LONG_ENERGY_STORAGE, dir.getOpposite());
+                ILongEnergyStorage storage = longCap.resolve().orElse(null);
                 if (storage != null) {
-                    return (Long) FLUX_GET_MAX_ENERGY_STORED_METHOD.invoke(storage);
+                    stats.neighborFound = true;
+                    stats.neighborStored = storage.getEnergyStoredL();
+                    stats.neighborMax = storage.getMaxEnergyStoredL();
+                    stats.neighborCanExtract = storage.canExtract();
+                    return;
                 }
+            } catch (ClassCastException e) {
+                // 跳过不兼容的能力实现
+            }
+            
+            IEnergyStorage storage = getForgeEnergyStorage(neighborBE, dir.getOpposite());
+            if (storage != null) {
+                stats.neighborFound = true;
+                stats.neighborStored = storage.getEnergyStored();
+                stats.neighborMax = storage.getMaxEnergyStored();
+                stats.neighborCanExtract = storage.canExtract();
+                return;
             }
-        } catch (Exception ignored) {
         }
-        return 0L;
     }
     
     /**
@@ -1697,7 +1337,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
      */
     private IEnergyStorage getForgeEnergyStorage(BlockEntity be, Direction side) {
         try {
-            LazyOptional<IEnergyStorage> cap = be.getCapability(ForgeCapabilities.ENERGY, side);
+            LazyOptional<IEnergyStorage> cap = lookupCapability(be, ForgeCapabilities.ENERGY, side);
             return cap.resolve().orElse(null);
         } catch (ClassCastException e) {
             // 跳过不兼容的能力实现
@@ -1706,15 +1346,139 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     }
     
     /**
-     * 能量适配器，将邻居的能量存储包装为支持Long的接口
+     * 网络 tick 与塔网络分配看到的维度：链接目标为方块实体，能量来源依次为塔所在的 AE2 网络(appflux)与邻居能量源，
+     * 普通设备的插入经塔的后端缓存与退避状态。由 WirelessEnergyNetwork 为每个维度创建一个。
      */
-    private class TowerEnergyStorage implements IEnergyStorage, ILongEnergyStorage {
+    public static final class NetworkGraph implements EnergyRouter.Graph<WirelessEnergyTowerBlockEntity, BlockEntity> {
+        private static final int SOURCE_AE2 = 0;
+        private static final int SOURCE_NEIGHBOR = 1;
+        private static final int SOURCE_COUNT = 2;
+
+        private final Level level;
+
+        public NetworkGraph(Level level) {
+            this.level = level;
+        }
+
+        @Override
         @Nullable
-        private final Direction side;
-        
-        public TowerEnergyStorage(@Nullable Direction side) {
-            this.side = side;
+        public BlockEntity targetAt(BlockPos pos) {
+            return level.getBlockEntity(pos);
+        }
+
+        @Override
+        @Nullable
+        public WirelessEnergyTowerBlockEntity asTower(BlockEntity target) {
+            return target instanceof WirelessEnergyTowerBlockEntity tower ? tower : null;
+        }
+
+        @Override
+        @Nullable
+        public RoutingPlan plan() {
+            return WirelessEnergyNetwork.getInstance().getRoutingPlan(level);
+        }
+
+        @Override
+        public int sourceCount(WirelessEnergyTowerBlockEntity tower) {
+            return SOURCE_COUNT;
+        }
+
+        @Override
+        public long extract(WirelessEnergyTowerBlockEntity tower, int source, long amount, boolean simulate) {
+            if (source == SOURCE_AE2) {
+                return AE2FluxIntegration.isAvailable() ? tower.extractFromOwnAE2Network(amount, simulate) : 0L;
+            }
+            return source == SOURCE_NEIGHBOR ? tower.extractFromNeighbor(amount, simulate) : 0L;
+        }
+
+        @Override
+        public boolean accepts(WirelessEnergyTowerBlockEntity owner, BlockEntity target) {
+            ResolvedTarget resolved = owner.resolveTarget(target);
+            return resolved.sink != null && !resolved.isBackingOff(level.getGameTime());
+        }
+
+        @Override
+        public long insert(WirelessEnergyTowerBlockEntity owner, BlockEntity target, long amount, boolean simulate) {
+            return owner.pushEnergyToTargetDirect(target, amount, simulate);
+        }
+
+        @Override
+        public long insertIntoNeighbors(WirelessEnergyTowerBlockEntity owner, WirelessEnergyTowerBlockEntity tower,
+                                        long amount, boolean simulate) {
+            long inserted = 0;
+            for (Direction dir : DIRECTIONS) {
+                if (inserted >= amount) break;
+
+                BlockEntity neighborBE = level.getBlockEntity(tower.worldPosition.relative(dir));
+                if (neighborBE != null && !(neighborBE instanceof WirelessEnergyTowerBlockEntity)) {
+                    inserted += owner.pushEnergyToTargetDirect(neighborBE, amount - inserted, simulate);
+                }
+            }
+            return inserted;
+        }
+
+        @Override
+        public long getPulseBuffer(WirelessEnergyTowerBlockEntity tower) {
+            return tower.pulseBuffer;
+        }
+
+        @Override
+        public void drainPulseBuffer(WirelessEnergyTowerBlockEntity tower, long delivered) {
+            tower.pulseBuffer -= delivered;
+            tower.setChanged();
+        }
+
+        @Override
+        public void beforePush(WirelessEnergyTowerBlockEntity tower, int passes) {
+            tower.fillPulseBuffer(passes);
+        }
+
+        @Override
+        public boolean onMissingTargets(WirelessEnergyTowerBlockEntity tower, List<BlockPos> missing) {
+            boolean dormancyChanged = false;
+            for (BlockPos targetPos : missing) {
+                if (!level.hasChunkAt(targetPos)) {
+                    // 未收到卸载事件的兜底：保留链接，转为休眠
+                    dormancyChanged |= tower.setLinkDormant(targetPos, true);
+                } else if (!level.getBlockState(targetPos).hasBlockEntity()) {
+                    // 目标方块确实已被破坏（removeLink 经 onLinksChanged 标脏邻接）
+                    tower.removeLink(targetPos);
+                }
+                // 方块仍在但方块实体尚未就绪：保留链接，下个 tick 再试，邻接不变
+            }
+            return dormancyChanged;
+        }
+
+        @Override
+        public void afterPush(WirelessEnergyTowerBlockEntity tower) {
+            // 传输之后刷新对外快照（仅在被读取过时查询能力），getter 本身不再查询
+            tower.refreshEnergyStats(level.getGameTime());
+            tower.sweepResolvedTargets(level.getGameTime());
+        }
+
+        @Override
+        public void process(WirelessEnergyTowerBlockEntity tower, Consumer<WirelessEnergyTowerBlockEntity> processor) {
+            Consumer<WirelessEnergyTowerBlockEntity> recorded = JfrEvents.isTowerTickEnabled()
+                    ? t -> JfrEvents.recordTowerTick(t, processor)
+                    : processor;
+            if (NetworkProfiler.isActive()) {
+                NetworkProfiler.profileTower(tower, recorded);
+            } else {
+                recorded.accept(tower);
+            }
+        }
+
+        @Override
+        public Level level() {
+            return level;
         }
+    }
+
+    /**
+     * 能量适配器，将邻居的能量存储包装为支持Long的接口
+     * 行为与查询方向无关，每座塔只创建一个实例
+     */
+    private class TowerEnergyStorage implements IEnergyStorage, ILongEnergyStorage, ILongEnergyDemand {
         
         /**
          * 获取邻居的能量存储（优先Long接口）
@@ -1724,7 +1488,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
             if (level == null) return null;
             
             // 检查所有方向的邻居
-            for (Direction dir : Direction.values()) {
+            for (Direction dir : DIRECTIONS) {
                 BlockPos neighborPos = worldPosition.relative(dir);
                 BlockEntity neighborBE = level.getBlockEntity(neighborPos);
                 // 跳过自己和其他无线能源感应塔（避免无限递归）
@@ -1732,7 +1496,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
                         && !(neighborBE instanceof WirelessEnergyTowerBlockEntity)) {
                     // 优先尝试Long能量接口
                     try {
-                        LazyOptional<ILongEnergyStorage> longCap = neighborBE.getCapability(MEBFCapabilities.LONG_ENERGY_STORAGE, dir.getOpposite());
+                        LazyOptional<ILongEnergyStorage> longCap = lookupCapability(neighborBE, MEBFCapabilities.LONG_ENERGY_STORAGE, dir.getOpposite());
                         if (longCap.isPresent()) {
                             return longCap.resolve().orElse(null);
                         }
@@ -1741,7 +1505,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
                     }
                     // 回退到标准能量接口
                     try {
-                        LazyOptional<IEnergyStorage> normalCap = neighborBE.getCapability(ForgeCapabilities.ENERGY, dir.getOpposite());
+                        LazyOptional<IEnergyStorage> normalCap = lookupCapability(neighborBE, ForgeCapabilities.ENERGY, dir.getOpposite());
                         if (normalCap.isPresent()) {
                             return normalCap.resolve().orElse(null);
                         }
@@ -1784,13 +1548,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         
         @Override
         public boolean canExtract() {
-            Object storage = getNeighborStorage();
-            if (storage instanceof ILongEnergyStorage longStorage) {
-                return longStorage.canExtract();
-            } else if (storage instanceof IEnergyStorage normalStorage) {
-                return normalStorage.canExtract();
-            }
-            return false;
+            return canNeighborExtract();
         }
         
         @Override
@@ -1807,36 +1565,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         @Override
         public long receiveEnergyL(long maxReceive, boolean simulate) {
             // 被动接收模式：从外部（如Flux Point）接收能量，立即转发给绑定的目标
-            if (level == null || maxReceive <= 0 || links.isEmpty()) {
-                return 0;
-            }
-            
-            long totalInserted = 0;
-            
-            // 遍历所有绑定的目标，将能量分配出去
-            for (BlockPos targetPos : new HashSet<>(links)) {
-                if (totalInserted >= maxReceive) break;
-                
-                BlockEntity targetBE = level.getBlockEntity(targetPos);
-                if (targetBE == null) continue;
-                
-                long remaining = maxReceive - totalInserted;
-                
-                // 特殊处理：如果目标是另一个感应塔，递归转发
-                if (targetBE instanceof WirelessEnergyTowerBlockEntity targetTower) {
-                    // 递归转发给目标塔的绑定设备
-                    Set<BlockPos> visited = new HashSet<>();
-                    visited.add(worldPosition); // 防止循环
-                    long inserted = targetTower.receiveEnergyFromTower(remaining, simulate, visited);
-                    totalInserted += inserted;
-                } else {
-                    // 直接推送给普通设备
-                    long inserted = pushEnergyToTargetDirect(targetBE, remaining, simulate);
-                    totalInserted += inserted;
-                }
-            }
-            
-            return totalInserted; // 返回实际转发的能量
+            return forwardReceivedEnergy(maxReceive, simulate);
         }
         
         @Override
@@ -1852,24 +1581,30 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
         
         @Override
         public long getEnergyStoredL() {
-            Object storage = getNeighborStorage();
-            if (storage instanceof ILongEnergyStorage longStorage) {
-                return longStorage.getEnergyStoredL();
-            } else if (storage instanceof IEnergyStorage normalStorage) {
-                return normalStorage.getEnergyStored();
-            }
-            return 0;
+            // 读取快照，不查询邻居能力
+            return getNeighborEnergyStoredL();
         }
         
         @Override
         public long getMaxEnergyStoredL() {
-            Object storage = getNeighborStorage();
-            if (storage instanceof ILongEnergyStorage longStorage) {
-                return longStorage.getMaxEnergyStoredL();
-            } else if (storage instanceof IEnergyStorage normalStorage) {
-                return normalStorage.getMaxEnergyStored();
-            }
-            return 0;
+            EnergyStats stats = readEnergyStats();
+            return stats.neighborFound ? stats.neighborMax : 0L;
+        }
+        
+        ///// 需求查询接口 \\\\\
+        
+        @Override
+        public long getDemandL() {
+            // 塔本身不储能，需求即整个链接网络的可接收量；读取快照，下一次网络 tick 重新模拟
+            EnergyStats stats = readEnergyStats();
+            stats.demandRequested = true;
+            return stats.demand;
+        }
+        
+        @Override
+        public long getSupplyL() {
+            EnergyStats stats = readEnergyStats();
+            return stats.neighborFound && stats.neighborCanExtract ? stats.neighborStored : 0L;
         }
     }
     
@@ -1880,7 +1615,7 @@ public class WirelessEnergyTowerBlockEntity extends AENetworkBlockEntity impleme
     @Override
     public AABB getRenderBoundingBox() {
         // 如果没有连接目标，使用默认边界框
-        if (clientLinks == null || clientLinks.isEmpty()) {
+        if (clientLinks.isEmpty()) {
             BlockPos pos = getBlockPos();
             return new AABB(pos.getX() - 5, pos.getY() - 5, pos.getZ() - 5, 
                            pos.getX() + 6, pos.getY() + 8, pos.getZ() + 6); // Y轴考虑塔的高度
@@ -134,7 +134,7 @@ public class TowerConnectionHighlightRenderer {
         }
         
         // 获取这个塔的所有连接
-        List<BlockPos> links = tower.getClientLinks();
+        Collection<BlockPos> links = tower.getClientLinks();
         if (links == null || links.isEmpty()) {
             return;
         }
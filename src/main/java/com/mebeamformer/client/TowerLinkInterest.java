@@ -0,0 +1,101 @@
+package com.mebeamformer.client;
+
+import com.mebeamformer.Config;
+import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
+import com.mebeamformer.item.LaserBindingTool;
+import com.mebeamformer.network.MEBFNetwork;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * 客户端能源塔连接列表的兴趣管理。
+ * 连接线只在 alwaysRenderBeams 开启或手持激光绑定器时绘制，因此只在这两种情况下、
+ * 且塔处于渲染距离内时向服务端订阅该塔的连接列表；条件不再满足时取消订阅并丢弃本地数据。
+ */
+@Mod.EventBusSubscriber(modid = "me_beam_former", value = Dist.CLIENT, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class TowerLinkInterest {
+
+    private static final int CHECK_INTERVAL_TICKS = 10;
+    // 订阅与退订使用不同距离，避免在边界附近反复切换
+    private static final double SUBSCRIBE_RANGE_SQR = 256.0d * 256.0d;
+    private static final double UNSUBSCRIBE_RANGE_SQR = MEBFNetwork.LINK_SYNC_RANGE_SQR;
+
+    private static final Set<WirelessEnergyTowerBlockEntity> TOWERS =
+            Collections.newSetFromMap(new WeakHashMap<>());
+    private static int ticks = 0;
+
+    public static void track(WirelessEnergyTowerBlockEntity tower) {
+        TOWERS.add(tower);
+        // 新加载的塔不等下一次检查，立即按当前状态订阅
+        Player player = Minecraft.getInstance().player;
+        if (player != null && isInterested(player)) {
+            tower.setLinkInterest(isInRange(player, tower, SUBSCRIBE_RANGE_SQR));
+        }
+    }
+
+    public static void untrack(WirelessEnergyTowerBlockEntity tower) {
+        TOWERS.remove(tower);
+        // 断开连接时无需通知服务端，服务端会在玩家离线时自然清理
+        if (Minecraft.getInstance().getConnection() != null) {
+            tower.setLinkInterest(false);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || ++ticks < CHECK_INTERVAL_TICKS) {
+            return;
+        }
+        ticks = 0;
+
+        Minecraft mc = Minecraft.getInstance();
+        Player player = mc.player;
+        ClientLevel level = mc.level;
+        if (player == null || level == null || TOWERS.isEmpty()) {
+            return;
+        }
+
+        boolean interested = isInterested(player);
+        for (WirelessEnergyTowerBlockEntity tower : new ArrayList<>(TOWERS)) {
+            if (tower.isRemoved() || tower.getLevel() != level) {
+                continue;
+            }
+            if (!interested) {
+                tower.setLinkInterest(false);
+            } else if (isInRange(player, tower, SUBSCRIBE_RANGE_SQR)) {
+                tower.setLinkInterest(true);
+            } else if (!isInRange(player, tower, UNSUBSCRIBE_RANGE_SQR)) {
+                tower.setLinkInterest(false);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        TOWERS.clear();
+        ticks = 0;
+    }
+
+    private static boolean isInterested(Player player) {
+        return Config.alwaysRenderBeams
+                || player.getMainHandItem().getItem() instanceof LaserBindingTool
+                || player.getOffhandItem().getItem() instanceof LaserBindingTool;
+    }
+
+    private static boolean isInRange(Player player, WirelessEnergyTowerBlockEntity tower, double rangeSqr) {
+        BlockPos pos = tower.getBlockPos();
+        return player.distanceToSqr(pos.getX() + 0.5d, pos.getY() + 0.5d, pos.getZ() + 0.5d) <= rangeSqr;
+    }
+}
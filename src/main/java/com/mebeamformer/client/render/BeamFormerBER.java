@@ -1,6 +1,7 @@
 package com.mebeamformer.client.render;
 
 import com.mebeamformer.block.BeamFormerBlock;
+import com.mebeamformer.blockentity.BeamColorCache;
 import com.mebeamformer.blockentity.BeamFormerBlockEntity;
 import com.mojang.blaze3d.vertex.PoseStack;
 import net.minecraft.client.renderer.MultiBufferSource;
@@ -59,9 +60,15 @@ public class BeamFormerBER implements BlockEntityRenderer<BeamFormerBlockEntity>
             return;
         }
 
-        float[] sourceColor = BeamRenderHelper.resolveBlockEndpointColor(level, pos);
-        float[] targetColor = BeamRenderHelper.resolveBlockEndpointColor(level, pos.relative(dir, len));
-        float[] beamColor = BeamRenderHelper.blendEndpointColors(sourceColor, targetColor);
+        BeamColorCache colors = te.getBeamColorCache();
+        long gameTime = level.getGameTime();
+        long colorKey = ((long) len << 3) | dir.ordinal();
+        if (!colors.isBound(colorKey, gameTime)) {
+            colors.bind(colorKey, gameTime,
+                    BeamRenderHelper.resolveBlockEndpoint(level, pos),
+                    BeamRenderHelper.resolveBlockEndpoint(level, pos.relative(dir, len)));
+        }
+        colors.refresh();
 
         float thickness = 0.28f;
         BeamRenderHelper.renderColoredBeam(
@@ -69,23 +76,22 @@ public class BeamFormerBER implements BlockEntityRenderer<BeamFormerBlockEntity>
                 buffers,
                 dir,
                 visibleLen,
-                beamColor[0],
-                beamColor[1],
-                beamColor[2],
+                colors.getOuterColor(),
+                colors.getCoreColor(),
                 packedLight,
                 packedOverlay,
                 thickness);
     }
 
     private boolean isPathClearForRender(Level level, BlockPos start, Direction dir, int length) {
-        BlockPos cur = start;
+        BlockPos.MutableBlockPos cur = start.mutable();
         for (int i = 0; i < length; i++) {
-            cur = cur.relative(dir);
+            cur.move(dir);
             BlockState state = level.getBlockState(cur);
             if (state.canOcclude() && !state.isAir()) {
                 var other = level.getBlockEntity(cur);
                 if (other instanceof BeamFormerBlockEntity) {
-                    Direction otherFacing = level.getBlockState(cur).getValue(BeamFormerBlock.FACING);
+                    Direction otherFacing = state.getValue(BeamFormerBlock.FACING);
                     if (i == length - 1 && otherFacing == dir.getOpposite()) {
                         return true;
                     }
@@ -95,7 +101,7 @@ public class BeamFormerBER implements BlockEntityRenderer<BeamFormerBlockEntity>
 
             var blockEntity = level.getBlockEntity(cur);
             if (blockEntity instanceof BeamFormerBlockEntity) {
-                Direction otherFacing = level.getBlockState(cur).getValue(BeamFormerBlock.FACING);
+                Direction otherFacing = state.getValue(BeamFormerBlock.FACING);
                 if (otherFacing == dir) {
                     return false;
                 }
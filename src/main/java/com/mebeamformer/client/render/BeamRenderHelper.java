@@ -28,9 +28,6 @@ public final class BeamRenderHelper {
     private static final float DEFAULT_THICKNESS = 0.15f;
     private static final float OUTER_SCALE = 1.18f;
     private static final float CORE_SCALE = 0.62f;
-    private static final float OUTER_ALPHA = 0.22f;
-    private static final float CORE_ALPHA = 0.90f;
-    private static final float CORE_WHITE_MIX = 0.16f;
     private static final double BLOCK_BEAM_SHIFT = -0.25d;
     private static final double PART_BEAM_START_SHIFT = 11.0d / 16.0d;
     private static final double PART_BEAM_LENGTH_TRIM = PART_BEAM_START_SHIFT * 2.0d;
@@ -38,59 +35,23 @@ public final class BeamRenderHelper {
     private BeamRenderHelper() {
     }
 
-    public static float[] unpackRgb(int hex) {
-        final float scale = 255.0f;
-        return new float[]{
-                ((hex >> 16) & 0xFF) / scale,
-                ((hex >> 8) & 0xFF) / scale,
-                (hex & 0xFF) / scale
-        };
-    }
-
-    @Nullable
-    public static float[] unpackColor(@Nullable AEColor color) {
-        return color == null ? null : unpackRgb(color.blackVariant);
-    }
-
-    @Nullable
-    public static float[] getColorableBlockEntityColor(@Nullable BlockEntity blockEntity) {
-        if (!(blockEntity instanceof IColorableBlockEntity colorableBlockEntity)) {
-            return null;
-        }
-        return unpackColor(colorableBlockEntity.getColor());
-    }
-
     @Nullable
-    public static float[] getPartHostColor(@Nullable IPartHost host) {
-        return host == null ? null : unpackColor(host.getColor());
+    public static AEColor getPartHostColor(@Nullable IPartHost host) {
+        return host == null ? null : host.getColor();
     }
 
+    /**
+     * 查找光束端点背后提供颜色的方块实体（通常是 AE2 线缆）。
+     */
     @Nullable
-    public static float[] resolveBlockEndpointColor(Level level, BlockPos endpointPos) {
+    public static BlockEntity resolveBlockEndpoint(Level level, BlockPos endpointPos) {
         BlockState state = level.getBlockState(endpointPos);
         Direction backDirection = getEndpointBackDirection(state);
         if (backDirection == null) {
             return null;
         }
-        return getColorableBlockEntityColor(level.getBlockEntity(endpointPos.relative(backDirection)));
-    }
-
-    public static float[] blendEndpointColors(@Nullable float[] first, @Nullable float[] second) {
-        if (first == null && second == null) {
-            return new float[]{1.0f, 1.0f, 1.0f};
-        }
-        if (first == null) {
-            return second.clone();
-        }
-        if (second == null) {
-            return first.clone();
-        }
-
-        return new float[]{
-                rms(first[0], second[0]),
-                rms(first[1], second[1]),
-                rms(first[2], second[2])
-        };
+        BlockEntity blockEntity = level.getBlockEntity(endpointPos.relative(backDirection));
+        return blockEntity instanceof IColorableBlockEntity ? blockEntity : null;
     }
 
     public static void renderColoredBeam(
@@ -98,13 +59,12 @@ public final class BeamRenderHelper {
             MultiBufferSource buffers,
             Direction dir,
             double length,
-            float r,
-            float g,
-            float b,
+            int outerColor,
+            int coreColor,
             int light,
             int overlay
     ) {
-        renderColoredBeam(poseStack, buffers, dir, length, r, g, b, light, overlay, DEFAULT_THICKNESS);
+        renderColoredBeam(poseStack, buffers, dir, length, outerColor, coreColor, light, overlay, DEFAULT_THICKNESS);
     }
 
     public static void renderColoredBeam(
@@ -112,9 +72,8 @@ public final class BeamRenderHelper {
             MultiBufferSource buffers,
             Direction dir,
             double length,
-            float r,
-            float g,
-            float b,
+            int outerColor,
+            int coreColor,
             int light,
             int overlay,
             float thickness
@@ -137,10 +96,8 @@ public final class BeamRenderHelper {
                 dir.getStepX() * length,
                 dir.getStepY() * length,
                 dir.getStepZ() * length,
-                r,
-                g,
-                b,
-                light,
+                outerColor,
+                coreColor,
                 overlay,
                 thickness
         );
@@ -153,9 +110,8 @@ public final class BeamRenderHelper {
             MultiBufferSource buffers,
             Direction dir,
             double length,
-            float r,
-            float g,
-            float b,
+            int outerColor,
+            int coreColor,
             int light,
             int overlay
     ) {
@@ -182,10 +138,8 @@ public final class BeamRenderHelper {
                 dir.getStepX() * visibleLength,
                 dir.getStepY() * visibleLength,
                 dir.getStepZ() * visibleLength,
-                r,
-                g,
-                b,
-                light,
+                outerColor,
+                coreColor,
                 overlay,
                 DEFAULT_THICKNESS
         );
@@ -199,9 +153,8 @@ public final class BeamRenderHelper {
             float vx,
             float vy,
             float vz,
-            float r,
-            float g,
-            float b,
+            int outerColor,
+            int coreColor,
             int light,
             int overlay,
             float thickness
@@ -221,7 +174,7 @@ public final class BeamRenderHelper {
                 vz * invLength * BLOCK_BEAM_SHIFT
         );
 
-        renderBeamPrism(poseStack, buffers, vx, vy, vz, r, g, b, light, overlay, thickness);
+        renderBeamPrism(poseStack, buffers, vx, vy, vz, outerColor, coreColor, overlay, thickness);
         poseStack.popPose();
     }
 
@@ -231,10 +184,8 @@ public final class BeamRenderHelper {
             double vx,
             double vy,
             double vz,
-            float r,
-            float g,
-            float b,
-            int light,
+            int outerColor,
+            int coreColor,
             int overlay,
             float thickness
     ) {
@@ -243,8 +194,6 @@ public final class BeamRenderHelper {
             return;
         }
 
-        final float[] displayColor = normalizeDisplayColor(r, g, b);
-        final float[] coreColor = mixWithWhite(displayColor, CORE_WHITE_MIX);
         final float radius = Math.max(0.01f, thickness) * 0.5f;
 
         PoseStack.Pose last = poseStack.last();
@@ -262,8 +211,7 @@ public final class BeamRenderHelper {
                 vy,
                 vz,
                 radius * OUTER_SCALE,
-                displayColor,
-                OUTER_ALPHA,
+                outerColor,
                 overlay,
                 v0,
                 v1
@@ -277,7 +225,6 @@ public final class BeamRenderHelper {
                 vz,
                 radius * CORE_SCALE,
                 coreColor,
-                CORE_ALPHA,
                 overlay,
                 v0,
                 v1
@@ -292,8 +239,7 @@ public final class BeamRenderHelper {
             double vy,
             double vz,
             float radius,
-            float[] color,
-            float alpha,
+            int color,
             int overlay,
             float v0,
             float v1
@@ -367,13 +313,13 @@ public final class BeamRenderHelper {
         float ez3 = (float) (vz + sz3);
 
         emitFace(pose, normal, consumer, sx0, sy0, sz0, sx1, sy1, sz1, ex1, ey1, ez1, ex0, ey0, ez0,
-                color, alpha, overlay, v0, v1);
+                color, overlay, v0, v1);
         emitFace(pose, normal, consumer, sx1, sy1, sz1, sx2, sy2, sz2, ex2, ey2, ez2, ex1, ey1, ez1,
-                color, alpha, overlay, v0, v1);
+                color, overlay, v0, v1);
         emitFace(pose, normal, consumer, sx2, sy2, sz2, sx3, sy3, sz3, ex3, ey3, ez3, ex2, ey2, ez2,
-                color, alpha, overlay, v0, v1);
+                color, overlay, v0, v1);
         emitFace(pose, normal, consumer, sx3, sy3, sz3, sx0, sy0, sz0, ex0, ey0, ez0, ex3, ey3, ez3,
-                color, alpha, overlay, v0, v1);
+                color, overlay, v0, v1);
     }
 
     private static void emitFace(
@@ -392,13 +338,33 @@ public final class BeamRenderHelper {
             float x4,
             float y4,
             float z4,
-            float[] color,
-            float alpha,
+            int color,
             int overlay,
             float v0,
             float v1
     ) {
-        float[] faceNormal = computeNormal(x1, y1, z1, x2, y2, z2, x4, y4, z4);
+        // 面法线：(p2 - p1) x (p4 - p1)
+        float ax = x2 - x1;
+        float ay = y2 - y1;
+        float az = z2 - z1;
+        float bx = x4 - x1;
+        float by = y4 - y1;
+        float bz = z4 - z1;
+
+        float nx = ay * bz - az * by;
+        float ny = az * bx - ax * bz;
+        float nz = ax * by - ay * bx;
+        float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (length <= 1.0E-6f) {
+            nx = 0.0f;
+            ny = 1.0f;
+            nz = 0.0f;
+        } else {
+            nx /= length;
+            ny /= length;
+            nz /= length;
+        }
+
         quadBothSides(
                 pose,
                 normal,
@@ -415,88 +381,18 @@ public final class BeamRenderHelper {
                 x4,
                 y4,
                 z4,
-                color[0],
-                color[1],
-                color[2],
-                alpha,
+                color,
                 0.0f,
                 v0,
                 1.0f,
                 v1,
                 overlay,
-                faceNormal[0],
-                faceNormal[1],
-                faceNormal[2]
+                nx,
+                ny,
+                nz
         );
     }
 
-    private static float[] normalizeDisplayColor(float r, float g, float b) {
-        float cr = clamp01(r);
-        float cg = clamp01(g);
-        float cb = clamp01(b);
-
-        float max = Math.max(cr, Math.max(cg, cb));
-        if (max <= 1.0E-4f) {
-            return new float[]{1.0f, 1.0f, 1.0f};
-        }
-
-        float min = Math.min(cr, Math.min(cg, cb));
-        float saturation = (max - min) / max;
-        if (saturation < 0.08f) {
-            return new float[]{1.0f, 1.0f, 1.0f};
-        }
-
-        float gain = 0.92f / max;
-        cr = clamp01(cr * gain);
-        cg = clamp01(cg * gain);
-        cb = clamp01(cb * gain);
-
-        float average = (cr + cg + cb) / 3.0f;
-        float saturationBoost = 1.28f;
-        cr = clamp01(average + (cr - average) * saturationBoost);
-        cg = clamp01(average + (cg - average) * saturationBoost);
-        cb = clamp01(average + (cb - average) * saturationBoost);
-        return new float[]{cr, cg, cb};
-    }
-
-    private static float[] mixWithWhite(float[] color, float amount) {
-        float mix = clamp01(amount);
-        return new float[]{
-                color[0] * (1.0f - mix) + mix,
-                color[1] * (1.0f - mix) + mix,
-                color[2] * (1.0f - mix) + mix
-        };
-    }
-
-    private static float[] computeNormal(
-            float x1,
-            float y1,
-            float z1,
-            float x2,
-            float y2,
-            float z2,
-            float x4,
-            float y4,
-            float z4
-    ) {
-        float ax = x2 - x1;
-        float ay = y2 - y1;
-        float az = z2 - z1;
-        float bx = x4 - x1;
-        float by = y4 - y1;
-        float bz = z4 - z1;
-
-        float nx = ay * bz - az * by;
-        float ny = az * bx - ax * bz;
-        float nz = ax * by - ay * bx;
-        float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
-        if (length <= 1.0E-6f) {
-            return new float[]{0.0f, 1.0f, 0.0f};
-        }
-
-        return new float[]{nx / length, ny / length, nz / length};
-    }
-
     private static float getTextureScroll() {
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null) {
@@ -521,10 +417,7 @@ public final class BeamRenderHelper {
             float x4,
             float y4,
             float z4,
-            float r,
-            float g,
-            float b,
-            float a,
+            int color,
             float u0,
             float v0,
             float u1,
@@ -535,9 +428,9 @@ public final class BeamRenderHelper {
             float nz
     ) {
         quad(pose, normal, consumer, x1, y1, z1, x2, y2, z2, x3, y3, z3, x4, y4, z4,
-                r, g, b, a, u0, v0, u1, v1, overlay, nx, ny, nz);
+                color, u0, v0, u1, v1, overlay, nx, ny, nz);
         quad(pose, normal, consumer, x4, y4, z4, x3, y3, z3, x2, y2, z2, x1, y1, z1,
-                r, g, b, a, u0, v0, u1, v1, overlay, -nx, -ny, -nz);
+                color, u0, v0, u1, v1, overlay, -nx, -ny, -nz);
     }
 
     private static void quad(
@@ -556,10 +449,7 @@ public final class BeamRenderHelper {
             float x4,
             float y4,
             float z4,
-            float r,
-            float g,
-            float b,
-            float a,
+            int color,
             float u0,
             float v0,
             float u1,
@@ -569,6 +459,11 @@ public final class BeamRenderHelper {
             float ny,
             float nz
     ) {
+        final int r = (color >> 16) & 0xFF;
+        final int g = (color >> 8) & 0xFF;
+        final int b = color & 0xFF;
+        final int a = (color >>> 24) & 0xFF;
+
         consumer.vertex(pose, x1, y1, z1)
                 .color(r, g, b, a)
                 .uv(u0, v0)
@@ -599,20 +494,6 @@ public final class BeamRenderHelper {
                 .endVertex();
     }
 
-    private static float rms(float first, float second) {
-        return (float) Math.sqrt((first * first + second * second) * 0.5f);
-    }
-
-    private static float clamp01(float value) {
-        if (value < 0.0f) {
-            return 0.0f;
-        }
-        if (value > 1.0f) {
-            return 1.0f;
-        }
-        return value;
-    }
-
     @Nullable
     private static Direction getEndpointBackDirection(BlockState state) {
         if (state.getBlock() instanceof BeamFormerBlock) {
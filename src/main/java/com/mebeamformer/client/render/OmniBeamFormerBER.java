@@ -2,6 +2,7 @@ package com.mebeamformer.client.render;
 
 import com.mebeamformer.block.BeamFormerBlock;
 import com.mebeamformer.block.OmniBeamFormerBlock;
+import com.mebeamformer.blockentity.BeamColorCache;
 import com.mebeamformer.blockentity.OmniBeamFormerBlockEntity;
 import com.mojang.blaze3d.vertex.PoseStack;
 import net.minecraft.client.renderer.MultiBufferSource;
@@ -10,6 +11,7 @@ import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
@@ -58,50 +60,85 @@ public class OmniBeamFormerBER implements BlockEntityRenderer<OmniBeamFormerBloc
             return;
         }
 
-        BlockPos pos = be.getBlockPos();
-        float[] sourceColor = BeamRenderHelper.resolveBlockEndpointColor(level, pos);
-
         var targets = be.getClientActiveTargets();
         if (targets == null || targets.isEmpty()) {
             return;
         }
 
+        BlockPos pos = be.getBlockPos();
         Direction facing = state.getValue(OmniBeamFormerBlock.FACING);
-        Vec3 sourceAnchor = getOmniBeamAnchor(pos, facing);
+        double originX = pos.getX() + 0.5d;
+        double originY = pos.getY() + 0.5d;
+        double originZ = pos.getZ() + 0.5d;
+        double sourceX = originX + facing.getStepX() * OMNI_CORE_CENTER_OFFSET;
+        double sourceY = originY + facing.getStepY() * OMNI_CORE_CENTER_OFFSET;
+        double sourceZ = originZ + facing.getStepZ() * OMNI_CORE_CENTER_OFFSET;
+
+        // 源端颜色每帧只解析一次，目标端沿用各自光束的缓存绑定
+        BeamColorCache[] caches = be.getBeamColorCaches();
+        long gameTime = level.getGameTime();
+        BlockEntity sourceEndpoint = null;
+        boolean sourceResolved = false;
 
         float thickness = 0.08f;
-        for (BlockPos targetPos : targets) {
+        for (int i = 0; i < targets.size(); i++) {
+            BlockPos targetPos = targets.get(i);
             BlockState targetState = level.getBlockState(targetPos);
-            Vec3 targetAnchor = getTargetAnchor(targetPos, targetState);
-            Vec3 beamVector = targetAnchor.subtract(sourceAnchor);
+            double targetOffset = 0.0d;
+            Direction targetFacing = null;
+            if (targetState.getBlock() instanceof BeamFormerBlock) {
+                targetFacing = targetState.getValue(BeamFormerBlock.FACING);
+                targetOffset = BLOCK_BEAM_CENTER_OFFSET;
+            } else if (targetState.getBlock() instanceof OmniBeamFormerBlock) {
+                targetFacing = targetState.getValue(OmniBeamFormerBlock.FACING);
+                targetOffset = OMNI_CORE_CENTER_OFFSET;
+            }
 
-            double vectorLength = beamVector.length();
+            double targetX = targetPos.getX() + 0.5d;
+            double targetY = targetPos.getY() + 0.5d;
+            double targetZ = targetPos.getZ() + 0.5d;
+            if (targetFacing != null) {
+                targetX += targetFacing.getStepX() * targetOffset;
+                targetY += targetFacing.getStepY() * targetOffset;
+                targetZ += targetFacing.getStepZ() * targetOffset;
+            }
+
+            double vx = targetX - sourceX;
+            double vy = targetY - sourceY;
+            double vz = targetZ - sourceZ;
+            double vectorLength = Math.sqrt(vx * vx + vy * vy + vz * vz);
             if (vectorLength <= 0.2d) {
                 continue;
             }
 
-            Vec3 normalized = beamVector.scale(1.0d / vectorLength);
-            Vec3 renderOrigin = sourceAnchor.add(normalized.scale(VECTOR_RENDER_SHIFT_COMPENSATION));
+            double shift = VECTOR_RENDER_SHIFT_COMPENSATION / vectorLength;
 
-            float[] targetColor = BeamRenderHelper.resolveBlockEndpointColor(level, targetPos);
-            float[] beamColor = BeamRenderHelper.blendEndpointColors(sourceColor, targetColor);
+            BeamColorCache colors = caches[i];
+            long key = targetPos.asLong();
+            if (!colors.isBound(key, gameTime)) {
+                if (!sourceResolved) {
+                    sourceEndpoint = BeamRenderHelper.resolveBlockEndpoint(level, pos);
+                    sourceResolved = true;
+                }
+                colors.bind(key, gameTime, sourceEndpoint, BeamRenderHelper.resolveBlockEndpoint(level, targetPos));
+            }
+            colors.refresh();
 
             poseStack.pushPose();
             poseStack.translate(
-                    renderOrigin.x - (pos.getX() + 0.5d),
-                    renderOrigin.y - (pos.getY() + 0.5d),
-                    renderOrigin.z - (pos.getZ() + 0.5d)
+                    sourceX + vx * shift - originX,
+                    sourceY + vy * shift - originY,
+                    sourceZ + vz * shift - originZ
             );
 
             BeamRenderHelper.renderColoredBeamVector(
                     poseStack,
                     buffers,
-                    (float) beamVector.x,
-                    (float) beamVector.y,
-                    (float) beamVector.z,
-                    beamColor[0],
-                    beamColor[1],
-                    beamColor[2],
+                    (float) vx,
+                    (float) vy,
+                    (float) vz,
+                    colors.getOuterColor(),
+                    colors.getCoreColor(),
                     packedLight,
                     packedOverlay,
                     thickness);
@@ -121,28 +158,4 @@ public class OmniBeamFormerBER implements BlockEntityRenderer<OmniBeamFormerBloc
         double maxDistanceSq = maxDistance * maxDistance;
         return dx * dx + dy * dy + dz * dz <= maxDistanceSq;
     }
-
-    private static Vec3 getTargetAnchor(BlockPos pos, BlockState state) {
-        if (state.getBlock() instanceof BeamFormerBlock) {
-            Direction facing = state.getValue(BeamFormerBlock.FACING);
-            return getForwardAnchor(pos, facing, BLOCK_BEAM_CENTER_OFFSET);
-        }
-        if (state.getBlock() instanceof OmniBeamFormerBlock) {
-            Direction facing = state.getValue(OmniBeamFormerBlock.FACING);
-            return getOmniBeamAnchor(pos, facing);
-        }
-        return Vec3.atCenterOf(pos);
-    }
-
-    private static Vec3 getOmniBeamAnchor(BlockPos pos, Direction facing) {
-        return getForwardAnchor(pos, facing, OMNI_CORE_CENTER_OFFSET);
-    }
-
-    private static Vec3 getForwardAnchor(BlockPos pos, Direction direction, double offset) {
-        return new Vec3(
-                pos.getX() + 0.5d + direction.getStepX() * offset,
-                pos.getY() + 0.5d + direction.getStepY() * offset,
-                pos.getZ() + 0.5d + direction.getStepZ() * offset
-        );
-    }
 }
@@ -0,0 +1,102 @@
+package com.mebeamformer.client.screen;
+
+import com.mebeamformer.blockentity.EnergyNetworkMonitorBlockEntity;
+import com.mebeamformer.network.MEBFNetwork;
+import com.mebeamformer.network.MonitorInterestPacket;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+/**
+ * 能源网络监控方块的遥测界面，每帧读取方块实体最近同步的数据。
+ * 界面打开期间向服务端订阅遥测，关闭时退订。
+ */
+@OnlyIn(Dist.CLIENT)
+public class EnergyNetworkMonitorScreen extends Screen {
+    private static final String[][] ROWS = {
+            {"TickMicros", "screen.me_beam_former.energy_network_monitor.tick_micros"},
+            {"TowersProcessed", "screen.me_beam_former.energy_network_monitor.towers_processed"},
+            {"DeferredWork", "screen.me_beam_former.energy_network_monitor.deferred_work"},
+            {"EnergyPerTick", "screen.me_beam_former.energy_network_monitor.energy_per_tick"},
+            {"AE2Extractions", "screen.me_beam_former.energy_network_monitor.ae2_extractions"},
+    };
+    private static final int LINE_HEIGHT = 12;
+    private static final int TEXT_COLOR = 0xFFFFFF;
+    private static final int MUTED_COLOR = 0xA0A0A0;
+
+    private final BlockPos monitorPos;
+
+    public EnergyNetworkMonitorScreen(BlockPos monitorPos) {
+        super(Component.translatable("screen.me_beam_former.energy_network_monitor"));
+        this.monitorPos = monitorPos;
+    }
+
+    public static void open(BlockPos pos) {
+        Minecraft.getInstance().setScreen(new EnergyNetworkMonitorScreen(pos));
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+        // 调整窗口大小也会重新 init，重复订阅无副作用（服务端按玩家去重）
+        MEBFNetwork.sendToServer(new MonitorInterestPacket(monitorPos, true));
+    }
+
+    @Override
+    public void removed() {
+        super.removed();
+        MEBFNetwork.sendToServer(new MonitorInterestPacket(monitorPos, false));
+    }
+
+    @Override
+    public void tick() {
+        super.tick();
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.level == null
+                || !(minecraft.level.getBlockEntity(monitorPos) instanceof EnergyNetworkMonitorBlockEntity)) {
+            onClose();
+        }
+    }
+
+    @Override
+    public void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTick) {
+        renderBackground(graphics);
+
+        CompoundTag telemetry = new CompoundTag();
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.level != null
+                && minecraft.level.getBlockEntity(monitorPos) instanceof EnergyNetworkMonitorBlockEntity monitor) {
+            telemetry = monitor.getTelemetry();
+        }
+
+        int top = height / 2 - (ROWS.length + 3) * LINE_HEIGHT / 2;
+        graphics.drawCenteredString(font, title, width / 2, top, TEXT_COLOR);
+        graphics.drawCenteredString(font,
+                Component.translatable("screen.me_beam_former.energy_network_monitor.samples",
+                        telemetry.getInt("Samples")),
+                width / 2, top + LINE_HEIGHT, MUTED_COLOR);
+
+        int y = top + LINE_HEIGHT * 3;
+        for (String[] row : ROWS) {
+            CompoundTag values = telemetry.getCompound(row[0]);
+            graphics.drawCenteredString(font,
+                    Component.translatable(row[1],
+                            values.getLong("p50"), values.getLong("p95"), values.getLong("p99"),
+                            values.getLong("max")),
+                    width / 2, y, TEXT_COLOR);
+            y += LINE_HEIGHT;
+        }
+
+        super.render(graphics, mouseX, mouseY, partialTick);
+    }
+
+    @Override
+    public boolean isPauseScreen() {
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mebeamformer.command;
+
+import com.mebeamformer.ME_Beam_Former;
+import com.mebeamformer.diagnostics.NetworkProfiler;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * 模组的运维命令：{@code /mebf ...}。
+ */
+@Mod.EventBusSubscriber(modid = ME_Beam_Former.MODID)
+public final class MEBFCommands {
+    private static final int DEFAULT_TOP_K = 10;
+
+    private MEBFCommands() {
+    }
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    private static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("mebf")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("profile")
+                        .then(Commands.argument("ticks", IntegerArgumentType.integer(1, 6000))
+                                .executes(ctx -> startProfile(ctx.getSource(),
+                                        IntegerArgumentType.getInteger(ctx, "ticks"), DEFAULT_TOP_K))
+                                .then(Commands.argument("topK", IntegerArgumentType.integer(1, 50))
+                                        .executes(ctx -> startProfile(ctx.getSource(),
+                                                IntegerArgumentType.getInteger(ctx, "ticks"),
+                                                IntegerArgumentType.getInteger(ctx, "topK")))))));
+    }
+
+    private static int startProfile(CommandSourceStack source, int ticks, int topK) {
+        if (!NetworkProfiler.start(source, ticks, topK)) {
+            source.sendFailure(Component.translatable("command.me_beam_former.profile.already_running"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.translatable("command.me_beam_former.profile.started", ticks), false);
+        return 1;
+    }
+}
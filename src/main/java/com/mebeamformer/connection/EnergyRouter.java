@@ -0,0 +1,458 @@
+package com.mebeamformer.connection;
+
+import com.mebeamformer.diagnostics.RoutingMetrics;
+import com.mebeamformer.diagnostics.jfr.ComponentDistributionEvent;
+import com.mebeamformer.diagnostics.jfr.JfrEvents;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 单个维度每 tick 的能量路由：逐塔沿塔表的 CSR 邻接推送、塔向单个目标的多轮推送，以及在塔网络中的广度优先分配。
+ * 链接目标、能量来源、用电设备与后端缓存都经 {@link Graph} 访问，路由本身不依赖 Level 或方块实体；
+ * 游戏中由能源塔按维度提供实现，微基准（src/jmh）用内存中的塔替身与假能量存储驱动同一份代码。
+ * 只在服务端主线程上访问。
+ *
+ * @param <N> 塔
+ * @param <T> 链接位置上的目标（塔或普通设备）
+ */
+public final class EnergyRouter<N extends RoutingNode, T> {
+    // 每次按 Long.MAX_VALUE 请求，实际的量由来源与目标各自的上限决定
+    private static final long MAX_TRANSFER = Long.MAX_VALUE;
+
+    /**
+     * 路由看到的世界。普通设备的插入经 owner 塔的后端缓存与退避状态。
+     */
+    public interface Graph<N extends RoutingNode, T> {
+
+        /**
+         * 位置上的目标；没有目标（或方块实体尚未就绪）时返回 null。{@code pos} 可能是可变坐标，不得保存。
+         */
+        @Nullable
+        T targetAt(BlockPos pos);
+
+        /**
+         * 目标为塔时返回该塔，否则返回 null。
+         */
+        @Nullable
+        N asTower(T target);
+
+        /**
+         * 与当前拓扑一致的路由计划；未就绪时返回 null，按活动链接实时判断塔与普通设备。
+         */
+        @Nullable
+        RoutingPlan plan();
+
+        /**
+         * 塔的能量来源数量，来源按优先级从 0 编号。
+         */
+        int sourceCount(N tower);
+
+        /**
+         * 从塔的第 {@code source} 个能量来源提取。
+         */
+        long extract(N tower, int source, long amount, boolean simulate);
+
+        /**
+         * owner 当前能否向普通设备推送（后端已解析且不在退避中）。
+         */
+        boolean accepts(N owner, T target);
+
+        /**
+         * 经 owner 向普通设备插入；不接收或处于退避时返回 0。
+         */
+        long insert(N owner, T target, long amount, boolean simulate);
+
+        /**
+         * 经 owner 向 tower 相邻的普通设备（非塔）依次插入，总量不超过 {@code amount}。
+         */
+        long insertIntoNeighbors(N owner, N tower, long amount, boolean simulate);
+
+        long getPulseBuffer(N tower);
+
+        /**
+         * 从脉冲缓冲中扣除已送出的能量。
+         */
+        void drainPulseBuffer(N tower, long delivered);
+
+        /**
+         * 网络 tick 处理塔之前调用，{@code passes} 为距上次处理的 tick 数（用于补足脉冲缓冲）。
+         */
+        void beforePush(N tower, int passes);
+
+        /**
+         * 网络 tick 中找不到目标的链接：区块未加载的转为休眠，目标已被破坏的移除。
+         *
+         * @return 是否有链接的休眠状态发生变化（需要重建邻接）
+         */
+        boolean onMissingTargets(N tower, List<BlockPos> missing);
+
+        /**
+         * 网络 tick 处理完一座塔之后调用（刷新快照、清扫缓存等）。
+         */
+        void afterPush(N tower);
+
+        /**
+         * 执行一座塔的处理，可在外层包裹采样或诊断事件。
+         */
+        default void process(N tower, Consumer<N> processor) {
+            processor.accept(tower);
+        }
+
+        /**
+         * 诊断事件（JFR）所在的维度；没有世界的替身返回 null。
+         */
+        @Nullable
+        default Level level() {
+            return null;
+        }
+    }
+
+    private final Graph<N, T> graph;
+    private final Consumer<N> processor = this::processTower;
+
+    // 当前正在处理的塔在塔表中的位置，供 processTower 读取 CSR 邻接
+    @Nullable
+    private TowerTable<N> processingTable;
+    private int processingIndex = -1;
+    // 当前塔距上次处理的间隔 tick 数，每次处理按此补传
+    private int processingPasses = 1;
+
+    private int towersProcessed;
+    private int towersDeferred;
+
+    public EnergyRouter(Graph<N, T> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * 处理一个维度的塔表。服务端负载高时拉长传输间隔，脉冲模式的塔按自身间隔集中传输；未轮到的塔推迟到后续 tick。
+     */
+    void tick(TowerTable<N> table, long gameTime, int interval) {
+        towersProcessed = 0;
+        towersDeferred = 0;
+        table.beginIteration();
+        int count = table.size();
+
+        processingTable = table;
+        try {
+            for (int i = 0; i < count; i++) {
+                N tower = table.tower(i);
+                int towerInterval = Math.max(interval, tower.getPulseInterval());
+                if (!TransferGovernor.isDue(table.position(i), gameTime, towerInterval)) {
+                    towersDeferred++;
+                    continue;
+                }
+                towersProcessed++;
+                processingIndex = i;
+                processingPasses = towerInterval;
+                graph.process(tower, processor);
+            }
+        } finally {
+            processingTable = null;
+            processingIndex = -1;
+            processingPasses = 1;
+            table.endIteration();
+        }
+    }
+
+    /**
+     * 上次 {@link #tick} 实际处理的塔数量。
+     */
+    int getTowersProcessed() {
+        return towersProcessed;
+    }
+
+    /**
+     * 上次 {@link #tick} 推迟到后续 tick 处理的塔数量。
+     */
+    int getTowersDeferred() {
+        return towersDeferred;
+    }
+
+    private void processTower(N tower) {
+        if (tower.isDetached()) {
+            return;
+        }
+
+        // 脉冲（或被调速器推迟）时先按间隔补足来源的提取，之后每个目标从缓冲取一次
+        graph.beforePush(tower, processingPasses);
+
+        // 只处理目标区块已加载的链接；休眠链接每 tick 零开销
+        TowerTable<N> table = processingTable;
+        List<BlockPos> missing;
+        if (table != null && table.tower(processingIndex) == tower) {
+            missing = pushToLinks(tower, table, processingIndex);
+        } else {
+            missing = pushToLinks(tower, tower.getActiveLinks());
+        }
+
+        if (missing != null && graph.onMissingTargets(tower, missing) && table != null) {
+            table.markAdjacencyDirty();
+        }
+
+        graph.afterPush(tower);
+    }
+
+    /**
+     * 按塔表中的 CSR 邻接推送，目标位置复用同一个可变坐标，不产生临时对象。
+     */
+    @Nullable
+    private List<BlockPos> pushToLinks(N tower, TowerTable<N> table, int index) {
+        int start = table.linkStart(index);
+        int end = table.linkEnd(index);
+        if (start == end) {
+            return null;
+        }
+
+        boolean metrics = RoutingMetrics.isEnabled();
+        if (metrics) {
+            RoutingMetrics.getInstance().recordTowerTick(end - start);
+        }
+
+        BlockPos.MutableBlockPos targetPos = new BlockPos.MutableBlockPos();
+        List<BlockPos> missing = null;
+        for (int slot = start; slot < end; slot++) {
+            long packed = table.linkTarget(slot);
+            targetPos.set(BlockPos.getX(packed), BlockPos.getY(packed), BlockPos.getZ(packed));
+            T target = graph.targetAt(targetPos);
+            if (target == null) {
+                if (metrics) {
+                    RoutingMetrics.getInstance().recordMissingLink();
+                }
+                if (missing == null) {
+                    missing = new ArrayList<>(2);
+                }
+                missing.add(BlockPos.of(packed));
+                continue;
+            }
+
+            pushToTarget(tower, target, processingPasses);
+        }
+        return missing;
+    }
+
+    /**
+     * 塔不在当前遍历的塔表中时（如同一位置的塔在遍历中被替换）按链接集合推送。
+     */
+    @Nullable
+    private List<BlockPos> pushToLinks(N tower, Set<BlockPos> links) {
+        if (links.isEmpty()) {
+            return null;
+        }
+
+        boolean metrics = RoutingMetrics.isEnabled();
+        if (metrics) {
+            RoutingMetrics.getInstance().recordTowerTick(links.size());
+        }
+
+        List<BlockPos> missing = null;
+        for (BlockPos targetPos : links) {
+            T target = graph.targetAt(targetPos);
+            if (target == null) {
+                if (metrics) {
+                    RoutingMetrics.getInstance().recordMissingLink();
+                }
+                if (missing == null) {
+                    missing = new ArrayList<>(2);
+                }
+                missing.add(targetPos);
+                continue;
+            }
+
+            pushToTarget(tower, target, processingPasses);
+        }
+        return missing;
+    }
+
+    /**
+     * 塔向单个目标推送。能量来源优先级：脉冲缓冲 -> 各能量来源（按编号）；目标为塔时在其网络中分配。
+     * 塔每隔 {@code passes} 个 tick 才被处理一次时，来源的单次上限由 {@link Graph#beforePush} 填充的脉冲缓冲补足，
+     * 收下全部能量的目标只调用一次；接收端单次有上限（没收完）时最多重复 {@code passes} 轮，某一轮没有传输能量即停止。
+     * 按 tick 限流的接收端（如 GT 机器的电流数）无法补传。
+     */
+    public void pushToTarget(N tower, T target, int passes) {
+        for (int pass = 0; pass < passes; pass++) {
+            long offered = graph.getPulseBuffer(tower);
+            long moved = transfer(tower, target);
+            if (moved <= 0 || (offered > 0 && moved >= offered)) {
+                // 没有传输，或缓冲已全部送出：剩余的轮次只会重复调用来源
+                return;
+            }
+        }
+    }
+
+    /**
+     * 向目标进行一轮传输。
+     *
+     * @return 本轮实际送出的能量
+     */
+    private long transfer(N tower, T target) {
+        N targetTower = graph.asTower(target);
+
+        long buffered = graph.getPulseBuffer(tower);
+        if (buffered > 0) {
+            long delivered = deliver(tower, target, targetTower, buffered);
+            if (delivered > 0) {
+                graph.drainPulseBuffer(tower, delivered);
+            }
+            return delivered;
+        }
+
+        if (targetTower != null && RoutingMetrics.isEnabled()) {
+            RoutingMetrics.getInstance().recordTowerToTowerPush();
+        }
+        int sources = graph.sourceCount(tower);
+        for (int source = 0; source < sources; source++) {
+            // 普通设备已被上一个来源的尝试判定为拒绝（进入退避）时，同一次推送不再重复尝试
+            if (targetTower == null && !graph.accepts(tower, target)) {
+                return 0L;
+            }
+            long extracted = graph.extract(tower, source, MAX_TRANSFER, true);
+            if (extracted <= 0) {
+                continue;
+            }
+            long inserted = deliver(tower, target, targetTower, extracted);
+            if (inserted > 0) {
+                graph.extract(tower, source, inserted, false);
+                return inserted;
+            }
+        }
+        return 0L;
+    }
+
+    private long deliver(N tower, T target, @Nullable N targetTower, long amount) {
+        if (targetTower != null) {
+            // 访问追踪集合，防止循环；源塔标记为已访问
+            Set<BlockPos> visited = new HashSet<>();
+            visited.add(tower.getBlockPos());
+            return distribute(targetTower, amount, false, visited);
+        }
+        return graph.insert(tower, target, amount, false);
+    }
+
+    /**
+     * 在塔网络中分配能量（队列遍历，避免递归）：每座塔依次分给相邻的普通设备、链接的普通设备，再把链接的塔加入队列。
+     * 所有插入都经起点塔的后端缓存。
+     *
+     * @return 实际（或模拟）插入的能量
+     */
+    public long distribute(N start, long amount, boolean simulate, Set<BlockPos> visited) {
+        if (amount <= 0) {
+            return 0L;
+        }
+
+        ComponentDistributionEvent event = JfrEvents.beginComponentDistribution();
+
+        ArrayDeque<N> towerQueue = new ArrayDeque<>();
+        towerQueue.add(start);
+        visited.add(start.getBlockPos());
+
+        long totalInserted = 0;
+        int visitedTowers = 0;
+
+        // 后台路由计划已把链接分成塔与普通设备；计划未就绪时按链接实时判断
+        RoutingPlan plan = graph.plan();
+        BlockPos.MutableBlockPos planPos = plan != null ? new BlockPos.MutableBlockPos() : null;
+
+        while (!towerQueue.isEmpty() && totalInserted < amount) {
+            N currentTower = towerQueue.poll();
+            visitedTowers++;
+
+            // 1. 先分配给当前塔的邻居设备（非塔）
+            totalInserted += graph.insertIntoNeighbors(start, currentTower, amount - totalInserted, simulate);
+
+            // 2. 分配给当前塔连接的普通设备（非感应塔）
+            if (plan != null && plan.contains(currentTower.getBlockPos().asLong())) {
+                if (totalInserted < amount) {
+                    totalInserted += distributeToPlannedConsumers(start, currentTower, plan, planPos,
+                            amount - totalInserted, simulate);
+                }
+                if (totalInserted < amount) {
+                    enqueuePlannedTowers(currentTower, plan, planPos, visited, towerQueue);
+                }
+                continue;
+            }
+            Set<BlockPos> links = currentTower.getActiveLinks();
+            if (totalInserted < amount && !links.isEmpty()) {
+                for (BlockPos targetPos : new ArrayList<>(links)) {
+                    if (totalInserted >= amount) break;
+
+                    T target = graph.targetAt(targetPos);
+                    if (target == null || graph.asTower(target) != null) {
+                        continue;
+                    }
+                    totalInserted += graph.insert(start, target, amount - totalInserted, simulate);
+                }
+            }
+
+            // 3. 将连接的其他感应塔加入队列（非递归）
+            if (totalInserted < amount && !links.isEmpty()) {
+                for (BlockPos targetPos : links) {
+                    if (visited.contains(targetPos)) continue;
+
+                    T target = graph.targetAt(targetPos);
+                    N targetTower = target != null ? graph.asTower(target) : null;
+                    if (targetTower != null) {
+                        visited.add(targetPos);
+                        towerQueue.add(targetTower);
+                    }
+                }
+            }
+        }
+
+        if (RoutingMetrics.isEnabled()) {
+            RoutingMetrics.getInstance().recordNetworkWalk(visitedTowers);
+        }
+        Level level = graph.level();
+        if (level != null) {
+            JfrEvents.commitComponentDistribution(event, level, start.getBlockPos(), visitedTowers, amount,
+                    totalInserted, simulate);
+        }
+        return totalInserted;
+    }
+
+    /**
+     * 按路由计划向塔链接的普通设备分配能量。计划可能包含本 tick 内刚移除或休眠的链接，逐个用活动链接校验。
+     */
+    private long distributeToPlannedConsumers(N owner, N currentTower, RoutingPlan plan, BlockPos.MutableBlockPos pos,
+                                              long amount, boolean simulate) {
+        Set<BlockPos> links = currentTower.getActiveLinks();
+        long inserted = 0;
+        for (long packed : plan.getConsumers(currentTower.getBlockPos().asLong())) {
+            if (inserted >= amount) break;
+
+            pos.set(BlockPos.getX(packed), BlockPos.getY(packed), BlockPos.getZ(packed));
+            if (!links.contains(pos)) continue;
+
+            T target = graph.targetAt(pos);
+            if (target == null || graph.asTower(target) != null) continue;
+
+            inserted += graph.insert(owner, target, amount - inserted, simulate);
+        }
+        return inserted;
+    }
+
+    private void enqueuePlannedTowers(N currentTower, RoutingPlan plan, BlockPos.MutableBlockPos pos,
+                                      Set<BlockPos> visited, ArrayDeque<N> towerQueue) {
+        Set<BlockPos> links = currentTower.getActiveLinks();
+        for (long packed : plan.getTowerNeighbors(currentTower.getBlockPos().asLong())) {
+            pos.set(BlockPos.getX(packed), BlockPos.getY(packed), BlockPos.getZ(packed));
+            if (visited.contains(pos) || !links.contains(pos)) continue;
+
+            T target = graph.targetAt(pos);
+            N targetTower = target != null ? graph.asTower(target) : null;
+            if (targetTower != null) {
+                visited.add(targetTower.getBlockPos());
+                towerQueue.add(targetTower);
+            }
+        }
+    }
+}
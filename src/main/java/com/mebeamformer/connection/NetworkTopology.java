@@ -0,0 +1,293 @@
+package com.mebeamformer.connection;
+
+import com.mebeamformer.block.OmniBeamFormerBlock;
+import com.mebeamformer.block.WirelessEnergyTowerBlock;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 维度级的能源塔与全向光束成型器拓扑。
+ * 保存所有塔及其链接、全向成型器及其辐条，服务端启动时即可得到完整结构，
+ * 不必等待每个方块实体 onLoad；区块卸载不会移除条目。
+ * 这里只是方块实体 NBT 的镜像：方块实体加载或链接变化时用自己的链接覆盖对应条目（旧存档由此自动迁移），
+ * 方块被破坏时移除；未经正常破坏流程消失的方块（如被其他模组替换）由 {@link #pruneChunk} 在其区块加载时清理。
+ * 只在服务端主线程上访问。
+ */
+public class NetworkTopology extends SavedData {
+    private static final String DATA_NAME = "me_beam_former_topology";
+    private static final String TAG_TOWERS = "Towers";
+    private static final String TAG_OMNI = "Omni";
+
+    private final Map<BlockPos, Set<BlockPos>> towerLinks = new HashMap<>();
+    private final Map<BlockPos, Set<BlockPos>> omniLinks = new HashMap<>();
+    // 区块 -> 其中登记的塔与全向成型器位置，区块加载时只检查这一个区块（不持久化）
+    private final Long2ObjectOpenHashMap<Set<BlockPos>> nodesByChunk = new Long2ObjectOpenHashMap<>();
+
+    // 塔拓扑版本号与后台构建的路由计划，均不持久化
+    private long version;
+    private long scheduledVersion = -1;
+    private final AtomicReference<RoutingPlan> plan = new AtomicReference<>();
+
+    public static NetworkTopology get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(NetworkTopology::load, NetworkTopology::new, DATA_NAME);
+    }
+
+    /**
+     * 已存在（内存中或存档里）的拓扑，不存在时返回 null 而不创建。
+     */
+    @Nullable
+    public static NetworkTopology getIfPresent(ServerLevel level) {
+        return level.getDataStorage().get(NetworkTopology::load, DATA_NAME);
+    }
+
+    public static NetworkTopology load(CompoundTag tag) {
+        NetworkTopology topology = new NetworkTopology();
+        readAdjacency(tag, TAG_TOWERS, topology.towerLinks);
+        readAdjacency(tag, TAG_OMNI, topology.omniLinks);
+        topology.towerLinks.keySet().forEach(topology::indexNode);
+        topology.omniLinks.keySet().forEach(topology::indexNode);
+        return topology;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        writeAdjacency(tag, TAG_TOWERS, towerLinks);
+        writeAdjacency(tag, TAG_OMNI, omniLinks);
+        return tag;
+    }
+
+    // ---- 塔 ----
+
+    public void setTowerLinks(BlockPos tower, Collection<BlockPos> links) {
+        if (replace(towerLinks, tower, links)) {
+            indexNode(tower);
+            version++;
+            setDirty();
+        }
+    }
+
+    public void removeTower(BlockPos tower) {
+        if (towerLinks.remove(tower) != null) {
+            unindexNode(tower);
+            version++;
+            setDirty();
+        }
+    }
+
+    public boolean hasTower(BlockPos tower) {
+        return towerLinks.containsKey(tower);
+    }
+
+    public Set<BlockPos> getTowers() {
+        return Collections.unmodifiableSet(towerLinks.keySet());
+    }
+
+    public Set<BlockPos> getTowerLinks(BlockPos tower) {
+        Set<BlockPos> links = towerLinks.get(tower);
+        return links == null ? Set.of() : Collections.unmodifiableSet(links);
+    }
+
+    public int getTowerCount() {
+        return towerLinks.size();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 与当前拓扑一致的路由计划；尚未构建或已过期时返回 null。
+     */
+    public RoutingPlan getCurrentPlan() {
+        RoutingPlan current = plan.get();
+        return current != null && current.getVersion() == version ? current : null;
+    }
+
+    /**
+     * 最近一次构建完成的路由计划，可能落后于当前拓扑；从未构建时返回 null。
+     */
+    public RoutingPlan getLatestPlan() {
+        return plan.get();
+    }
+
+    /**
+     * 拓扑自上次提交后有变化时复制快照并提交后台分析。同一 tick 内的多次编辑只提交一次。
+     */
+    public void refreshPlan() {
+        if (scheduledVersion == version) {
+            return;
+        }
+        scheduledVersion = version;
+
+        long[] nodes = new long[towerLinks.size()];
+        long[][] targets = new long[nodes.length][];
+        int i = 0;
+        for (Map.Entry<BlockPos, Set<BlockPos>> entry : towerLinks.entrySet()) {
+            nodes[i] = entry.getKey().asLong();
+            long[] links = new long[entry.getValue().size()];
+            int j = 0;
+            for (BlockPos link : entry.getValue()) {
+                links[j++] = link.asLong();
+            }
+            targets[i++] = links;
+        }
+        RoutingPlanner.submit(version, nodes, targets, plan);
+    }
+
+    // ---- 全向光束成型器 ----
+
+    public void setOmniLinks(BlockPos omni, Collection<BlockPos> spokes) {
+        if (replace(omniLinks, omni, spokes)) {
+            indexNode(omni);
+            setDirty();
+        }
+    }
+
+    public void removeOmni(BlockPos omni) {
+        if (omniLinks.remove(omni) != null) {
+            unindexNode(omni);
+            setDirty();
+        }
+    }
+
+    public Set<BlockPos> getOmniFormers() {
+        return Collections.unmodifiableSet(omniLinks.keySet());
+    }
+
+    public Set<BlockPos> getOmniLinks(BlockPos omni) {
+        Set<BlockPos> spokes = omniLinks.get(omni);
+        return spokes == null ? Set.of() : Collections.unmodifiableSet(spokes);
+    }
+
+    // ---- 对账 ----
+
+    /**
+     * 区块加载时调用：移除该区块中已不再是对应方块的条目。只检查登记在该区块的位置。
+     */
+    public void pruneChunk(ChunkAccess chunk) {
+        Set<BlockPos> nodes = nodesByChunk.get(chunk.getPos().toLong());
+        if (nodes == null) {
+            return;
+        }
+        boolean towersChanged = false;
+        boolean omniChanged = false;
+        for (Iterator<BlockPos> it = nodes.iterator(); it.hasNext(); ) {
+            BlockPos pos = it.next();
+            boolean tower = towerLinks.containsKey(pos);
+            boolean omni = omniLinks.containsKey(pos);
+            if (tower && !(chunk.getBlockState(pos).getBlock() instanceof WirelessEnergyTowerBlock)) {
+                towerLinks.remove(pos);
+                towersChanged = true;
+                tower = false;
+            }
+            if (omni && !(chunk.getBlockState(pos).getBlock() instanceof OmniBeamFormerBlock)) {
+                omniLinks.remove(pos);
+                omniChanged = true;
+                omni = false;
+            }
+            if (!tower && !omni) {
+                it.remove();
+            }
+        }
+        if (nodes.isEmpty()) {
+            nodesByChunk.remove(chunk.getPos().toLong());
+        }
+        if (towersChanged) {
+            version++;
+        }
+        if (towersChanged || omniChanged) {
+            setDirty();
+        }
+    }
+
+    // ---- 内部 ----
+
+    private void indexNode(BlockPos pos) {
+        long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        Set<BlockPos> nodes = nodesByChunk.get(chunk);
+        if (nodes == null) {
+            nodes = new HashSet<>(4);
+            nodesByChunk.put(chunk, nodes);
+        }
+        nodes.add(pos.immutable());
+    }
+
+    private void unindexNode(BlockPos pos) {
+        // 另一张表中仍有该位置时保留索引
+        if (towerLinks.containsKey(pos) || omniLinks.containsKey(pos)) {
+            return;
+        }
+        long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        Set<BlockPos> nodes = nodesByChunk.get(chunk);
+        if (nodes != null && nodes.remove(pos) && nodes.isEmpty()) {
+            nodesByChunk.remove(chunk);
+        }
+    }
+
+    private static boolean replace(Map<BlockPos, Set<BlockPos>> map, BlockPos key, Collection<BlockPos> values) {
+        Set<BlockPos> current = map.get(key);
+        if (current != null && current.size() == values.size() && current.containsAll(values)) {
+            return false;
+        }
+        map.put(key.immutable(), new HashSet<>(values));
+        return true;
+    }
+
+    /**
+     * 邻接表编码为单个 LongArrayTag：[节点, 链接数, 链接..., 节点, 链接数, ...]。
+     */
+    private static void writeAdjacency(CompoundTag tag, String key, Map<BlockPos, Set<BlockPos>> map) {
+        int size = 0;
+        for (Set<BlockPos> values : map.values()) {
+            size += 2 + values.size();
+        }
+        long[] data = new long[size];
+        int i = 0;
+        for (Map.Entry<BlockPos, Set<BlockPos>> entry : map.entrySet()) {
+            data[i++] = entry.getKey().asLong();
+            data[i++] = entry.getValue().size();
+            for (BlockPos value : entry.getValue()) {
+                data[i++] = value.asLong();
+            }
+        }
+        tag.put(key, new LongArrayTag(data));
+    }
+
+    private static void readAdjacency(CompoundTag tag, String key, Map<BlockPos, Set<BlockPos>> out) {
+        if (!tag.contains(key, Tag.TAG_LONG_ARRAY)) {
+            return;
+        }
+        long[] data = tag.getLongArray(key);
+        int i = 0;
+        while (i + 1 < data.length) {
+            BlockPos node = BlockPos.of(data[i++]);
+            int count = (int) data[i++];
+            if (count < 0 || i + count > data.length) {
+                // 数据截断，丢弃剩余部分；方块实体加载时会重新登记
+                return;
+            }
+            Set<BlockPos> values = new HashSet<>(Math.max(4, count * 2));
+            for (int j = 0; j < count; j++) {
+                values.add(BlockPos.of(data[i++]));
+            }
+            out.put(node, values);
+        }
+    }
+}
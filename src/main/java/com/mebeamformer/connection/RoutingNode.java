@@ -0,0 +1,28 @@
+package com.mebeamformer.connection;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.Set;
+
+/**
+ * 塔表与 {@link EnergyRouter} 看到的能源塔，由能源塔方块实体实现。
+ */
+public interface RoutingNode {
+
+    BlockPos getBlockPos();
+
+    /**
+     * 已移除或已离开世界的塔：遍历前从塔表中清理，也不再处理。
+     */
+    boolean isDetached();
+
+    /**
+     * 目标区块已加载的链接（不含休眠链接）。
+     */
+    Set<BlockPos> getActiveLinks();
+
+    /**
+     * 脉冲间隔（tick），1 表示每 tick 传输。
+     */
+    int getPulseInterval();
+}
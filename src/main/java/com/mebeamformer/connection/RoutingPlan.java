@@ -0,0 +1,182 @@
+package com.mebeamformer.connection;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.Arrays;
+
+/**
+ * 单个维度塔网络的不可变路由计划，由 {@link RoutingPlanner} 在后台线程上根据拓扑快照构建。
+ * 每座塔的链接预先分为"其他塔"和"普通用电设备"两类，并给出连通分量与环结构；
+ * 构建完成后只读，可在服务端线程上无锁访问。
+ */
+public final class RoutingPlan {
+    private static final long[] EMPTY = new long[0];
+
+    private final long version;
+    private final Long2IntOpenHashMap indexByPos;
+    private final long[][] towerNeighbors;
+    private final long[][] consumers;
+    private final int[] componentIds;
+    private final int componentCount;
+    private final int cyclicComponentCount;
+
+    private RoutingPlan(long version, Long2IntOpenHashMap indexByPos, long[][] towerNeighbors, long[][] consumers,
+                        int[] componentIds, int componentCount, int cyclicComponentCount) {
+        this.version = version;
+        this.indexByPos = indexByPos;
+        this.towerNeighbors = towerNeighbors;
+        this.consumers = consumers;
+        this.componentIds = componentIds;
+        this.componentCount = componentCount;
+        this.cyclicComponentCount = cyclicComponentCount;
+    }
+
+    /**
+     * 拓扑版本号，与 {@link NetworkTopology#getVersion()} 相同时计划是最新的。
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean contains(long tower) {
+        return indexByPos.containsKey(tower);
+    }
+
+    /**
+     * 塔直接链接的其他塔（打包坐标）；未登记的塔返回空数组。
+     */
+    public long[] getTowerNeighbors(long tower) {
+        int index = indexByPos.get(tower);
+        return index < 0 ? EMPTY : towerNeighbors[index];
+    }
+
+    /**
+     * 塔直接链接的普通用电设备（打包坐标）；未登记的塔返回空数组。
+     */
+    public long[] getConsumers(long tower) {
+        int index = indexByPos.get(tower);
+        return index < 0 ? EMPTY : consumers[index];
+    }
+
+    public int getComponentId(long tower) {
+        int index = indexByPos.get(tower);
+        return index < 0 ? -1 : componentIds[index];
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * 含环的连通分量数量（按无向边计，边数不少于节点数即含环）。
+     */
+    public int getCyclicComponentCount() {
+        return cyclicComponentCount;
+    }
+
+    /**
+     * 根据拓扑快照构建计划。纯计算，不访问世界，可在任意线程调用。
+     *
+     * @param nodes   所有塔的打包坐标
+     * @param targets 与 nodes 一一对应的链接目标
+     */
+    static RoutingPlan build(long version, long[] nodes, long[][] targets) {
+        int n = nodes.length;
+        Long2IntOpenHashMap indexByPos = new Long2IntOpenHashMap(n);
+        indexByPos.defaultReturnValue(-1);
+        for (int i = 0; i < n; i++) {
+            indexByPos.put(nodes[i], i);
+        }
+
+        long[][] towerNeighbors = new long[n][];
+        long[][] consumers = new long[n][];
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+
+        // 无向边去重后按分量计数，用于判断环
+        int[] edgeCount = new int[n];
+        for (int i = 0; i < n; i++) {
+            long[] links = targets[i];
+            int towerCount = 0;
+            for (long target : links) {
+                if (indexByPos.containsKey(target)) {
+                    towerCount++;
+                }
+            }
+
+            long[] towers = towerCount == 0 ? EMPTY : new long[towerCount];
+            long[] others = towerCount == links.length ? EMPTY : new long[links.length - towerCount];
+            int t = 0;
+            int o = 0;
+            for (long target : links) {
+                int j = indexByPos.get(target);
+                if (j < 0) {
+                    others[o++] = target;
+                    continue;
+                }
+                towers[t++] = target;
+                // 双向链接只计一次：反向边存在时由下标较小的一端计数
+                if (j == i || i < j || !containsLink(targets[j], nodes[i])) {
+                    union(parent, i, j);
+                    edgeCount[i]++;
+                }
+            }
+            towerNeighbors[i] = towers;
+            consumers[i] = others;
+        }
+
+        int[] componentIds = new int[n];
+        int[] rootToComponent = new int[n];
+        Arrays.fill(rootToComponent, -1);
+        int componentCount = 0;
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            if (rootToComponent[root] < 0) {
+                rootToComponent[root] = componentCount++;
+            }
+            componentIds[i] = rootToComponent[root];
+        }
+
+        int[] nodesPerComponent = new int[componentCount];
+        int[] edgesPerComponent = new int[componentCount];
+        for (int i = 0; i < n; i++) {
+            nodesPerComponent[componentIds[i]]++;
+            edgesPerComponent[componentIds[i]] += edgeCount[i];
+        }
+        int cyclic = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (edgesPerComponent[c] >= nodesPerComponent[c]) {
+                cyclic++;
+            }
+        }
+
+        return new RoutingPlan(version, indexByPos, towerNeighbors, consumers, componentIds, componentCount, cyclic);
+    }
+
+    private static boolean containsLink(long[] links, long target) {
+        for (long link : links) {
+            if (link == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra != rb) {
+            parent[ra] = rb;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mebeamformer.connection;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 在后台线程上分析拓扑快照并发布 {@link RoutingPlan}。
+ * 服务端线程只负责复制快照（线性、无图遍历），分析结果通过原子引用发布，
+ * 网络在下一个 tick 读取；大型网络的拓扑编辑不会阻塞 tick。
+ */
+final class RoutingPlanner {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    // 单线程即可：同一维度的重建天然串行，旧版本结果不会覆盖新版本
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MEBF Routing Planner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private RoutingPlanner() {
+    }
+
+    static void submit(long version, long[] nodes, long[][] targets, AtomicReference<RoutingPlan> target) {
+        EXECUTOR.execute(() -> {
+            try {
+                RoutingPlan plan = RoutingPlan.build(version, nodes, targets);
+                target.accumulateAndGet(plan, (current, built) ->
+                        current == null || built.getVersion() > current.getVersion() ? built : current);
+            } catch (Exception e) {
+                LOGGER.warn("Failed to build routing plan for topology version {}", version, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package com.mebeamformer.connection;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 单个维度中已加载能源塔的结构化表（数组结构）。
+ * 塔按稠密下标存放，位置以 {@link BlockPos#asLong()} 打包在 long[] 中；注销时与末尾元素交换，O(1)。
+ * 活动链接以 CSR（压缩稀疏行）形式保存：第 i 座塔的链接目标为
+ * {@code linkTargets[linkStart[i] .. linkStart[i + 1])}，拓扑或休眠状态变化时标脏、下次遍历前整体重建。
+ * 只在服务端主线程上访问。
+ *
+ * @param <N> 塔（游戏中为能源塔方块实体，微基准中为替身）
+ */
+final class TowerTable<N extends RoutingNode> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private RoutingNode[] towers = new RoutingNode[INITIAL_CAPACITY];
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private int size;
+    private final Long2IntOpenHashMap indexByPos = new Long2IntOpenHashMap();
+
+    private int[] linkStart = new int[1];
+    private long[] linkTargets = new long[0];
+    private boolean adjacencyDirty = true;
+
+    // 遍历期间的注销延后到遍历结束，避免交换删除打乱下标
+    private boolean iterating;
+    private final List<N> pendingRemovals = new ArrayList<>();
+
+    TowerTable() {
+        indexByPos.defaultReturnValue(-1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    N tower(int index) {
+        return (N) towers[index];
+    }
+
+    long position(int index) {
+        return positions[index];
+    }
+
+    N get(BlockPos pos) {
+        int index = indexByPos.get(pos.asLong());
+        return index < 0 ? null : tower(index);
+    }
+
+    void add(N tower) {
+        long pos = tower.getBlockPos().asLong();
+        int existing = indexByPos.get(pos);
+        if (existing >= 0) {
+            // 同一位置重新注册（方块实体被替换）
+            towers[existing] = tower;
+            adjacencyDirty = true;
+            return;
+        }
+
+        if (size == towers.length) {
+            int capacity = size * 2;
+            towers = Arrays.copyOf(towers, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        towers[size] = tower;
+        positions[size] = pos;
+        indexByPos.put(pos, size);
+        size++;
+        adjacencyDirty = true;
+    }
+
+    boolean remove(N tower) {
+        long pos = tower.getBlockPos().asLong();
+        int index = indexByPos.get(pos);
+        if (index < 0 || towers[index] != tower) {
+            return false;
+        }
+        if (iterating) {
+            pendingRemovals.add(tower);
+            return true;
+        }
+
+        int last = size - 1;
+        indexByPos.remove(pos);
+        if (index != last) {
+            towers[index] = towers[last];
+            positions[index] = positions[last];
+            indexByPos.put(positions[index], index);
+        }
+        towers[last] = null;
+        size = last;
+        adjacencyDirty = true;
+        return true;
+    }
+
+    void markAdjacencyDirty() {
+        adjacencyDirty = true;
+    }
+
+    /**
+     * 遍历前调用：清理已移除的塔并在需要时重建 CSR 邻接。
+     */
+    void beginIteration() {
+        for (int i = size - 1; i >= 0; i--) {
+            N tower = tower(i);
+            if (tower.isDetached()) {
+                remove(tower);
+            }
+        }
+        if (adjacencyDirty) {
+            rebuildAdjacency();
+        }
+        iterating = true;
+    }
+
+    void endIteration() {
+        iterating = false;
+        if (!pendingRemovals.isEmpty()) {
+            for (N tower : pendingRemovals) {
+                remove(tower);
+            }
+            pendingRemovals.clear();
+        }
+    }
+
+    int linkStart(int index) {
+        return linkStart[index];
+    }
+
+    int linkEnd(int index) {
+        return linkStart[index + 1];
+    }
+
+    long linkTarget(int slot) {
+        return linkTargets[slot];
+    }
+
+    private void rebuildAdjacency() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += towers[i].getActiveLinks().size();
+        }
+
+        int[] starts = new int[size + 1];
+        long[] targets = new long[total];
+        int cursor = 0;
+        for (int i = 0; i < size; i++) {
+            starts[i] = cursor;
+            Set<BlockPos> links = towers[i].getActiveLinks();
+            for (BlockPos target : links) {
+                targets[cursor++] = target.asLong();
+            }
+        }
+        starts[size] = cursor;
+
+        linkStart = starts;
+        linkTargets = targets;
+        adjacencyDirty = false;
+    }
+}
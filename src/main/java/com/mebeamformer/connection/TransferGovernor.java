@@ -0,0 +1,90 @@
+package com.mebeamformer.connection;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * 根据服务端最近的 MSPT 调整能源塔的传输间隔。
+ * 服务端接近 50ms 时把间隔成倍拉长（每座塔每 N 个 tick 传输一次，各塔按位置错开），有余量时再逐步缩短。
+ * 每次传输按 Long.MAX_VALUE 请求，并按间隔重复最多 N 轮，补上单次调用有上限的来源在间隔内少传的量；
+ * 按 tick 限流的接收端（如 GT 机器的电流数）仍会损失吞吐，因此默认关闭。
+ * 只在服务端主线程上调用。
+ */
+public final class TransferGovernor {
+    // 每秒评估一次，避免间隔随单个尖峰来回抖动
+    private static final int EVALUATE_INTERVAL_TICKS = 20;
+    // 低于目标的 80% 才缩短间隔，留出迟滞区间
+    private static final float RELAX_RATIO = 0.8f;
+
+    private static volatile boolean enabled = false;
+    private static volatile float targetMspt = 45.0f;
+    private static volatile int maxInterval = 8;
+
+    private static volatile int interval = 1;
+    private static volatile float lastMspt;
+    private static long lastEvaluatedTick = Long.MIN_VALUE;
+
+    private TransferGovernor() {
+    }
+
+    public static void configure(boolean enable, int targetMillis, int maxTransferInterval) {
+        enabled = enable;
+        targetMspt = targetMillis;
+        maxInterval = Math.max(1, maxTransferInterval);
+        if (!enable) {
+            interval = 1;
+        } else {
+            interval = Math.min(interval, maxInterval);
+        }
+    }
+
+    /**
+     * 当前传输间隔倍数，1 表示每 tick 传输。
+     */
+    public static int getInterval() {
+        return interval;
+    }
+
+    /**
+     * 最近一次评估时读到的服务端平均 MSPT。
+     */
+    public static float getLastMspt() {
+        return lastMspt;
+    }
+
+    static void update(MinecraftServer server, long gameTime) {
+        if (!enabled || server == null) {
+            return;
+        }
+        if (lastEvaluatedTick != Long.MIN_VALUE && gameTime - lastEvaluatedTick < EVALUATE_INTERVAL_TICKS) {
+            return;
+        }
+        lastEvaluatedTick = gameTime;
+
+        float mspt = server.getAverageTickTime();
+        lastMspt = mspt;
+        int current = interval;
+        if (mspt >= targetMspt) {
+            interval = Math.min(maxInterval, current * 2);
+        } else if (mspt < targetMspt * RELAX_RATIO && current > 1) {
+            interval = Math.max(1, current / 2);
+        }
+    }
+
+    /**
+     * 塔在本 tick 是否需要传输。相位由位置决定，同一座塔的节奏稳定，不同塔均匀错开。
+     */
+    static boolean isDue(long packedPos, long gameTime, int interval) {
+        if (interval <= 1) {
+            return true;
+        }
+        long phase = Math.floorMod(HashCommon.mix(packedPos), (long) interval);
+        return Math.floorMod(gameTime, (long) interval) == phase;
+    }
+
+    static void reset() {
+        interval = 1;
+        lastMspt = 0.0f;
+        lastEvaluatedTick = Long.MIN_VALUE;
+    }
+}
@@ -1,16 +1,26 @@
 package com.mebeamformer.connection;
 
 import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
+import com.mebeamformer.diagnostics.NetworkTelemetry;
+import com.mebeamformer.diagnostics.RoutingMetrics;
+import com.mebeamformer.diagnostics.TickBudgetWatchdog;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 统一处理已加载的能源塔，避免每个方块实体自己 tick。
@@ -20,12 +30,18 @@ public class WirelessEnergyNetwork {
 
     private static volatile WirelessEnergyNetwork instance;
 
-    private final Map<BlockPos, WirelessEnergyTowerBlockEntity> registeredTowers = new ConcurrentHashMap<>();
+    // 每个维度一张塔表（稠密下标 + CSR 邻接）与一个路由器，只在服务端线程访问
+    private final Map<Level, TowerTable<WirelessEnergyTowerBlockEntity>> towersByLevel = new HashMap<>();
+    private final Map<Level, EnergyRouter<WirelessEnergyTowerBlockEntity, BlockEntity>> routersByLevel = new HashMap<>();
 
-    private final Map<Level, List<WirelessEnergyTowerBlockEntity>> towersByLevel = new ConcurrentHashMap<>();
+    // 链接目标所在区块 -> 关注该区块的塔，用于在区块加载/卸载时切换链接的休眠状态（只在服务端线程访问）
+    private final Map<Level, Map<Long, Set<WirelessEnergyTowerBlockEntity>>> towersByTargetChunk = new HashMap<>();
+    private final Map<WirelessEnergyTowerBlockEntity, Set<Long>> watchedChunks = new IdentityHashMap<>();
 
     private long lastExecutedTick = -1;      // 上次执行能量传输的游戏时间
     private boolean executedByMonitor = false; // 标记本次 tick 是否由监控方块触发
+    private int towersProcessed;             // 本 tick 实际处理的塔数量（遥测）
+    private int towersDeferred;              // 本 tick 推迟到后续 tick 处理的塔数量（遥测）
     
     private WirelessEnergyNetwork() {
     }
@@ -48,6 +64,35 @@ public class WirelessEnergyNetwork {
         }
     }
 
+    @SubscribeEvent
+    public static void onLevelLoad(LevelEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            // 维度加载时即读入拓扑，网络结构不依赖方块实体逐个 onLoad；没有存档的维度不创建
+            NetworkTopology.getIfPresent(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            getInstance().setChunkDormant(level, event.getChunk().getPos(), false);
+            // 只有完整区块的方块状态可信；逐区块清理未经正常破坏流程消失的拓扑条目
+            if (event.getChunk() instanceof LevelChunk) {
+                NetworkTopology topology = NetworkTopology.getIfPresent(level);
+                if (topology != null) {
+                    topology.pruneChunk(event.getChunk());
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            getInstance().setChunkDormant(level, event.getChunk().getPos(), true);
+        }
+    }
+
     @SubscribeEvent
     public static void onServerStopped(ServerStoppedEvent event) {
         getInstance().clear();
@@ -58,16 +103,13 @@ public class WirelessEnergyNetwork {
             return;
         }
         
-        BlockPos pos = tower.getBlockPos();
         Level level = tower.getLevel();
-        
         if (level == null) {
             return;
         }
 
-        registeredTowers.put(pos, tower);
-
-        towersByLevel.computeIfAbsent(level, k -> new ArrayList<>()).add(tower);
+        towersByLevel.computeIfAbsent(level, k -> new TowerTable<>()).add(tower);
+        watchLinks(tower);
     }
 
     public void unregisterTower(WirelessEnergyTowerBlockEntity tower) {
@@ -75,24 +117,17 @@ public class WirelessEnergyNetwork {
             return;
         }
         
-        BlockPos pos = tower.getBlockPos();
         Level level = tower.getLevel();
+        unwatchLinks(tower);
 
-        registeredTowers.remove(pos);
-
-        if (level != null) {
-            List<WirelessEnergyTowerBlockEntity> towers = towersByLevel.get(level);
-            if (towers != null) {
-                towers.remove(tower);
-                if (towers.isEmpty()) {
-                    towersByLevel.remove(level);
-                }
-            }
+        TowerTable<WirelessEnergyTowerBlockEntity> table = level != null ? towersByLevel.get(level) : null;
+        if (table != null) {
+            table.remove(tower);
         }
     }
 
     private void tickIfNeeded(boolean fromMonitor) {
-        if (registeredTowers.isEmpty()) {
+        if (getRegisteredTowerCount() == 0) {
             return;
         }
 
@@ -105,87 +140,241 @@ public class WirelessEnergyNetwork {
         lastExecutedTick = currentTick;
         executedByMonitor = fromMonitor;
 
-        tick();
+        long start = TickBudgetWatchdog.begin();
+        boolean telemetry = NetworkTelemetry.isActive();
+        long telemetryStart = telemetry ? System.nanoTime() : 0L;
+        if (RoutingMetrics.isEnabled()) {
+            RoutingMetrics metrics = RoutingMetrics.getInstance();
+            metrics.beginNetworkTick();
+            tick();
+            metrics.endNetworkTick();
+        } else {
+            tick();
+        }
+        if (telemetry) {
+            NetworkTelemetry.getInstance().endTick(System.nanoTime() - telemetryStart, towersProcessed, towersDeferred);
+        }
+        TickBudgetWatchdog.end(start);
     }
 
     private void tick() {
-        if (registeredTowers.isEmpty()) {
+        towersProcessed = 0;
+        towersDeferred = 0;
+        if (getRegisteredTowerCount() == 0) {
             return;
         }
 
-        for (Map.Entry<Level, List<WirelessEnergyTowerBlockEntity>> entry : towersByLevel.entrySet()) {
-            Level level = entry.getKey();
-            List<WirelessEnergyTowerBlockEntity> towers = entry.getValue();
-            
-            if (towers.isEmpty()) {
+        TransferGovernor.update(ServerLifecycleHooks.getCurrentServer(), lastExecutedTick);
+        int interval = TransferGovernor.getInterval();
+
+        for (Map.Entry<Level, TowerTable<WirelessEnergyTowerBlockEntity>> entry : towersByLevel.entrySet()) {
+            TowerTable<WirelessEnergyTowerBlockEntity> table = entry.getValue();
+            if (table.isEmpty()) {
                 continue;
             }
 
-            processTowersInLevel(level, towers);
+            Level level = entry.getKey();
+            if (level instanceof ServerLevel serverLevel) {
+                // 拓扑有变化时提交后台分析，结果在之后的 tick 中生效
+                NetworkTopology.get(serverLevel).refreshPlan();
+            }
+            EnergyRouter<WirelessEnergyTowerBlockEntity, BlockEntity> router = routersByLevel.computeIfAbsent(level,
+                    k -> new EnergyRouter<>(new WirelessEnergyTowerBlockEntity.NetworkGraph(k)));
+            router.tick(table, lastExecutedTick, interval);
+            towersProcessed += router.getTowersProcessed();
+            towersDeferred += router.getTowersDeferred();
         }
     }
 
     private long getCurrentGameTime() {
-        for (WirelessEnergyTowerBlockEntity tower : registeredTowers.values()) {
-            if (tower.getLevel() != null) {
-                return tower.getLevel().getGameTime();
+        for (Map.Entry<Level, TowerTable<WirelessEnergyTowerBlockEntity>> entry : towersByLevel.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                return entry.getKey().getGameTime();
             }
         }
         return System.currentTimeMillis() / 50; // 后备方案
     }
 
-    private void processTowersInLevel(Level level, List<WirelessEnergyTowerBlockEntity> towers) {
-        towers.removeIf(tower -> tower.isRemoved() || tower.getLevel() == null);
-
-        for (WirelessEnergyTowerBlockEntity tower : towers) {
-            processSingleTower(tower);
-        }
+    /**
+     * 与当前拓扑一致的路由计划；后台分析尚未完成时返回 null，调用方应退回实时遍历。
+     */
+    @Nullable
+    public RoutingPlan getRoutingPlan(Level level) {
+        return level instanceof ServerLevel serverLevel ? NetworkTopology.get(serverLevel).getCurrentPlan() : null;
     }
 
-    private void processSingleTower(WirelessEnergyTowerBlockEntity tower) {
-        if (tower.isRemoved()) {
+    /**
+     * 塔的链接变化后重建其区块关注关系并标记邻接需要重建（服务端）。
+     */
+    public void onLinksChanged(WirelessEnergyTowerBlockEntity tower) {
+        TowerTable<WirelessEnergyTowerBlockEntity> table = towersByLevel.get(tower.getLevel());
+        if (table == null || table.get(tower.getBlockPos()) != tower) {
             return;
         }
-        
+        unwatchLinks(tower);
+        watchLinks(tower);
+        table.markAdjacencyDirty();
+    }
+
+    private void watchLinks(WirelessEnergyTowerBlockEntity tower) {
         Level level = tower.getLevel();
-        if (level == null) {
+        if (level == null || tower.getLinks().isEmpty()) {
             return;
         }
 
-        Set<BlockPos> links = tower.getLinks();
-        if (links.isEmpty()) {
-            return;
+        Map<Long, Set<WirelessEnergyTowerBlockEntity>> byChunk =
+                towersByTargetChunk.computeIfAbsent(level, k -> new HashMap<>());
+        Set<Long> chunks = new HashSet<>();
+        for (BlockPos target : tower.getLinks()) {
+            long chunk = ChunkPos.asLong(target);
+            if (chunks.add(chunk)) {
+                byChunk.computeIfAbsent(chunk, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(tower);
+            }
+            tower.setLinkDormant(target, !level.hasChunkAt(target));
         }
+        watchedChunks.put(tower, chunks);
+    }
 
-        Set<BlockPos> validLinks = new HashSet<>();
-        for (BlockPos targetPos : new HashSet<>(links)) {
-            BlockEntity targetBE = level.getBlockEntity(targetPos);
-            if (targetBE == null) {
-                tower.removeLink(targetPos);
-                continue;
+    private void unwatchLinks(WirelessEnergyTowerBlockEntity tower) {
+        Set<Long> chunks = watchedChunks.remove(tower);
+        Map<Long, Set<WirelessEnergyTowerBlockEntity>> byChunk = towersByTargetChunk.get(tower.getLevel());
+        if (chunks == null || byChunk == null) {
+            return;
+        }
+        for (Long chunk : chunks) {
+            Set<WirelessEnergyTowerBlockEntity> towers = byChunk.get(chunk);
+            if (towers != null) {
+                towers.remove(tower);
+                if (towers.isEmpty()) {
+                    byChunk.remove(chunk);
+                }
             }
+        }
+        if (byChunk.isEmpty()) {
+            towersByTargetChunk.remove(tower.getLevel());
+        }
+    }
 
-            tower.pushEnergyToTarget(targetBE);
-            validLinks.add(targetPos);
+    private void setChunkDormant(Level level, ChunkPos chunkPos, boolean dormant) {
+        Map<Long, Set<WirelessEnergyTowerBlockEntity>> byChunk = towersByTargetChunk.get(level);
+        if (byChunk == null) {
+            return;
         }
+        Set<WirelessEnergyTowerBlockEntity> towers = byChunk.get(chunkPos.toLong());
+        if (towers == null) {
+            return;
+        }
+        boolean changed = false;
+        for (WirelessEnergyTowerBlockEntity tower : towers) {
+            for (BlockPos target : tower.getLinks()) {
+                if (target.getX() >> 4 == chunkPos.x && target.getZ() >> 4 == chunkPos.z) {
+                    changed |= tower.setLinkDormant(target, dormant);
+                }
+            }
+        }
+        TowerTable<WirelessEnergyTowerBlockEntity> table = towersByLevel.get(level);
+        if (changed && table != null) {
+            table.markAdjacencyDirty();
+        }
+    }
 
-        if (!validLinks.equals(tower.getLastSyncedLinks())) {
-            tower.updateSyncedLinks(validLinks);
+    /**
+     * 目标区块未加载的链接总数。只在服务端线程调用。
+     */
+    public int getDormantLinkCount() {
+        int dormant = 0;
+        for (TowerTable<WirelessEnergyTowerBlockEntity> table : towersByLevel.values()) {
+            for (int i = 0; i < table.size(); i++) {
+                dormant += table.tower(i).getDormantLinkCount();
+            }
         }
+        return dormant;
     }
 
     private void clear() {
-        registeredTowers.clear();
+        TransferGovernor.reset();
         towersByLevel.clear();
+        routersByLevel.clear();
+        towersByTargetChunk.clear();
+        watchedChunks.clear();
     }
 
     public int getRegisteredTowerCount() {
-        return registeredTowers.size();
+        int count = 0;
+        for (TowerTable<WirelessEnergyTowerBlockEntity> table : towersByLevel.values()) {
+            count += table.size();
+        }
+        return count;
     }
 
     public int getTowerCountInLevel(Level level) {
-        List<WirelessEnergyTowerBlockEntity> towers = towersByLevel.get(level);
-        return towers == null ? 0 : towers.size();
+        TowerTable<WirelessEnergyTowerBlockEntity> table = towersByLevel.get(level);
+        return table == null ? 0 : table.size();
+    }
+
+    /**
+     * 各维度已注册塔的数量，键为维度 ID。只在服务端线程调用。
+     */
+    public Map<String, Integer> getTowerCountsByLevel() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<Level, TowerTable<WirelessEnergyTowerBlockEntity>> entry : towersByLevel.entrySet()) {
+            counts.merge(entry.getKey().dimension().location().toString(), entry.getValue().size(), Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * 没有任何链接的塔数量。只在服务端线程调用。
+     */
+    public int getIdleTowerCount() {
+        int idle = 0;
+        for (TowerTable<WirelessEnergyTowerBlockEntity> table : towersByLevel.values()) {
+            for (int i = 0; i < table.size(); i++) {
+                if (table.tower(i).getLinks().isEmpty()) {
+                    idle++;
+                }
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * 按塔与塔之间的链接统计连通分量数量，包括未加载区域中的塔（来自维度拓扑）。只在服务端线程调用。
+     * 只读取后台路由计划（可能落后一两个 tick），不在本线程遍历拓扑；尚无计划的维度不计入。
+     */
+    public int countComponents() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return 0;
+        }
+        int components = 0;
+        for (ServerLevel level : server.getAllLevels()) {
+            NetworkTopology topology = NetworkTopology.get(level);
+            topology.refreshPlan();
+            RoutingPlan plan = topology.getLatestPlan();
+            if (plan != null) {
+                components += plan.getComponentCount();
+            }
+        }
+        return components;
+    }
+
+    /**
+     * 含环的连通分量数量，来自最近一次后台路由计划；尚无计划的维度不计入。只在服务端线程调用。
+     */
+    public int countCyclicComponents() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return 0;
+        }
+        int cyclic = 0;
+        for (ServerLevel level : server.getAllLevels()) {
+            RoutingPlan plan = NetworkTopology.get(level).getLatestPlan();
+            if (plan != null) {
+                cyclic += plan.getCyclicComponentCount();
+            }
+        }
+        return cyclic;
     }
 
     public void triggerPerformanceCheck() {
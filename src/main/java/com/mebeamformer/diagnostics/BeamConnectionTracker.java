@@ -0,0 +1,74 @@
+package com.mebeamformer.diagnostics;
+
+import appeng.api.networking.IGridConnection;
+import appeng.api.networking.IGridNode;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 跟踪光束成型器创建的 AE2 网格连接。
+ * 连接以弱引用保存，节点被 AE2 直接销毁时也不会泄漏；存活数在服务端线程上按需清点。
+ */
+public final class BeamConnectionTracker {
+    private static final Set<IGridConnection> CONNECTIONS = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final LongAdder CREATED = new LongAdder();
+    private static final LongAdder DESTROYED = new LongAdder();
+
+    private BeamConnectionTracker() {
+    }
+
+    public static void onCreated(IGridConnection connection) {
+        CREATED.increment();
+        synchronized (CONNECTIONS) {
+            CONNECTIONS.add(connection);
+        }
+    }
+
+    public static void onDestroyed(IGridConnection connection) {
+        DESTROYED.increment();
+        synchronized (CONNECTIONS) {
+            CONNECTIONS.remove(connection);
+        }
+    }
+
+    /**
+     * 清点仍挂在节点上的连接；只在服务端线程调用。
+     */
+    public static int countLive() {
+        synchronized (CONNECTIONS) {
+            Iterator<IGridConnection> it = CONNECTIONS.iterator();
+            while (it.hasNext()) {
+                if (!isLive(it.next())) {
+                    it.remove();
+                }
+            }
+            return CONNECTIONS.size();
+        }
+    }
+
+    private static boolean isLive(IGridConnection connection) {
+        try {
+            IGridNode a = connection.a();
+            return a != null && a.getConnections().contains(connection);
+        } catch (RuntimeException ignored) {
+            return false;
+        }
+    }
+
+    public static long getCreated() {
+        return CREATED.sum();
+    }
+
+    public static long getDestroyed() {
+        return DESTROYED.sum();
+    }
+
+    public static void resetCounters() {
+        CREATED.reset();
+        DESTROYED.reset();
+    }
+}
@@ -0,0 +1,73 @@
+package com.mebeamformer.diagnostics;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 模组内部缓存的命中统计，始终开启（每次查询仅一次分段计数）。
+ */
+public final class CacheMetrics {
+    /** 能源塔邻居能量源缓存。 */
+    public static final Counter NEIGHBOR_SOURCE = new Counter("neighborSource");
+    /** 链接目标解析出的能量后端。 */
+    public static final Counter RESOLVED_TARGET = new Counter("resolvedTarget");
+
+    private static final List<Counter> ALL = List.of(NEIGHBOR_SOURCE, RESOLVED_TARGET);
+
+    private CacheMetrics() {
+    }
+
+    public static List<Counter> all() {
+        return ALL;
+    }
+
+    public static void resetAll() {
+        for (Counter counter : ALL) {
+            counter.reset();
+        }
+    }
+
+    public static final class Counter {
+        private final String name;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private Counter(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void hit() {
+            hits.increment();
+        }
+
+        public void miss() {
+            misses.increment();
+        }
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        /**
+         * 命中率，0~1；尚无查询时返回 0。
+         */
+        public double getHitRate() {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? 0.0d : (double) h / total;
+        }
+
+        public void reset() {
+            hits.reset();
+            misses.reset();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.mebeamformer.diagnostics;
+
+import com.mebeamformer.ME_Beam_Former;
+import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.GlobalPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@code /mebf profile} 的采样器。
+ * 在指定 tick 数内记录每座能源塔与每个光束成型器的耗时，以及能力查询、传输次数与传输能量，
+ * 结束后按塔、塔网络分量与光束成型器输出耗时最高的条目。无需任何外部剖析模组。
+ */
+@Mod.EventBusSubscriber(modid = ME_Beam_Former.MODID)
+public final class NetworkProfiler {
+    private static volatile Session session;
+
+    private NetworkProfiler() {
+    }
+
+    public static boolean isActive() {
+        return session != null;
+    }
+
+    /**
+     * 开始一次采样；已有采样在运行时返回 false。
+     */
+    public static boolean start(CommandSourceStack source, int ticks, int topK) {
+        if (session != null) {
+            return false;
+        }
+        session = new Session(source, ticks, topK);
+        RoutingMetrics.setProfiling(true);
+        return true;
+    }
+
+    /**
+     * 采样一座塔的一次处理；只在 {@link #isActive()} 为真时调用。
+     */
+    public static void profileTower(WirelessEnergyTowerBlockEntity tower,
+            Consumer<WirelessEnergyTowerBlockEntity> processor) {
+        Session current = session;
+        Level level = tower.getLevel();
+        if (current == null || level == null) {
+            processor.accept(tower);
+            return;
+        }
+
+        RoutingMetrics metrics = RoutingMetrics.getInstance();
+        RoutingMetrics.Snapshot before = metrics.snapshot();
+        long start = System.nanoTime();
+        processor.accept(tower);
+        long elapsed = System.nanoTime() - start;
+        RoutingMetrics.Snapshot delta = metrics.snapshot().since(before);
+
+        TowerSample sample = current.towers.computeIfAbsent(
+                GlobalPos.of(level.dimension(), tower.getBlockPos()), k -> new TowerSample());
+        sample.nanos += elapsed;
+        sample.capabilityLookups += delta.capabilityLookups;
+        sample.transfers += delta.directPushes + delta.towerToTowerPushes;
+        sample.energy += delta.directEnergy;
+    }
+
+    /**
+     * 开始计时光束成型器；未采样时返回 0。
+     */
+    public static long begin() {
+        return session != null ? System.nanoTime() : 0L;
+    }
+
+    public static void endBeamFormer(Level level, BlockPos pos, String kind, long start) {
+        Session current = session;
+        if (start == 0L || current == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        BeamSample sample = current.beamFormers.computeIfAbsent(
+                GlobalPos.of(level.dimension(), pos), k -> new BeamSample(kind));
+        sample.nanos += elapsed;
+        current.beamFormerNanos += elapsed;
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        Session current = session;
+        if (event.phase != TickEvent.Phase.END || current == null) {
+            return;
+        }
+        if (++current.elapsedTicks < current.ticks) {
+            return;
+        }
+
+        session = null;
+        RoutingMetrics.setProfiling(false);
+        current.report();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        session = null;
+        RoutingMetrics.setProfiling(false);
+    }
+
+    private static String micros(long nanos, int ticks) {
+        return String.format("%.1f", nanos / 1000.0d / Math.max(1, ticks));
+    }
+
+    private static String perTick(long value, int ticks) {
+        return String.format("%.1f", (double) value / Math.max(1, ticks));
+    }
+
+    private static String describePos(GlobalPos pos) {
+        BlockPos p = pos.pos();
+        return p.getX() + ", " + p.getY() + ", " + p.getZ();
+    }
+
+    private static final class TowerSample {
+        long nanos;
+        long capabilityLookups;
+        long transfers;
+        long energy;
+    }
+
+    private static final class BeamSample {
+        final String kind;
+        long nanos;
+
+        BeamSample(String kind) {
+            this.kind = kind;
+        }
+    }
+
+    private static final class ComponentSample {
+        final GlobalPos anchor;
+        int size;
+        long nanos;
+        long energy;
+
+        ComponentSample(GlobalPos anchor) {
+            this.anchor = anchor;
+        }
+    }
+
+    private static final class Session {
+        final CommandSourceStack source;
+        final int ticks;
+        final int topK;
+        final Map<GlobalPos, TowerSample> towers = new HashMap<>();
+        final Map<GlobalPos, BeamSample> beamFormers = new HashMap<>();
+        long beamFormerNanos;
+        int elapsedTicks;
+
+        Session(CommandSourceStack source, int ticks, int topK) {
+            this.source = source;
+            this.ticks = ticks;
+            this.topK = topK;
+        }
+
+        void report() {
+            long towerNanos = 0L;
+            for (TowerSample sample : towers.values()) {
+                towerNanos += sample.nanos;
+            }
+
+            send(Component.translatable("command.me_beam_former.profile.header",
+                    elapsedTicks, micros(towerNanos, elapsedTicks), micros(beamFormerNanos, elapsedTicks)));
+
+            send(Component.translatable("command.me_beam_former.profile.towers"));
+            List<Map.Entry<GlobalPos, TowerSample>> towerEntries = new ArrayList<>(towers.entrySet());
+            towerEntries.sort(Comparator.comparingLong(
+                    (Map.Entry<GlobalPos, TowerSample> e) -> e.getValue().nanos).reversed());
+            if (towerEntries.isEmpty()) {
+                send(Component.translatable("command.me_beam_former.profile.empty"));
+            }
+            for (int i = 0; i < Math.min(topK, towerEntries.size()); i++) {
+                GlobalPos pos = towerEntries.get(i).getKey();
+                TowerSample sample = towerEntries.get(i).getValue();
+                send(Component.translatable("command.me_beam_former.profile.tower",
+                        describePos(pos), pos.dimension().location().toString(),
+                        micros(sample.nanos, elapsedTicks),
+                        perTick(sample.capabilityLookups, elapsedTicks),
+                        perTick(sample.transfers, elapsedTicks),
+                        perTick(sample.energy, elapsedTicks)));
+            }
+
+            send(Component.translatable("command.me_beam_former.profile.components"));
+            List<ComponentSample> components = buildComponents();
+            components.sort(Comparator.comparingLong((ComponentSample c) -> c.nanos).reversed());
+            if (components.isEmpty()) {
+                send(Component.translatable("command.me_beam_former.profile.empty"));
+            }
+            for (int i = 0; i < Math.min(topK, components.size()); i++) {
+                ComponentSample component = components.get(i);
+                send(Component.translatable("command.me_beam_former.profile.component",
+                        component.size, describePos(component.anchor),
+                        component.anchor.dimension().location().toString(),
+                        micros(component.nanos, elapsedTicks),
+                        perTick(component.energy, elapsedTicks)));
+            }
+
+            send(Component.translatable("command.me_beam_former.profile.beam_formers"));
+            List<Map.Entry<GlobalPos, BeamSample>> beamEntries = new ArrayList<>(beamFormers.entrySet());
+            beamEntries.sort(Comparator.comparingLong(
+                    (Map.Entry<GlobalPos, BeamSample> e) -> e.getValue().nanos).reversed());
+            if (beamEntries.isEmpty()) {
+                send(Component.translatable("command.me_beam_former.profile.empty"));
+            }
+            for (int i = 0; i < Math.min(topK, beamEntries.size()); i++) {
+                GlobalPos pos = beamEntries.get(i).getKey();
+                BeamSample sample = beamEntries.get(i).getValue();
+                send(Component.translatable("command.me_beam_former.profile.beam_former",
+                        sample.kind, describePos(pos), pos.dimension().location().toString(),
+                        micros(sample.nanos, elapsedTicks)));
+            }
+        }
+
+        /**
+         * 按塔之间的链接把采样到的塔划分为连通分量。
+         */
+        private List<ComponentSample> buildComponents() {
+            List<ComponentSample> components = new ArrayList<>();
+            MinecraftServer server = source.getServer();
+            Set<GlobalPos> assigned = new HashSet<>();
+            ArrayDeque<GlobalPos> queue = new ArrayDeque<>();
+
+            for (GlobalPos root : towers.keySet()) {
+                if (!assigned.add(root)) {
+                    continue;
+                }
+
+                ComponentSample component = new ComponentSample(root);
+                queue.add(root);
+                while (!queue.isEmpty()) {
+                    GlobalPos current = queue.poll();
+                    TowerSample sample = towers.get(current);
+                    component.size++;
+                    component.nanos += sample.nanos;
+                    component.energy += sample.energy;
+
+                    for (BlockPos linked : getTowerLinks(server, current)) {
+                        GlobalPos next = GlobalPos.of(current.dimension(), linked);
+                        if (towers.containsKey(next) && assigned.add(next)) {
+                            queue.add(next);
+                        }
+                    }
+                }
+                components.add(component);
+            }
+            return components;
+        }
+
+        private static Set<BlockPos> getTowerLinks(MinecraftServer server, GlobalPos pos) {
+            ResourceKey<Level> dimension = pos.dimension();
+            ServerLevel level = server.getLevel(dimension);
+            if (level == null) {
+                return Set.of();
+            }
+            BlockEntity be = level.getBlockEntity(pos.pos());
+            return be instanceof WirelessEnergyTowerBlockEntity tower ? tower.getLinks() : Set.of();
+        }
+
+        private void send(Component message) {
+            source.sendSuccess(() -> message, false);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.mebeamformer.diagnostics;
+
+import net.minecraft.nbt.CompoundTag;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 能源网络遥测，供能源网络监控方块展示。
+ * 只有存在使用者（已加载的监控方块或 JMX）时才采集；热路径上的计数使用分段计数器，
+ * 每个网络 tick 结束时汇总一次写入滚动分位数窗口。
+ * 分位数每 {@link #SNAPSHOT_INTERVAL_TICKS} 个网络 tick 最多排序计算一次，所有监控方块与 JMX 共用同一份快照。
+ */
+public final class NetworkTelemetry {
+    // 约一分钟的采样窗口
+    public static final int WINDOW_TICKS = 1200;
+    // 分位数快照的刷新间隔，与监控方块的同步间隔一致
+    public static final int SNAPSHOT_INTERVAL_TICKS = 20;
+
+    private static final NetworkTelemetry INSTANCE = new NetworkTelemetry();
+
+    private final AtomicInteger activeConsumers = new AtomicInteger();
+
+    private final LongAdder energyMoved = new LongAdder();
+    private final LongAdder ae2Extractions = new LongAdder();
+
+    private final RollingHistogram tickNanos = new RollingHistogram(WINDOW_TICKS);
+    private final RollingHistogram towersProcessed = new RollingHistogram(WINDOW_TICKS);
+    private final RollingHistogram deferredWork = new RollingHistogram(WINDOW_TICKS);
+    private final RollingHistogram energyPerTick = new RollingHistogram(WINDOW_TICKS);
+    private final RollingHistogram ae2ExtractionsPerTick = new RollingHistogram(WINDOW_TICKS);
+
+    // 已写入窗口的网络 tick 数与最近一次快照
+    private volatile long ticksRecorded;
+    private Snapshot snapshot = Snapshot.EMPTY;
+    private long snapshotAt = Long.MIN_VALUE;
+
+    private NetworkTelemetry() {
+    }
+
+    public static NetworkTelemetry getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isActive() {
+        return INSTANCE.activeConsumers.get() > 0;
+    }
+
+    public void acquire() {
+        activeConsumers.incrementAndGet();
+    }
+
+    public void release() {
+        if (activeConsumers.decrementAndGet() <= 0) {
+            activeConsumers.set(0);
+            clear();
+        }
+    }
+
+    public void recordEnergy(long amount) {
+        if (amount > 0) {
+            energyMoved.add(amount);
+        }
+    }
+
+    public void recordAE2Extraction() {
+        ae2Extractions.increment();
+    }
+
+    /**
+     * 网络 tick 结束时调用，把本 tick 的计数写入窗口。
+     */
+    public void endTick(long nanos, int processed, int deferred) {
+        tickNanos.record(nanos);
+        towersProcessed.record(processed);
+        deferredWork.record(deferred);
+        energyPerTick.record(energyMoved.sumThenReset());
+        ae2ExtractionsPerTick.record(ae2Extractions.sumThenReset());
+        ticksRecorded++;
+    }
+
+    public void clear() {
+        energyMoved.reset();
+        ae2Extractions.reset();
+        tickNanos.clear();
+        towersProcessed.clear();
+        deferredWork.clear();
+        energyPerTick.clear();
+        ae2ExtractionsPerTick.clear();
+        synchronized (this) {
+            snapshot = Snapshot.EMPTY;
+            snapshotAt = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * 当前的分位数快照；距上次计算不足 {@link #SNAPSHOT_INTERVAL_TICKS} 个网络 tick 时直接复用。
+     */
+    public synchronized Snapshot snapshot() {
+        long ticks = ticksRecorded;
+        if (snapshotAt == Long.MIN_VALUE || ticks - snapshotAt >= SNAPSHOT_INTERVAL_TICKS) {
+            snapshot = new Snapshot(tickNanos.size(), tickNanos.percentiles(), towersProcessed.percentiles(),
+                    deferredWork.percentiles(), energyPerTick.percentiles(), ae2ExtractionsPerTick.percentiles());
+            snapshotAt = ticks;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 以网络 tick 耗时的 p95 相对预算估算负载，0~1 以上。
+     */
+    public double getLoad(long budgetNanos) {
+        if (budgetNanos <= 0) {
+            return 0.0d;
+        }
+        return (double) snapshot().tickNanos.p95 / budgetNanos;
+    }
+
+    public RollingHistogram.Percentiles getTickNanos() {
+        return snapshot().tickNanos;
+    }
+
+    public RollingHistogram.Percentiles getEnergyPerTick() {
+        return snapshot().energyPerTick;
+    }
+
+    public RollingHistogram.Percentiles getDeferredWork() {
+        return snapshot().deferredWork;
+    }
+
+    public CompoundTag write() {
+        // 快照的标签是共享的，调用方拿到副本
+        return snapshot().tag.copy();
+    }
+
+    private static CompoundTag write(RollingHistogram.Percentiles percentiles) {
+        CompoundTag tag = new CompoundTag();
+        tag.putLong("p50", percentiles.p50);
+        tag.putLong("p95", percentiles.p95);
+        tag.putLong("p99", percentiles.p99);
+        tag.putLong("max", percentiles.max);
+        return tag;
+    }
+
+    private static CompoundTag writeMicros(RollingHistogram.Percentiles percentiles) {
+        return write(new RollingHistogram.Percentiles(
+                percentiles.p50 / 1000L, percentiles.p95 / 1000L, percentiles.p99 / 1000L, percentiles.max / 1000L));
+    }
+
+    /**
+     * 一次计算得到的全部分位数及其 NBT 形式（用于界面同步与 /data 查询）。
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, RollingHistogram.Percentiles.EMPTY,
+                RollingHistogram.Percentiles.EMPTY, RollingHistogram.Percentiles.EMPTY,
+                RollingHistogram.Percentiles.EMPTY, RollingHistogram.Percentiles.EMPTY);
+
+        public final RollingHistogram.Percentiles tickNanos;
+        public final RollingHistogram.Percentiles towersProcessed;
+        public final RollingHistogram.Percentiles deferredWork;
+        public final RollingHistogram.Percentiles energyPerTick;
+        public final RollingHistogram.Percentiles ae2Extractions;
+        private final CompoundTag tag;
+
+        Snapshot(int samples, RollingHistogram.Percentiles tickNanos, RollingHistogram.Percentiles towersProcessed,
+                 RollingHistogram.Percentiles deferredWork, RollingHistogram.Percentiles energyPerTick,
+                 RollingHistogram.Percentiles ae2Extractions) {
+            this.tickNanos = tickNanos;
+            this.towersProcessed = towersProcessed;
+            this.deferredWork = deferredWork;
+            this.energyPerTick = energyPerTick;
+            this.ae2Extractions = ae2Extractions;
+            this.tag = new CompoundTag();
+            tag.putInt("Samples", samples);
+            tag.put("TickMicros", writeMicros(tickNanos));
+            tag.put("TowersProcessed", write(towersProcessed));
+            tag.put("DeferredWork", write(deferredWork));
+            tag.put("EnergyPerTick", write(energyPerTick));
+            tag.put("AE2Extractions", write(ae2Extractions));
+        }
+    }
+}
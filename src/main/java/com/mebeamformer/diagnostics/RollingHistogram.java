@@ -0,0 +1,71 @@
+package com.mebeamformer.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * 固定窗口的滚动分位数统计。
+ * 写入只是一次数组赋值；分位数在查询时对窗口副本排序得到，查询频率远低于写入。
+ */
+public final class RollingHistogram {
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    public RollingHistogram(int window) {
+        this.samples = new long[Math.max(1, window)];
+    }
+
+    public synchronized void record(long value) {
+        samples[next] = value;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    public synchronized void clear() {
+        next = 0;
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 一次性取出窗口内的常用分位数，避免重复排序。
+     */
+    public Percentiles percentiles() {
+        long[] copy;
+        synchronized (this) {
+            copy = Arrays.copyOf(samples, size);
+        }
+        if (copy.length == 0) {
+            return Percentiles.EMPTY;
+        }
+
+        Arrays.sort(copy);
+        return new Percentiles(at(copy, 0.50d), at(copy, 0.95d), at(copy, 0.99d), copy[copy.length - 1]);
+    }
+
+    private static long at(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    public static final class Percentiles {
+        public static final Percentiles EMPTY = new Percentiles(0L, 0L, 0L, 0L);
+
+        public final long p50;
+        public final long p95;
+        public final long p99;
+        public final long max;
+
+        public Percentiles(long p50, long p95, long p99, long max) {
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.mebeamformer.diagnostics;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 能源塔路由的运行期计数器。
+ * 在真实服务端上统计每 tick 的耗时、分配字节数、链接遍历与能量传输量，
+ * 用于在调整路由算法时以数据而非感觉做判断。默认关闭，关闭时所有记录方法只做一次布尔判断。
+ * 所有记录均在服务端主线程上进行。
+ */
+public final class RoutingMetrics {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final RoutingMetrics INSTANCE = new RoutingMetrics();
+
+    private static volatile boolean enabled = false;
+    // 剖析命令运行期间临时开启记录，不影响配置开关
+    private static volatile boolean profiling = false;
+    // JFR 塔 tick 事件开启时同样需要计数
+    private static volatile boolean jfrRecording = false;
+    private static volatile int logIntervalTicks = 0;
+
+    // 线程分配计数仅在 HotSpot 上可用，不可用时分配率记为 0
+    private final com.sun.management.ThreadMXBean allocationBean;
+    // 分配计数只在记录期间开启；关闭记录时恢复开启前的 JVM 设置
+    private boolean allocationTracking;
+    private boolean allocationPreviouslyEnabled;
+
+    // 累计值（自启动或上次 reset 起）
+    private long networkTicks;
+    private long networkTickNanos;
+    private long allocatedBytes;
+    private long towerTicks;
+    private long linkVisits;
+    private long missingLinks;
+    private long towerToTowerPushes;
+    private long directPushes;
+    private long networkWalks;
+    private long networkTowerVisits;
+    private long directEnergy;
+    private long capabilityLookups;
+
+    // 日志窗口起点
+    private Snapshot windowStart = Snapshot.EMPTY;
+    private long ticksSinceLog;
+
+    // 当前 tick 的测量起点
+    private long tickStartNanos;
+    private long tickStartAllocated;
+
+    private RoutingMetrics() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocation = null;
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean) {
+            try {
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    allocation = sunBean;
+                }
+            } catch (UnsupportedOperationException | SecurityException ignored) {
+                // 不支持分配统计时只记录耗时
+            }
+        }
+        this.allocationBean = allocation;
+    }
+
+    /**
+     * 按当前是否在记录开关线程分配计数。开启前记下 JVM 原有设置，关闭时只撤销本类做出的修改。
+     */
+    private synchronized void updateAllocationTracking() {
+        boolean active = isEnabled();
+        if (allocationBean == null || active == allocationTracking) {
+            return;
+        }
+        try {
+            if (active) {
+                allocationPreviouslyEnabled = allocationBean.isThreadAllocatedMemoryEnabled();
+                if (!allocationPreviouslyEnabled) {
+                    allocationBean.setThreadAllocatedMemoryEnabled(true);
+                }
+            } else if (!allocationPreviouslyEnabled) {
+                allocationBean.setThreadAllocatedMemoryEnabled(false);
+            }
+            allocationTracking = active;
+        } catch (UnsupportedOperationException | SecurityException ignored) {
+            // 无权修改时保持现状，分配率可能记为 0
+        }
+    }
+
+    public static RoutingMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return enabled || profiling || jfrRecording;
+    }
+
+    public static void setProfiling(boolean active) {
+        profiling = active;
+        INSTANCE.updateAllocationTracking();
+    }
+
+    public static void setJfrRecording(boolean active) {
+        jfrRecording = active;
+        INSTANCE.updateAllocationTracking();
+    }
+
+    public static void configure(boolean enable, int logInterval) {
+        enabled = enable;
+        logIntervalTicks = Math.max(0, logInterval);
+        INSTANCE.updateAllocationTracking();
+    }
+
+    // ---- 记录入口 ----
+
+    public void beginNetworkTick() {
+        tickStartNanos = System.nanoTime();
+        tickStartAllocated = currentThreadAllocatedBytes();
+    }
+
+    public void endNetworkTick() {
+        networkTicks++;
+        networkTickNanos += System.nanoTime() - tickStartNanos;
+        long allocated = currentThreadAllocatedBytes();
+        if (allocated >= tickStartAllocated) {
+            allocatedBytes += allocated - tickStartAllocated;
+        }
+
+        int interval = logIntervalTicks;
+        if (interval > 0 && ++ticksSinceLog >= interval) {
+            Snapshot now = snapshot();
+            LOGGER.info("[ME Beam Former] routing: {}", now.since(windowStart).describe());
+            windowStart = now;
+            ticksSinceLog = 0;
+        }
+    }
+
+    public void recordTowerTick(int linkCount) {
+        towerTicks++;
+        linkVisits += linkCount;
+    }
+
+    public void recordMissingLink() {
+        missingLinks++;
+    }
+
+    public void recordTowerToTowerPush() {
+        towerToTowerPushes++;
+    }
+
+    public void recordDirectPush(long inserted, boolean simulate) {
+        directPushes++;
+        if (!simulate && inserted > 0) {
+            directEnergy += inserted;
+        }
+    }
+
+    public void recordCapabilityLookup() {
+        capabilityLookups++;
+    }
+
+    public void recordNetworkWalk(int visitedTowers) {
+        networkWalks++;
+        networkTowerVisits += visitedTowers;
+    }
+
+    public void reset() {
+        networkTicks = 0;
+        networkTickNanos = 0;
+        allocatedBytes = 0;
+        towerTicks = 0;
+        linkVisits = 0;
+        missingLinks = 0;
+        towerToTowerPushes = 0;
+        directPushes = 0;
+        networkWalks = 0;
+        networkTowerVisits = 0;
+        directEnergy = 0;
+        capabilityLookups = 0;
+        windowStart = Snapshot.EMPTY;
+        ticksSinceLog = 0;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(networkTicks, networkTickNanos, allocatedBytes, towerTicks, linkVisits, missingLinks,
+                towerToTowerPushes, directPushes, networkWalks, networkTowerVisits, directEnergy, capabilityLookups);
+    }
+
+    private long currentThreadAllocatedBytes() {
+        if (allocationBean == null) {
+            return 0L;
+        }
+        try {
+            // 计数未开启时返回 -1
+            return Math.max(0L, allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()));
+        } catch (UnsupportedOperationException ignored) {
+            return 0L;
+        }
+    }
+
+    /**
+     * 计数器的不可变快照，两个快照相减即为区间统计。
+     */
+    public static final class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+        public final long networkTicks;
+        public final long networkTickNanos;
+        public final long allocatedBytes;
+        public final long towerTicks;
+        public final long linkVisits;
+        public final long missingLinks;
+        public final long towerToTowerPushes;
+        public final long directPushes;
+        public final long networkWalks;
+        public final long networkTowerVisits;
+        public final long directEnergy;
+        public final long capabilityLookups;
+
+        public Snapshot(long networkTicks, long networkTickNanos, long allocatedBytes, long towerTicks,
+                long linkVisits, long missingLinks, long towerToTowerPushes, long directPushes,
+                long networkWalks, long networkTowerVisits, long directEnergy, long capabilityLookups) {
+            this.networkTicks = networkTicks;
+            this.networkTickNanos = networkTickNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.towerTicks = towerTicks;
+            this.linkVisits = linkVisits;
+            this.missingLinks = missingLinks;
+            this.towerToTowerPushes = towerToTowerPushes;
+            this.directPushes = directPushes;
+            this.networkWalks = networkWalks;
+            this.networkTowerVisits = networkTowerVisits;
+            this.directEnergy = directEnergy;
+            this.capabilityLookups = capabilityLookups;
+        }
+
+        public Snapshot since(Snapshot base) {
+            return new Snapshot(
+                    networkTicks - base.networkTicks,
+                    networkTickNanos - base.networkTickNanos,
+                    allocatedBytes - base.allocatedBytes,
+                    towerTicks - base.towerTicks,
+                    linkVisits - base.linkVisits,
+                    missingLinks - base.missingLinks,
+                    towerToTowerPushes - base.towerToTowerPushes,
+                    directPushes - base.directPushes,
+                    networkWalks - base.networkWalks,
+                    networkTowerVisits - base.networkTowerVisits,
+                    directEnergy - base.directEnergy,
+                    capabilityLookups - base.capabilityLookups);
+        }
+
+        public double averageTickMicros() {
+            return networkTicks == 0 ? 0.0d : networkTickNanos / 1000.0d / networkTicks;
+        }
+
+        public double allocatedBytesPerTick() {
+            return networkTicks == 0 ? 0.0d : (double) allocatedBytes / networkTicks;
+        }
+
+        public double towerTicksPerSecond() {
+            return networkTickNanos == 0 ? 0.0d : towerTicks * 1.0e9d / networkTickNanos;
+        }
+
+        public String describe() {
+            return String.format(
+                    "ticks=%d avg=%.1fus alloc=%.0fB/tick towers=%d (%.0f ops/s) links=%d missing=%d "
+                            + "towerPushes=%d directPushes=%d walks=%d walkVisits=%d directEnergy=%d capLookups=%d",
+                    networkTicks, averageTickMicros(), allocatedBytesPerTick(), towerTicks, towerTicksPerSecond(),
+                    linkVisits, missingLinks, towerToTowerPushes, directPushes, networkWalks, networkTowerVisits,
+                    directEnergy, capabilityLookups);
+        }
+    }
+}
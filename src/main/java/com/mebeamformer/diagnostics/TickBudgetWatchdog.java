@@ -0,0 +1,186 @@
+package com.mebeamformer.diagnostics;
+
+import com.mebeamformer.ME_Beam_Former;
+import com.mojang.logging.LogUtils;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+/**
+ * 服务端 tick 预算看门狗。
+ * 统计本模组（能源网络、光束成型器方块与零件）在每个服务端 tick 中占用的时间，
+ * 按窗口汇总后与配置的预算比较，超出时输出警告，便于在升级后第一时间发现 MSPT 回退。
+ * 使用方式：{@code long start = TickBudgetWatchdog.begin(); ...; TickBudgetWatchdog.end(start);}
+ * 同一组计时点也供 GameTest 性能用例使用：{@link #acquireMeasurement()} 期间即使看门狗关闭也会累计耗时。
+ */
+@Mod.EventBusSubscriber(modid = ME_Beam_Former.MODID)
+public final class TickBudgetWatchdog {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static volatile boolean enabled = false;
+    private static volatile long budgetNanos = 2_000_000L;
+    private static volatile int windowTicks = 200;
+    // 正在读取累计耗时的调用方数量（GameTest）
+    private static volatile int measurers = 0;
+
+    // 以下字段只在服务端主线程上读写
+    private static long serverTickStart;
+    private static long windowModNanos;
+    private static long windowServerNanos;
+    private static long windowPeakModNanos;
+    private static long currentTickModNanos;
+    private static int windowTickCount;
+    private static int overBudgetWindows;
+    private static Report lastReport = Report.EMPTY;
+    private static long measuredModNanos;
+
+    private TickBudgetWatchdog() {
+    }
+
+    public static void configure(boolean enable, int budgetMicros, int window) {
+        enabled = enable;
+        budgetNanos = Math.max(1, budgetMicros) * 1_000L;
+        windowTicks = Math.max(1, window);
+        resetWindow();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开始计时；看门狗关闭且无人测量时返回 0，{@link #end(long)} 会忽略该值。
+     */
+    public static long begin() {
+        return enabled || measurers > 0 ? System.nanoTime() : 0L;
+    }
+
+    public static void end(long start) {
+        if (start != 0L) {
+            long elapsed = System.nanoTime() - start;
+            if (enabled) {
+                currentTickModNanos += elapsed;
+            }
+            if (measurers > 0) {
+                measuredModNanos += elapsed;
+            }
+        }
+    }
+
+    /**
+     * 开始累计本模组的耗时，与看门狗的开关和窗口无关。需与 {@link #releaseMeasurement()} 成对调用。
+     */
+    public static void acquireMeasurement() {
+        measurers++;
+    }
+
+    public static void releaseMeasurement() {
+        if (measurers > 0) {
+            measurers--;
+        }
+    }
+
+    /**
+     * 测量期间累计的本模组耗时（纳秒），调用方取两次读数之差。只在服务端主线程上读取。
+     */
+    public static long getMeasuredModNanos() {
+        return measuredModNanos;
+    }
+
+    public static Report getLastReport() {
+        return lastReport;
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onServerTickStart(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.START || !enabled) {
+            return;
+        }
+        serverTickStart = System.nanoTime();
+        currentTickModNanos = 0L;
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTickEnd(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !enabled || serverTickStart == 0L) {
+            return;
+        }
+
+        windowServerNanos += System.nanoTime() - serverTickStart;
+        windowModNanos += currentTickModNanos;
+        windowPeakModNanos = Math.max(windowPeakModNanos, currentTickModNanos);
+        currentTickModNanos = 0L;
+
+        if (++windowTickCount < windowTicks) {
+            return;
+        }
+
+        Report report = new Report(windowTickCount, windowModNanos, windowServerNanos, windowPeakModNanos,
+                budgetNanos);
+        lastReport = report;
+        if (report.isOverBudget()) {
+            overBudgetWindows++;
+            LOGGER.warn("[ME Beam Former] tick budget exceeded ({} windows so far): {}",
+                    overBudgetWindows, report.describe());
+        }
+        resetWindow();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        resetWindow();
+        overBudgetWindows = 0;
+        lastReport = Report.EMPTY;
+        measurers = 0;
+        measuredModNanos = 0L;
+    }
+
+    private static void resetWindow() {
+        serverTickStart = 0L;
+        windowModNanos = 0L;
+        windowServerNanos = 0L;
+        windowPeakModNanos = 0L;
+        windowTickCount = 0;
+    }
+
+    /**
+     * 一个统计窗口的结果。
+     */
+    public static final class Report {
+        public static final Report EMPTY = new Report(0, 0L, 0L, 0L, 0L);
+
+        public final int ticks;
+        public final long modNanos;
+        public final long serverNanos;
+        public final long peakModNanos;
+        public final long budgetNanos;
+
+        public Report(int ticks, long modNanos, long serverNanos, long peakModNanos, long budgetNanos) {
+            this.ticks = ticks;
+            this.modNanos = modNanos;
+            this.serverNanos = serverNanos;
+            this.peakModNanos = peakModNanos;
+            this.budgetNanos = budgetNanos;
+        }
+
+        public double averageModMicros() {
+            return ticks == 0 ? 0.0d : modNanos / 1000.0d / ticks;
+        }
+
+        public double modShare() {
+            return serverNanos == 0 ? 0.0d : (double) modNanos / serverNanos;
+        }
+
+        public boolean isOverBudget() {
+            return ticks > 0 && modNanos > budgetNanos * ticks;
+        }
+
+        public String describe() {
+            return String.format("ticks=%d avg=%.1fus peak=%.1fus budget=%.1fus share=%.2f%%",
+                    ticks, averageModMicros(), peakModNanos / 1000.0d, budgetNanos / 1000.0d, modShare() * 100.0d);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.mebeamformer.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("mebeamformer.AE2Extraction")
+@Label("AE2 Energy Extraction")
+@Description("能源塔从所在 AE2 网络提取能量的一次调用")
+public class AE2ExtractionEvent extends MEBFEvent {
+    @Label("Energy Requested")
+    public long energyRequested;
+
+    @Label("Energy Moved")
+    public long energyMoved;
+
+    @Label("Simulate")
+    public boolean simulate;
+}
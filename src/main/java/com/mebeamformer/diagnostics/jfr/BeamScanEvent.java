@@ -0,0 +1,19 @@
+package com.mebeamformer.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("mebeamformer.BeamScan")
+@Label("Beam Former Scan")
+@Description("光束成型器沿朝向扫描对端的一次调用")
+public class BeamScanEvent extends MEBFEvent {
+    @Label("Kind")
+    public String kind;
+
+    @Label("Target Count")
+    public int targetCount;
+
+    @Label("Beam Length")
+    public int beamLength;
+}
@@ -0,0 +1,22 @@
+package com.mebeamformer.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("mebeamformer.ComponentDistribution")
+@Label("Tower Network Distribution")
+@Description("以某座塔为入口在塔网络中分配能量的一次遍历")
+public class ComponentDistributionEvent extends MEBFEvent {
+    @Label("Target Count")
+    public int targetCount;
+
+    @Label("Energy Requested")
+    public long energyRequested;
+
+    @Label("Energy Moved")
+    public long energyMoved;
+
+    @Label("Simulate")
+    public boolean simulate;
+}
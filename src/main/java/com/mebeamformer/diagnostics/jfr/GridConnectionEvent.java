@@ -0,0 +1,19 @@
+package com.mebeamformer.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("mebeamformer.GridConnection")
+@Label("Beam Grid Connection")
+@Description("光束成型器创建或销毁 AE2 网格连接")
+public class GridConnectionEvent extends MEBFEvent {
+    @Label("Kind")
+    public String kind;
+
+    @Label("Created")
+    public boolean created;
+
+    @Label("Target Count")
+    public int targetCount;
+}
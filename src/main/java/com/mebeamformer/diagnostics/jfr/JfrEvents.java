@@ -0,0 +1,216 @@
+package com.mebeamformer.diagnostics.jfr;
+
+import com.mebeamformer.ME_Beam_Former;
+import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
+import com.mebeamformer.diagnostics.RoutingMetrics;
+import jdk.jfr.EventType;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * JFR 事件的开关缓存。
+ * 每个服务端 tick 开始时读取一次各事件类型是否被录制开启，热路径上只判断静态布尔值；
+ * 关闭时不会创建任何事件对象。JFR 不可用的运行时上全部视为关闭。
+ */
+@Mod.EventBusSubscriber(modid = ME_Beam_Former.MODID)
+public final class JfrEvents {
+    @Nullable
+    private static final EventType TOWER_TICK_TYPE;
+    @Nullable
+    private static final EventType COMPONENT_DISTRIBUTION_TYPE;
+    @Nullable
+    private static final EventType AE2_EXTRACTION_TYPE;
+    @Nullable
+    private static final EventType BEAM_SCAN_TYPE;
+    @Nullable
+    private static final EventType GRID_CONNECTION_TYPE;
+
+    private static volatile boolean towerTick;
+    private static volatile boolean componentDistribution;
+    private static volatile boolean ae2Extraction;
+    private static volatile boolean beamScan;
+    private static volatile boolean gridConnection;
+
+    static {
+        EventType towerTickType = null;
+        EventType componentType = null;
+        EventType ae2Type = null;
+        EventType beamScanType = null;
+        EventType gridType = null;
+        try {
+            towerTickType = EventType.getEventType(TowerTickEvent.class);
+            componentType = EventType.getEventType(ComponentDistributionEvent.class);
+            ae2Type = EventType.getEventType(AE2ExtractionEvent.class);
+            beamScanType = EventType.getEventType(BeamScanEvent.class);
+            gridType = EventType.getEventType(GridConnectionEvent.class);
+        } catch (Throwable ignored) {
+            // 运行时不支持 JFR，事件保持关闭
+        }
+        TOWER_TICK_TYPE = towerTickType;
+        COMPONENT_DISTRIBUTION_TYPE = componentType;
+        AE2_EXTRACTION_TYPE = ae2Type;
+        BEAM_SCAN_TYPE = beamScanType;
+        GRID_CONNECTION_TYPE = gridType;
+    }
+
+    private JfrEvents() {
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            refresh();
+        }
+    }
+
+    public static void refresh() {
+        towerTick = isEnabled(TOWER_TICK_TYPE);
+        componentDistribution = isEnabled(COMPONENT_DISTRIBUTION_TYPE);
+        ae2Extraction = isEnabled(AE2_EXTRACTION_TYPE);
+        beamScan = isEnabled(BEAM_SCAN_TYPE);
+        gridConnection = isEnabled(GRID_CONNECTION_TYPE);
+        // 塔 tick 事件需要路由计数器提供传输能量
+        RoutingMetrics.setJfrRecording(towerTick);
+    }
+
+    private static boolean isEnabled(@Nullable EventType type) {
+        return type != null && type.isEnabled();
+    }
+
+    public static boolean isTowerTickEnabled() {
+        return towerTick;
+    }
+
+    /**
+     * 以事件包裹一座塔的一次处理；只在 {@link #isTowerTickEnabled()} 为真时调用。
+     */
+    public static void recordTowerTick(WirelessEnergyTowerBlockEntity tower,
+            Consumer<WirelessEnergyTowerBlockEntity> processor) {
+        Level level = tower.getLevel();
+        if (level == null) {
+            processor.accept(tower);
+            return;
+        }
+
+        RoutingMetrics metrics = RoutingMetrics.getInstance();
+        RoutingMetrics.Snapshot before = metrics.snapshot();
+        TowerTickEvent event = new TowerTickEvent();
+        event.begin();
+        processor.accept(tower);
+        event.end();
+        if (event.shouldCommit()) {
+            event.at(level, tower.getBlockPos());
+            event.targetCount = tower.getLinks().size();
+            event.energyMoved = metrics.snapshot().since(before).directEnergy;
+            event.commit();
+        }
+    }
+
+    @Nullable
+    public static ComponentDistributionEvent beginComponentDistribution() {
+        if (!componentDistribution) {
+            return null;
+        }
+        ComponentDistributionEvent event = new ComponentDistributionEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commitComponentDistribution(@Nullable ComponentDistributionEvent event, Level level,
+            BlockPos pos, int towers, long requested, long moved, boolean simulate) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.at(level, pos);
+            event.targetCount = towers;
+            event.energyRequested = requested;
+            event.energyMoved = moved;
+            event.simulate = simulate;
+            event.commit();
+        }
+    }
+
+    @Nullable
+    public static AE2ExtractionEvent beginAE2Extraction() {
+        if (!ae2Extraction) {
+            return null;
+        }
+        AE2ExtractionEvent event = new AE2ExtractionEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commitAE2Extraction(@Nullable AE2ExtractionEvent event, Level level, BlockPos pos,
+            long requested, long moved, boolean simulate) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.at(level, pos);
+            event.energyRequested = requested;
+            event.energyMoved = moved;
+            event.simulate = simulate;
+            event.commit();
+        }
+    }
+
+    @Nullable
+    public static BeamScanEvent beginBeamScan() {
+        if (!beamScan) {
+            return null;
+        }
+        BeamScanEvent event = new BeamScanEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commitBeamScan(@Nullable BeamScanEvent event, Level level, BlockPos pos, String kind,
+            boolean found, int length) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.at(level, pos);
+            event.kind = kind;
+            event.targetCount = found ? 1 : 0;
+            event.beamLength = length;
+            event.commit();
+        }
+    }
+
+    @Nullable
+    public static GridConnectionEvent beginGridConnection() {
+        if (!gridConnection) {
+            return null;
+        }
+        GridConnectionEvent event = new GridConnectionEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commitGridConnection(@Nullable GridConnectionEvent event, @Nullable Level level,
+            BlockPos pos, String kind, boolean created) {
+        if (event == null || level == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.at(level, pos);
+            event.kind = kind;
+            event.created = created;
+            event.targetCount = 1;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.mebeamformer.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+/**
+ * 本模组 JFR 事件的公共字段：维度与方块坐标。
+ * 所有事件默认关闭且不采集堆栈，需在 JFR 配置中显式开启。
+ */
+@Category({"ME Beam Former"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class MEBFEvent extends Event {
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    public void at(Level level, BlockPos pos) {
+        this.dimension = level.dimension().location().toString();
+        this.x = pos.getX();
+        this.y = pos.getY();
+        this.z = pos.getZ();
+    }
+}
@@ -0,0 +1,16 @@
+package com.mebeamformer.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("mebeamformer.TowerTick")
+@Label("Energy Tower Tick")
+@Description("一座能源塔在全局能源网络中的一次处理")
+public class TowerTickEvent extends MEBFEvent {
+    @Label("Target Count")
+    public int targetCount;
+
+    @Label("Energy Moved")
+    public long energyMoved;
+}
@@ -0,0 +1,14 @@
+package com.mebeamformer.diagnostics.jmx;
+
+/**
+ * 光束成型器网格连接的 JMX 视图：{@code com.mebeamformer:type=BeamConnections}。
+ */
+public interface BeamConnectionsMXBean {
+    int getLiveConnectionCount();
+
+    long getConnectionsCreated();
+
+    long getConnectionsDestroyed();
+
+    void resetCounters();
+}
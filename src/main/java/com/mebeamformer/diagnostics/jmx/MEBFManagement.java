@@ -0,0 +1,263 @@
+package com.mebeamformer.diagnostics.jmx;
+
+import com.mebeamformer.Config;
+import com.mebeamformer.ME_Beam_Former;
+import com.mebeamformer.connection.TransferGovernor;
+import com.mebeamformer.connection.WirelessEnergyNetwork;
+import com.mebeamformer.diagnostics.BeamConnectionTracker;
+import com.mebeamformer.diagnostics.CacheMetrics;
+import com.mebeamformer.diagnostics.NetworkTelemetry;
+import com.mebeamformer.diagnostics.RollingHistogram;
+import com.mebeamformer.diagnostics.RoutingMetrics;
+import com.mojang.logging.LogUtils;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 在服务端启动时注册平台 MBean，停止时注销。
+ * 世界相关的统计每秒在服务端线程上采集一次快照，供 JMX 线程读取。
+ * 分位数遥测在 JMX 客户端首次读取时才开始采集，一段时间无人读取后停止。
+ */
+@Mod.EventBusSubscriber(modid = ME_Beam_Former.MODID)
+public final class MEBFManagement {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String NETWORK_NAME = "com.mebeamformer:type=WirelessEnergyNetwork";
+    private static final String BEAMS_NAME = "com.mebeamformer:type=BeamConnections";
+    private static final int SNAPSHOT_INTERVAL = 20;
+    private static final long TELEMETRY_IDLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static volatile MinecraftServer server;
+    private static volatile boolean registered = false;
+
+    // JMX 线程读取时开启遥测，服务端线程在无人读取后释放
+    private static final AtomicBoolean telemetryHeld = new AtomicBoolean();
+    private static volatile long lastTelemetryRead;
+
+    // 服务端线程写、JMX 线程读的快照
+    private static volatile int towerCount;
+    private static volatile Map<String, Integer> towerCountsPerLevel = Map.of();
+    private static volatile int componentCount;
+    private static volatile int cyclicComponentCount;
+    private static volatile int dormantTowerCount;
+    private static volatile int dormantLinkCount;
+    private static volatile int liveBeamConnections;
+
+    private MEBFManagement() {
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        if (!Config.enableJmx) {
+            return;
+        }
+        server = event.getServer();
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            register(mbs, NETWORK_NAME, new NetworkBean());
+            register(mbs, BEAMS_NAME, new BeamsBean());
+            registered = true;
+        } catch (Exception e) {
+            LOGGER.warn("Failed to register ME Beam Former MBeans", e);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        if (registered) {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            unregister(mbs, NETWORK_NAME);
+            unregister(mbs, BEAMS_NAME);
+            if (telemetryHeld.compareAndSet(true, false)) {
+                NetworkTelemetry.getInstance().release();
+            }
+            registered = false;
+        }
+        server = null;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !registered) {
+            return;
+        }
+        MinecraftServer current = server;
+        if (current == null || current.getTickCount() % SNAPSHOT_INTERVAL != 0) {
+            return;
+        }
+
+        WirelessEnergyNetwork network = WirelessEnergyNetwork.getInstance();
+        towerCount = network.getRegisteredTowerCount();
+        towerCountsPerLevel = Map.copyOf(network.getTowerCountsByLevel());
+        componentCount = network.countComponents();
+        cyclicComponentCount = network.countCyclicComponents();
+        dormantTowerCount = network.getIdleTowerCount();
+        dormantLinkCount = network.getDormantLinkCount();
+        liveBeamConnections = BeamConnectionTracker.countLive();
+
+        if (telemetryHeld.get() && System.nanoTime() - lastTelemetryRead > TELEMETRY_IDLE_NANOS
+                && telemetryHeld.compareAndSet(true, false)) {
+            NetworkTelemetry.getInstance().release();
+        }
+    }
+
+    /**
+     * JMX 线程读取分位数时调用；尚未采集时开始采集，首次读取得到的窗口为空。
+     */
+    private static NetworkTelemetry readTelemetry() {
+        lastTelemetryRead = System.nanoTime();
+        if (telemetryHeld.compareAndSet(false, true)) {
+            NetworkTelemetry.getInstance().acquire();
+        }
+        return NetworkTelemetry.getInstance();
+    }
+
+    private static void register(MBeanServer mbs, String name, Object bean) throws Exception {
+        ObjectName objectName = new ObjectName(name);
+        if (mbs.isRegistered(objectName)) {
+            mbs.unregisterMBean(objectName);
+        }
+        mbs.registerMBean(bean, objectName);
+    }
+
+    private static void unregister(MBeanServer mbs, String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            if (mbs.isRegistered(objectName)) {
+                mbs.unregisterMBean(objectName);
+            }
+        } catch (Exception ignored) {
+            // 服务端关闭过程中注销失败不影响后续启动
+        }
+    }
+
+    /**
+     * 计数器重置放到服务端线程执行，避免与 tick 中的记录竞争。
+     */
+    private static void runOnServer(Runnable task) {
+        MinecraftServer current = server;
+        if (current != null) {
+            current.execute(task);
+        }
+    }
+
+    private static final class NetworkBean implements WirelessEnergyNetworkMXBean {
+        @Override
+        public int getRegisteredTowerCount() {
+            return towerCount;
+        }
+
+        @Override
+        public Map<String, Integer> getTowerCountsPerLevel() {
+            return towerCountsPerLevel;
+        }
+
+        @Override
+        public int getComponentCount() {
+            return componentCount;
+        }
+
+        @Override
+        public int getCyclicComponentCount() {
+            return cyclicComponentCount;
+        }
+
+        @Override
+        public int getDormantTowerCount() {
+            return dormantTowerCount;
+        }
+
+        @Override
+        public int getDormantLinkCount() {
+            return dormantLinkCount;
+        }
+
+        @Override
+        public long getTickMicrosP50() {
+            return readTelemetry().getTickNanos().p50 / 1000L;
+        }
+
+        @Override
+        public long getTickMicrosP95() {
+            return readTelemetry().getTickNanos().p95 / 1000L;
+        }
+
+        @Override
+        public long getTickMicrosP99() {
+            return readTelemetry().getTickNanos().p99 / 1000L;
+        }
+
+        @Override
+        public long getEnergyPerTickP50() {
+            return readTelemetry().getEnergyPerTick().p50;
+        }
+
+        @Override
+        public long getDeferredTowersP95() {
+            RollingHistogram.Percentiles deferred = readTelemetry().getDeferredWork();
+            return deferred.p95;
+        }
+
+        @Override
+        public int getTransferIntervalMultiplier() {
+            return TransferGovernor.getInterval();
+        }
+
+        @Override
+        public float getServerMspt() {
+            return TransferGovernor.getLastMspt();
+        }
+
+        @Override
+        public Map<String, Double> getCacheHitRates() {
+            Map<String, Double> rates = new LinkedHashMap<>();
+            for (CacheMetrics.Counter counter : CacheMetrics.all()) {
+                rates.put(counter.getName(), counter.getHitRate());
+            }
+            return rates;
+        }
+
+        @Override
+        public void resetCounters() {
+            CacheMetrics.resetAll();
+            runOnServer(() -> {
+                NetworkTelemetry.getInstance().clear();
+                RoutingMetrics.getInstance().reset();
+            });
+        }
+    }
+
+    private static final class BeamsBean implements BeamConnectionsMXBean {
+        @Override
+        public int getLiveConnectionCount() {
+            return liveBeamConnections;
+        }
+
+        @Override
+        public long getConnectionsCreated() {
+            return BeamConnectionTracker.getCreated();
+        }
+
+        @Override
+        public long getConnectionsDestroyed() {
+            return BeamConnectionTracker.getDestroyed();
+        }
+
+        @Override
+        public void resetCounters() {
+            BeamConnectionTracker.resetCounters();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mebeamformer.diagnostics.jmx;
+
+import java.util.Map;
+
+/**
+ * 无线能源网络的 JMX 视图：{@code com.mebeamformer:type=WirelessEnergyNetwork}。
+ * 结构类数据每秒在服务端线程上刷新一次快照，JMX 读取不会触碰世界状态。
+ */
+public interface WirelessEnergyNetworkMXBean {
+    int getRegisteredTowerCount();
+
+    Map<String, Integer> getTowerCountsPerLevel();
+
+    int getComponentCount();
+
+    int getCyclicComponentCount();
+
+    int getDormantTowerCount();
+
+    int getDormantLinkCount();
+
+    long getTickMicrosP50();
+
+    long getTickMicrosP95();
+
+    long getTickMicrosP99();
+
+    long getEnergyPerTickP50();
+
+    long getDeferredTowersP95();
+
+    int getTransferIntervalMultiplier();
+
+    float getServerMspt();
+
+    Map<String, Double> getCacheHitRates();
+
+    void resetCounters();
+}
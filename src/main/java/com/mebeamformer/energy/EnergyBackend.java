@@ -0,0 +1,25 @@
+package com.mebeamformer.energy;
+
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 能量后端：把某种能量接口（Forge Energy、Long Energy、Flux Networks、GregTech 等）适配为 {@link EnergyEndpoint}。
+ * 其他模组可通过 {@link EnergyBackends#register(EnergyBackend, int)} 接入，无需修改能源塔。
+ */
+public interface EnergyBackend {
+
+    /**
+     * 后端标识，用于日志与诊断，例如 {@code "forge"}。
+     */
+    String getId();
+
+    /**
+     * 探测目标在指定面上是否支持本后端。
+     *
+     * @return 绑定到该目标与该面的适配器；不支持时返回 null
+     */
+    @Nullable
+    EnergyEndpoint probe(BlockEntity target, @Nullable Direction side);
+}
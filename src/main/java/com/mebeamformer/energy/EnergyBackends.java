@@ -0,0 +1,107 @@
+package com.mebeamformer.energy;
+
+import com.mebeamformer.diagnostics.RoutingMetrics;
+import com.mebeamformer.energy.backend.FluxEnergyBackend;
+import com.mebeamformer.energy.backend.ForgeEnergyBackend;
+import com.mebeamformer.energy.backend.GregTechEnergyBackend;
+import com.mebeamformer.energy.backend.LongEnergyBackend;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 能量后端注册表。按优先级从高到低探测，第一个可接收的适配器即为目标的后端。
+ * 内置：Flux Networks (400) > GregTech (300) > Long Energy (200) > Forge Energy (100)。
+ * 注册应在模组加载阶段完成；之后只读。
+ */
+public final class EnergyBackends {
+    public static final int PRIORITY_FLUX = 400;
+    public static final int PRIORITY_GREGTECH = 300;
+    public static final int PRIORITY_LONG = 200;
+    public static final int PRIORITY_FORGE = 100;
+
+    private static final Direction[] SIDES = Direction.values();
+
+    private static volatile List<Entry> backends = List.of();
+
+    static {
+        register(new FluxEnergyBackend(), PRIORITY_FLUX);
+        register(new GregTechEnergyBackend(), PRIORITY_GREGTECH);
+        register(new LongEnergyBackend(), PRIORITY_LONG);
+        register(new ForgeEnergyBackend(), PRIORITY_FORGE);
+    }
+
+    private EnergyBackends() {
+    }
+
+    /**
+     * 注册后端，优先级越大越先探测；相同优先级按注册顺序。
+     */
+    public static synchronized void register(EnergyBackend backend, int priority) {
+        List<Entry> updated = new ArrayList<>(backends);
+        updated.add(new Entry(backend, priority));
+        updated.sort(Comparator.comparingInt((Entry e) -> e.priority).reversed());
+        backends = List.copyOf(updated);
+    }
+
+    /**
+     * 为目标解析一个可接收能量的适配器，依次尝试各后端与各个面。
+     *
+     * @return 找不到可接收的适配器时返回 null
+     */
+    @Nullable
+    public static EnergyEndpoint resolveSink(BlockEntity target) {
+        for (Entry entry : backends) {
+            for (Direction side : SIDES) {
+                EnergyEndpoint endpoint = probe(entry.backend, target, side);
+                if (endpoint != null && endpoint.canReceive()) {
+                    return endpoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 为指定面解析一个可接收能量的适配器。
+     */
+    @Nullable
+    public static EnergyEndpoint resolveSink(BlockEntity target, @Nullable Direction side) {
+        for (Entry entry : backends) {
+            EnergyEndpoint endpoint = probe(entry.backend, target, side);
+            if (endpoint != null && endpoint.canReceive()) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查询方块实体能力，并在开启路由统计时计数。供后端实现使用。
+     */
+    public static <T> LazyOptional<T> lookup(BlockEntity be, Capability<T> cap, @Nullable Direction side) {
+        if (RoutingMetrics.isEnabled()) {
+            RoutingMetrics.getInstance().recordCapabilityLookup();
+        }
+        return be.getCapability(cap, side);
+    }
+
+    @Nullable
+    private static EnergyEndpoint probe(EnergyBackend backend, BlockEntity target, @Nullable Direction side) {
+        try {
+            return backend.probe(target, side);
+        } catch (RuntimeException e) {
+            // 某些模组使用代理包装能力，跳过不兼容的实现
+            return null;
+        }
+    }
+
+    private record Entry(EnergyBackend backend, int priority) {
+    }
+}
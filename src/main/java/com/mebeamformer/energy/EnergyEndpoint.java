@@ -0,0 +1,80 @@
+package com.mebeamformer.energy;
+
+/**
+ * 由 {@link EnergyBackend} 解析出的、绑定到某个方块实体某一面的能量适配器。
+ * 能源塔按链接目标缓存该引用，之后每 tick 直接调用，不再重复探测能力。
+ * 数量单位统一为 FE。
+ */
+public interface EnergyEndpoint {
+
+    /**
+     * 底层能力是否仍然有效（如 LazyOptional 未失效）。失效后塔会重新解析。
+     */
+    boolean isValid();
+
+    /**
+     * 底层能力失效时回调（如 LazyOptional 的监听器），用于及时丢弃缓存的适配器。
+     * 默认不支持回调，调用方仍需检查 {@link #isValid()}。
+     */
+    default void onInvalidated(Runnable listener) {
+    }
+
+    boolean canReceive();
+
+    boolean canExtract();
+
+    /**
+     * 当前最多还能接收的能量。默认通过一次模拟插入得到。
+     */
+    default long getDemand() {
+        return insert(Long.MAX_VALUE, true);
+    }
+
+    /**
+     * 插入能量，单次调用，可能受底层接口（如 int）限制。
+     *
+     * @return 实际（或模拟）接收的能量
+     */
+    long insert(long amount, boolean simulate);
+
+    /**
+     * 提取能量，单次调用，可能受底层接口（如 int）限制。
+     *
+     * @return 实际（或模拟）提取的能量
+     */
+    long extract(long amount, boolean simulate);
+
+    /**
+     * 批量插入：对单次上限较小的接口分批调用，直到完成或对方不再接收。
+     * 模拟模式只调用一次。
+     */
+    default long insertBulk(long amount, boolean simulate) {
+        if (simulate) {
+            return insert(amount, true);
+        }
+        long total = 0;
+        while (total < amount) {
+            long inserted = insert(amount - total, false);
+            if (inserted <= 0) break;
+            total += inserted;
+        }
+        return total;
+    }
+
+    /**
+     * 批量提取：对单次上限较小的接口分批调用，直到完成或对方不再输出。
+     * 模拟模式只调用一次。
+     */
+    default long extractBulk(long amount, boolean simulate) {
+        if (simulate) {
+            return extract(amount, true);
+        }
+        long total = 0;
+        while (total < amount) {
+            long extracted = extract(amount - total, false);
+            if (extracted <= 0) break;
+            total += extracted;
+        }
+        return total;
+    }
+}
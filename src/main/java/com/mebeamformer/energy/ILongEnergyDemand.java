@@ -0,0 +1,22 @@
+package com.mebeamformer.energy;
+
+import net.minecraftforge.common.capabilities.AutoRegisterCapability;
+
+/**
+ * {@link ILongEnergyStorage} 的可选伴随能力：直接报告需求与供给，调用方无需模拟传输即可规划。
+ * 通过 {@link MEBFCapabilities#LONG_ENERGY_DEMAND} 暴露；存在时无线能源感应塔用它替代
+ * {@code receiveEnergyL(..., true)} / {@code extractEnergyL(..., true)} 的模拟调用。
+ */
+@AutoRegisterCapability
+public interface ILongEnergyDemand {
+
+    /**
+     * 当前最多还能接收的能量（与 {@code receiveEnergyL(Long.MAX_VALUE, true)} 等价，但不应产生副作用）。
+     */
+    long getDemandL();
+
+    /**
+     * 当前最多可以提取的能量（与 {@code extractEnergyL(Long.MAX_VALUE, true)} 等价，但不应产生副作用）。
+     */
+    long getSupplyL();
+}
@@ -14,6 +14,12 @@ public final class MEBFCapabilities {
     public static final Capability<ILongEnergyStorage> LONG_ENERGY_STORAGE = 
             CapabilityManager.get(new CapabilityToken<>() {});
 
+    /**
+     * 可选的需求/供给查询能力，与 {@link #LONG_ENERGY_STORAGE} 配合使用，避免模拟传输
+     */
+    public static final Capability<ILongEnergyDemand> LONG_ENERGY_DEMAND =
+            CapabilityManager.get(new CapabilityToken<>() {});
+
     private MEBFCapabilities() {
     }
 } 
\ No newline at end of file
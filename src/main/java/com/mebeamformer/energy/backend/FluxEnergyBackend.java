@@ -0,0 +1,129 @@
+package com.mebeamformer.energy.backend;
+
+import com.mebeamformer.energy.EnergyBackend;
+import com.mebeamformer.energy.EnergyBackends;
+import com.mebeamformer.energy.EnergyEndpoint;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * Flux Networks 后端（反射调用 IFNEnergyStorage，支持 Long）。未安装 Flux Networks 时不会探测到任何目标。
+ */
+public final class FluxEnergyBackend implements EnergyBackend {
+    private static volatile boolean initialized = false;
+    private static Capability<?> capability;
+    private static Method receiveMethod;
+    private static Method extractMethod;
+    private static Method canReceiveMethod;
+    private static Method canExtractMethod;
+
+    private static void init() {
+        if (initialized) return;
+        synchronized (FluxEnergyBackend.class) {
+            if (initialized) return;
+            try {
+                Class<?> capClass = Class.forName("sonar.fluxnetworks.api.FluxCapabilities");
+                capability = (Capability<?>) capClass.getField("FN_ENERGY_STORAGE").get(null);
+
+                Class<?> storageClass = Class.forName("sonar.fluxnetworks.api.energy.IFNEnergyStorage");
+                receiveMethod = storageClass.getMethod("receiveEnergyL", long.class, boolean.class);
+                extractMethod = storageClass.getMethod("extractEnergyL", long.class, boolean.class);
+                canReceiveMethod = storageClass.getMethod("canReceive");
+                canExtractMethod = storageClass.getMethod("canExtract");
+            } catch (Exception e) {
+                // Flux Networks 未安装或版本不兼容
+                capability = null;
+            }
+            initialized = true;
+        }
+    }
+
+    @Override
+    public String getId() {
+        return "fluxnetworks";
+    }
+
+    @Override
+    @Nullable
+    public EnergyEndpoint probe(BlockEntity target, @Nullable Direction side) {
+        init();
+        if (capability == null) return null;
+
+        LazyOptional<?> cap = EnergyBackends.lookup(target, capability, side);
+        Object storage = cap.resolve().orElse(null);
+        return storage == null ? null : new Endpoint(cap, storage);
+    }
+
+    private static final class Endpoint implements EnergyEndpoint {
+        private final LazyOptional<?> cap;
+        private final Object storage;
+
+        Endpoint(LazyOptional<?> cap, Object storage) {
+            this.cap = cap;
+            this.storage = storage;
+        }
+
+        @Override
+        public boolean isValid() {
+            return cap.isPresent();
+        }
+
+        @Override
+        public void onInvalidated(Runnable listener) {
+            cap.addListener(invalidated -> listener.run());
+        }
+
+        @Override
+        public boolean canReceive() {
+            try {
+                return (Boolean) canReceiveMethod.invoke(storage);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean canExtract() {
+            try {
+                return (Boolean) canExtractMethod.invoke(storage);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        @Override
+        public long insert(long amount, boolean simulate) {
+            try {
+                return (Long) receiveMethod.invoke(storage, amount, simulate);
+            } catch (Exception e) {
+                // 调用失败，静默处理
+                return 0;
+            }
+        }
+
+        @Override
+        public long extract(long amount, boolean simulate) {
+            try {
+                return (Long) extractMethod.invoke(storage, amount, simulate);
+            } catch (Exception e) {
+                // 调用失败，静默处理
+                return 0;
+            }
+        }
+
+        @Override
+        public long insertBulk(long amount, boolean simulate) {
+            return insert(amount, simulate);
+        }
+
+        @Override
+        public long extractBulk(long amount, boolean simulate) {
+            return extract(amount, simulate);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mebeamformer.energy.backend;
+
+import com.mebeamformer.energy.EnergyBackend;
+import com.mebeamformer.energy.EnergyBackends;
+import com.mebeamformer.energy.EnergyEndpoint;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.energy.IEnergyStorage;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 标准 Forge Energy 后端。单次调用受 int 限制，批量操作分批完成。
+ */
+public final class ForgeEnergyBackend implements EnergyBackend {
+
+    @Override
+    public String getId() {
+        return "forge";
+    }
+
+    @Override
+    @Nullable
+    public EnergyEndpoint probe(BlockEntity target, @Nullable Direction side) {
+        LazyOptional<IEnergyStorage> cap = EnergyBackends.lookup(target, ForgeCapabilities.ENERGY, side);
+        IEnergyStorage storage = cap.resolve().orElse(null);
+        return storage == null ? null : endpoint(cap, storage);
+    }
+
+    /**
+     * 直接包装一个已解析的 Forge 能量存储（不经方块实体探测，如微基准中的假设备）。
+     */
+    public static EnergyEndpoint endpoint(LazyOptional<IEnergyStorage> cap, IEnergyStorage storage) {
+        return new Endpoint(cap, storage);
+    }
+
+    private static final class Endpoint implements EnergyEndpoint {
+        private final LazyOptional<IEnergyStorage> cap;
+        private final IEnergyStorage storage;
+
+        Endpoint(LazyOptional<IEnergyStorage> cap, IEnergyStorage storage) {
+            this.cap = cap;
+            this.storage = storage;
+        }
+
+        @Override
+        public boolean isValid() {
+            return cap.isPresent();
+        }
+
+        @Override
+        public void onInvalidated(Runnable listener) {
+            cap.addListener(invalidated -> listener.run());
+        }
+
+        @Override
+        public boolean canReceive() {
+            return storage.canReceive();
+        }
+
+        @Override
+        public boolean canExtract() {
+            return storage.canExtract();
+        }
+
+        @Override
+        public long insert(long amount, boolean simulate) {
+            return storage.receiveEnergy((int) Math.min(amount, Integer.MAX_VALUE), simulate);
+        }
+
+        @Override
+        public long extract(long amount, boolean simulate) {
+            return storage.extractEnergy((int) Math.min(amount, Integer.MAX_VALUE), simulate);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.mebeamformer.energy.backend;
+
+import com.mebeamformer.energy.EnergyBackend;
+import com.mebeamformer.energy.EnergyBackends;
+import com.mebeamformer.energy.EnergyEndpoint;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * GregTech CEu 后端（反射调用 IEnergyContainer，4 FE = 1 EU）。只作为接收端；
+ * 输入电压每 tick 读取一次，能力失效（机器被拆除/替换）时立即作废（电压过高会炸机器）；
+ * 剩余容量每次插入实时读取，电流上限在适配器中缓存；每 tick 按剩余电流规划一次 acceptEnergyFromNetwork。
+ */
+public final class GregTechEnergyBackend implements EnergyBackend {
+    // 电流上限的刷新周期（如电池箱增减电池会改变电流上限）；多给的电流由 GT 自行截断，缓存过期不会造成损害
+    private static final int AMPERAGE_REFRESH_TICKS = 100;
+
+    private static volatile boolean initialized = false;
+    private static Capability<?> capability;
+
+    private static void init() {
+        if (initialized) return;
+        synchronized (GregTechEnergyBackend.class) {
+            if (initialized) return;
+            try {
+                Class<?> capClass = Class.forName("com.gregtechceu.gtceu.api.capability.forge.GTCapability");
+                capability = (Capability<?>) capClass.getField("CAPABILITY_ENERGY_CONTAINER").get(null);
+            } catch (Exception e) {
+                // GregTech 未安装或版本不兼容
+                capability = null;
+            }
+            initialized = true;
+        }
+    }
+
+    @Override
+    public String getId() {
+        return "gregtech";
+    }
+
+    @Override
+    @Nullable
+    public EnergyEndpoint probe(BlockEntity target, @Nullable Direction side) {
+        init();
+        if (capability == null || side == null) return null;
+
+        LazyOptional<?> cap = EnergyBackends.lookup(target, capability, side);
+        Object container = cap.resolve().orElse(null);
+        if (container == null) return null;
+
+        try {
+            // 不同的 GT 容器实现类不同，方法在解析时按实际类获取一次
+            Class<?> type = container.getClass();
+            return new Endpoint(target, cap, container, side,
+                    type.getMethod("inputsEnergy", Direction.class),
+                    type.getMethod("getInputVoltage"),
+                    type.getMethod("getInputAmperage"),
+                    type.getMethod("getEnergyCanBeInserted"),
+                    type.getMethod("acceptEnergyFromNetwork", Direction.class, long.class, long.class));
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class Endpoint implements EnergyEndpoint {
+        private final BlockEntity target;
+        private final LazyOptional<?> cap;
+        private final Object container;
+        private final Direction side;
+        private final Method inputsEnergy;
+        private final Method getInputVoltage;
+        private final Method getInputAmperage;
+        private final Method getEnergyCanBeInserted;
+        private final Method acceptEnergyFromNetwork;
+
+        // 缓存的输入电流上限
+        private long amperage;
+        private long amperageRefreshedAt = Long.MIN_VALUE;
+        // 本 tick 已送入的电流，用完后本 tick 不再调用 GT
+        private long ampsTick = Long.MIN_VALUE;
+        private long ampsUsed;
+        // 本 tick 读取的输入电压；能力失效时重置，下一次插入重新读取
+        private long voltage;
+        private long voltageTick = Long.MIN_VALUE;
+
+        Endpoint(BlockEntity target, LazyOptional<?> cap, Object container, Direction side, Method inputsEnergy,
+                 Method getInputVoltage, Method getInputAmperage, Method getEnergyCanBeInserted,
+                 Method acceptEnergyFromNetwork) {
+            this.target = target;
+            this.cap = cap;
+            this.container = container;
+            this.side = side;
+            this.inputsEnergy = inputsEnergy;
+            this.getInputVoltage = getInputVoltage;
+            this.getInputAmperage = getInputAmperage;
+            this.getEnergyCanBeInserted = getEnergyCanBeInserted;
+            this.acceptEnergyFromNetwork = acceptEnergyFromNetwork;
+            // 同一位置换成了低电压机器时能力会先失效，不能沿用旧电压
+            cap.addListener(invalidated -> voltageTick = Long.MIN_VALUE);
+        }
+
+        @Override
+        public boolean isValid() {
+            return cap.isPresent();
+        }
+
+        @Override
+        public void onInvalidated(Runnable listener) {
+            cap.addListener(invalidated -> listener.run());
+        }
+
+        @Override
+        public boolean canReceive() {
+            try {
+                return (Boolean) inputsEnergy.invoke(container, side);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean canExtract() {
+            return false;
+        }
+
+        private long gameTime() {
+            Level level = target.getLevel();
+            return level != null ? level.getGameTime() : 0L;
+        }
+
+        /**
+         * 本 tick 的输入电压，每 tick 最多反射读取一次。
+         */
+        private long inputVoltage(long now) throws ReflectiveOperationException {
+            if (voltageTick != now) {
+                voltage = (Long) getInputVoltage.invoke(container);
+                voltageTick = now;
+            }
+            return voltage;
+        }
+
+        /**
+         * 进入新的 tick 时重置电流计数，并按周期刷新电流上限。
+         *
+         * @return 本 tick 剩余可送入的电流
+         */
+        private long remainingAmps(long now) throws ReflectiveOperationException {
+            // 未成型的多方块等会暂时报告 0，此时每次都重新读取
+            if (amperageRefreshedAt == Long.MIN_VALUE || amperage <= 0
+                    || now - amperageRefreshedAt >= AMPERAGE_REFRESH_TICKS) {
+                amperage = (Long) getInputAmperage.invoke(container);
+                amperageRefreshedAt = now;
+            }
+            if (ampsTick != now) {
+                ampsTick = now;
+                ampsUsed = 0;
+            }
+            return amperage - ampsUsed;
+        }
+
+        @Override
+        public long insert(long amountFE, boolean simulate) {
+            try {
+                long now = gameTime();
+                long amps = remainingAmps(now);
+                if (amps <= 0) return 0; // 本 tick 电流已用完，不再调用 GT
+
+                long amountEU = amountFE >> 2;
+                long demand = (Long) getEnergyCanBeInserted.invoke(container);
+                long packet = Math.min(Math.min(inputVoltage(now), amountEU), demand);
+                if (packet <= 0) return 0;
+                amps = Math.min(amps, Math.min(amountEU, demand) / packet);
+                if (amps <= 0) return 0;
+
+                if (simulate) {
+                    // 模拟不改变本 tick 的电流计数
+                    return (packet * amps) << 2;
+                }
+                long accepted = (Long) acceptEnergyFromNetwork.invoke(container, side, packet, amps);
+                // 没收满说明机器已满或电流用尽，本 tick 剩余时间直接跳过
+                ampsUsed = accepted < amps ? amperage : ampsUsed + accepted;
+                return (packet * accepted) << 2; // EU 转回 FE
+            } catch (Exception e) {
+                // 格雷科技调用失败
+                return 0;
+            }
+        }
+
+        @Override
+        public long extract(long amount, boolean simulate) {
+            return 0;
+        }
+
+        /**
+         * GT 机器每 tick 的电流有上限，一次调用已送入本 tick 可用的全部电流。
+         */
+        @Override
+        public long insertBulk(long amount, boolean simulate) {
+            return insert(amount, simulate);
+        }
+    }
+}
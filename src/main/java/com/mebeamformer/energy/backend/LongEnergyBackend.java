@@ -0,0 +1,109 @@
+package com.mebeamformer.energy.backend;
+
+import com.mebeamformer.energy.EnergyBackend;
+import com.mebeamformer.energy.EnergyBackends;
+import com.mebeamformer.energy.EnergyEndpoint;
+import com.mebeamformer.energy.ILongEnergyDemand;
+import com.mebeamformer.energy.ILongEnergyStorage;
+import com.mebeamformer.energy.MEBFCapabilities;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 本模组的 Long Energy 后端（{@link ILongEnergyStorage}），单次即可传输超大值。
+ * 目标同时提供 {@link ILongEnergyDemand} 时，模拟调用直接读取需求/供给。
+ */
+public final class LongEnergyBackend implements EnergyBackend {
+
+    @Override
+    public String getId() {
+        return "long";
+    }
+
+    @Override
+    @Nullable
+    public EnergyEndpoint probe(BlockEntity target, @Nullable Direction side) {
+        LazyOptional<ILongEnergyStorage> cap = EnergyBackends.lookup(target, MEBFCapabilities.LONG_ENERGY_STORAGE, side);
+        ILongEnergyStorage storage = cap.resolve().orElse(null);
+        if (storage == null) return null;
+
+        // 同一面若提供需求查询能力，模拟调用改为直接读取需求/供给
+        ILongEnergyDemand demand = EnergyBackends.lookup(target, MEBFCapabilities.LONG_ENERGY_DEMAND, side)
+                .resolve().orElse(null);
+        return endpoint(cap, storage, demand);
+    }
+
+    /**
+     * 直接包装一个已解析的 Long 能量存储（不经方块实体探测，如微基准中的假设备）。
+     */
+    public static EnergyEndpoint endpoint(LazyOptional<ILongEnergyStorage> cap, ILongEnergyStorage storage,
+                                          @Nullable ILongEnergyDemand demand) {
+        return new Endpoint(cap, storage, demand);
+    }
+
+    private static final class Endpoint implements EnergyEndpoint {
+        private final LazyOptional<ILongEnergyStorage> cap;
+        private final ILongEnergyStorage storage;
+        @Nullable
+        private final ILongEnergyDemand demand;
+
+        Endpoint(LazyOptional<ILongEnergyStorage> cap, ILongEnergyStorage storage, @Nullable ILongEnergyDemand demand) {
+            this.cap = cap;
+            this.storage = storage;
+            this.demand = demand;
+        }
+
+        @Override
+        public boolean isValid() {
+            return cap.isPresent();
+        }
+
+        @Override
+        public void onInvalidated(Runnable listener) {
+            cap.addListener(invalidated -> listener.run());
+        }
+
+        @Override
+        public boolean canReceive() {
+            return storage.canReceive();
+        }
+
+        @Override
+        public boolean canExtract() {
+            return storage.canExtract();
+        }
+
+        @Override
+        public long getDemand() {
+            return demand != null ? demand.getDemandL() : storage.receiveEnergyL(Long.MAX_VALUE, true);
+        }
+
+        @Override
+        public long insert(long amount, boolean simulate) {
+            if (simulate && demand != null) {
+                return Math.min(amount, demand.getDemandL());
+            }
+            return storage.receiveEnergyL(amount, simulate);
+        }
+
+        @Override
+        public long extract(long amount, boolean simulate) {
+            if (simulate && demand != null) {
+                return Math.min(amount, demand.getSupplyL());
+            }
+            return storage.extractEnergyL(amount, simulate);
+        }
+
+        @Override
+        public long insertBulk(long amount, boolean simulate) {
+            return insert(amount, simulate);
+        }
+
+        @Override
+        public long extractBulk(long amount, boolean simulate) {
+            return extract(amount, simulate);
+        }
+    }
+}
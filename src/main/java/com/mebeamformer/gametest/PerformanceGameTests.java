@@ -0,0 +1,513 @@
+package com.mebeamformer.gametest;
+
+import com.mebeamformer.ME_Beam_Former;
+import com.mebeamformer.block.BeamFormerBlock;
+import com.mebeamformer.block.WirelessEnergyTowerBlock;
+import com.mebeamformer.blockentity.OmniBeamFormerBlockEntity;
+import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
+import com.mebeamformer.diagnostics.TickBudgetWatchdog;
+import com.mebeamformer.energy.MEBFCapabilities;
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.energy.IEnergyStorage;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 最坏情况布局的性能用例，在 gameTestServer 上运行（{@code ./gradlew runGameTestServer}）。
+ * 每个用例搭好布局、预热后统计 {@link #MEASURE_TICKS} 个 tick 内本模组的耗时（与 {@link TickBudgetWatchdog} 共用计时点），
+ * 平均每 tick 超出预算即失败。各用例使用独立批次，依次运行，互不干扰计时。
+ */
+@GameTestHolder(ME_Beam_Former.MODID)
+@PrefixGameTestTemplate(false)
+public class PerformanceGameTests {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    // 64x16x64 的空场地
+    private static final String ARENA = "perf_arena";
+
+    // 预热：等待方块实体注册、AE2 网格建立与光束连接完成
+    private static final int WARMUP_TICKS = 40;
+    private static final int MEASURE_TICKS = 100;
+    private static final int TIMEOUT_TICKS = WARMUP_TICKS + MEASURE_TICKS + 20;
+
+    // 提交的预算：平均每 tick 本模组耗时（微秒）
+    private static final long TOWER_GRID_BUDGET_MICROS = 5_000L;
+    private static final long BEAM_PAIRS_BUDGET_MICROS = 3_000L;
+    private static final long OMNI_HUB_BUDGET_MICROS = 1_000L;
+
+    private static final int TOWER_GRID_SIZE = 50;
+    // 塔网格的测试能量端点：根塔（x = 0 的一列）下方为能量源，其余每座塔下方为用电设备。
+    // 每次提取的上限按总需求的约两倍设置（50 座根塔各约 3 条链接），能量必须经多次推送才能铺满整个网格
+    private static final int TEST_SOURCE_RATE = 40_000;
+    private static final int TEST_SINK_RATE_PER_TICK = 1_000;
+    private static final ResourceLocation TEST_ENERGY_CAP = new ResourceLocation(ME_Beam_Former.MODID, "gametest_energy");
+    private static final int BEAM_PAIR_COUNT = 500;
+    private static final int BEAM_PAIR_GAP = 8;
+    private static final int OMNI_SPOKE_COUNT = 200;
+
+    // 光束反复通断：每隔 FLAP_PERIOD_TICKS 在光路中放置/移除一块石头，周期短于状态去抖延迟
+    private static final int FLAP_PAIR_COUNT = 200;
+    private static final int FLAP_PERIOD_TICKS = 2;
+    // 允许的状态写入（每游戏秒，全部成型器合计）；去抖生效时应为 0
+    private static final double FLAP_STATUS_WRITES_BUDGET = 0.0d;
+
+    // 能力适配器占用：10k 座塔每个面都查询一次能力后，堆上新增的对象（每座塔，字节）。
+    // 旧的按面缓存布局每座塔有 21 个 LazyOptional 及其适配器，远超此预算
+    private static final int FOOTPRINT_TOWER_COUNT = 10_000;
+    private static final long ADAPTER_BYTES_PER_TOWER_BUDGET = 1_024L;
+    private static final int HISTOGRAM_TOP_CLASSES = 10;
+
+    /**
+     * 50x50 的感应塔网格，每座塔与右侧和前方的塔双向链接，整个网格为一个连通网络。
+     * 根塔（x = 0 的一列）下方放置能量源，其余每座塔下方放置用电设备（地板换成附加了测试能量能力的木桶），
+     * 能量经每条链接送达整个网格；测量结束时每台用电设备都必须收到过能量。
+     */
+    @GameTest(template = ARENA, batch = "mebf_perf_tower_grid", timeoutTicks = TIMEOUT_TICKS)
+    public static void towerGrid(GameTestHelper helper) {
+        Map<BlockPos, TestEnergyStorage> endpoints = new HashMap<>();
+        for (int x = 0; x < TOWER_GRID_SIZE; x++) {
+            for (int z = 0; z < TOWER_GRID_SIZE; z++) {
+                endpoints.put(helper.absolutePos(new BlockPos(x + 1, 0, z + 1)),
+                        x == 0
+                                ? TestEnergyStorage.source(helper, TEST_SOURCE_RATE)
+                                : TestEnergyStorage.sink(helper, TEST_SINK_RATE_PER_TICK));
+            }
+        }
+        // 能力在方块实体构造时附加，只在放置木桶期间监听
+        Consumer<AttachCapabilitiesEvent<BlockEntity>> attach = event -> {
+            TestEnergyStorage storage = endpoints.get(event.getObject().getBlockPos());
+            if (storage != null) {
+                event.addCapability(TEST_ENERGY_CAP, storage);
+            }
+        };
+        MinecraftForge.EVENT_BUS.addGenericListener(BlockEntity.class, attach);
+        try {
+            for (int x = 0; x < TOWER_GRID_SIZE; x++) {
+                for (int z = 0; z < TOWER_GRID_SIZE; z++) {
+                    helper.setBlock(new BlockPos(x + 1, 0, z + 1), Blocks.BARREL);
+                }
+            }
+        } finally {
+            MinecraftForge.EVENT_BUS.unregister(attach);
+        }
+
+        WirelessEnergyTowerBlockEntity[][] towers = new WirelessEnergyTowerBlockEntity[TOWER_GRID_SIZE][TOWER_GRID_SIZE];
+        for (int x = 0; x < TOWER_GRID_SIZE; x++) {
+            for (int z = 0; z < TOWER_GRID_SIZE; z++) {
+                towers[x][z] = placeTower(helper, new BlockPos(x + 1, 1, z + 1));
+            }
+        }
+        for (int x = 0; x < TOWER_GRID_SIZE; x++) {
+            for (int z = 0; z < TOWER_GRID_SIZE; z++) {
+                if (x + 1 < TOWER_GRID_SIZE) {
+                    linkTowers(towers[x][z], towers[x + 1][z]);
+                }
+                if (z + 1 < TOWER_GRID_SIZE) {
+                    linkTowers(towers[x][z], towers[x][z + 1]);
+                }
+            }
+        }
+        measure(helper, "tower grid", TOWER_GRID_BUDGET_MICROS, () -> {
+            int starved = 0;
+            long delivered = 0;
+            for (TestEnergyStorage storage : endpoints.values()) {
+                if (!storage.source) {
+                    delivered += storage.received;
+                    if (storage.received == 0) {
+                        starved++;
+                    }
+                }
+            }
+            LOGGER.info("tower grid: {} FE delivered to {} sinks", delivered, endpoints.size() - TOWER_GRID_SIZE);
+            if (starved > 0) {
+                helper.fail("tower grid: " + starved + " sinks received no energy");
+            }
+        });
+    }
+
+    /**
+     * 500 对相向的光束成型器，分两层排布。
+     */
+    @GameTest(template = ARENA, batch = "mebf_perf_beam_pairs", timeoutTicks = TIMEOUT_TICKS)
+    public static void beamPairs(GameTestHelper helper) {
+        BlockState east = ME_Beam_Former.BEAM_FORMER_BLOCK.get().defaultBlockState()
+                .setValue(BeamFormerBlock.FACING, Direction.EAST);
+        BlockState west = ME_Beam_Former.BEAM_FORMER_BLOCK.get().defaultBlockState()
+                .setValue(BeamFormerBlock.FACING, Direction.WEST);
+        int pairWidth = BEAM_PAIR_GAP + 2;
+        int placed = 0;
+        for (int y = 1; y <= 3 && placed < BEAM_PAIR_COUNT; y += 2) {
+            for (int z = 1; z < 63 && placed < BEAM_PAIR_COUNT; z++) {
+                for (int x = 1; x + pairWidth <= 63 && placed < BEAM_PAIR_COUNT; x += pairWidth) {
+                    helper.setBlock(new BlockPos(x, y, z), east);
+                    helper.setBlock(new BlockPos(x + BEAM_PAIR_GAP + 1, y, z), west);
+                    placed++;
+                }
+            }
+        }
+        if (placed < BEAM_PAIR_COUNT) {
+            helper.fail("Arena too small for " + BEAM_PAIR_COUNT + " beam former pairs, placed " + placed);
+        }
+        measure(helper, "beam pairs", BEAM_PAIRS_BUDGET_MICROS);
+    }
+
+    /**
+     * 一个全向光束成型器连接 200 个辐条。
+     */
+    @GameTest(template = ARENA, batch = "mebf_perf_omni_hub", timeoutTicks = TIMEOUT_TICKS)
+    public static void omniHub(GameTestHelper helper) {
+        BlockState omni = ME_Beam_Former.OMNI_BEAM_FORMER_BLOCK.get().defaultBlockState();
+        BlockPos hubPos = new BlockPos(32, 8, 32);
+        helper.setBlock(hubPos, omni);
+        if (!(helper.getBlockEntity(hubPos) instanceof OmniBeamFormerBlockEntity hub)) {
+            helper.fail("Omni beam former hub has no block entity");
+            return;
+        }
+
+        int placed = 0;
+        for (int y = 6; y <= 10 && placed < OMNI_SPOKE_COUNT; y += 4) {
+            for (int dx = -16; dx <= 16 && placed < OMNI_SPOKE_COUNT; dx += 2) {
+                for (int dz = -16; dz <= 16 && placed < OMNI_SPOKE_COUNT; dz += 2) {
+                    BlockPos spoke = hubPos.offset(dx, y - hubPos.getY(), dz);
+                    if (spoke.equals(hubPos)) continue;
+                    helper.setBlock(spoke, omni);
+                    hub.addLink(helper.absolutePos(spoke));
+                    placed++;
+                }
+            }
+        }
+        measure(helper, "omni hub", OMNI_HUB_BUDGET_MICROS);
+    }
+
+    /**
+     * 200 对光束成型器，光路被反复遮挡。统计测量期间真实的方块状态写入：
+     * 每 tick 结束时比较各成型器的 STATUS（去抖后每个方块实体每 tick 至多写入一次，变化次数即 setBlock 次数），
+     * 并监听成型器位置上的邻居通知（状态写入不应触发邻居或形状更新）。
+     */
+    @GameTest(template = ARENA, batch = "mebf_perf_beam_flapping", timeoutTicks = TIMEOUT_TICKS)
+    public static void beamFlapping(GameTestHelper helper) {
+        BlockState east = ME_Beam_Former.BEAM_FORMER_BLOCK.get().defaultBlockState()
+                .setValue(BeamFormerBlock.FACING, Direction.EAST);
+        BlockState west = ME_Beam_Former.BEAM_FORMER_BLOCK.get().defaultBlockState()
+                .setValue(BeamFormerBlock.FACING, Direction.WEST);
+        int pairWidth = BEAM_PAIR_GAP + 2;
+        BlockPos[] formers = new BlockPos[FLAP_PAIR_COUNT * 2];
+        BlockPos[] obstacles = new BlockPos[FLAP_PAIR_COUNT];
+        int placed = 0;
+        for (int z = 1; z < 63 && placed < FLAP_PAIR_COUNT; z++) {
+            for (int x = 1; x + pairWidth <= 63 && placed < FLAP_PAIR_COUNT; x += pairWidth) {
+                BlockPos a = new BlockPos(x, 1, z);
+                BlockPos b = new BlockPos(x + BEAM_PAIR_GAP + 1, 1, z);
+                helper.setBlock(a, east);
+                helper.setBlock(b, west);
+                formers[placed * 2] = a;
+                formers[placed * 2 + 1] = b;
+                obstacles[placed] = new BlockPos(x + 1 + BEAM_PAIR_GAP / 2, 1, z);
+                placed++;
+            }
+        }
+        if (placed < FLAP_PAIR_COUNT) {
+            helper.fail("Arena too small for " + FLAP_PAIR_COUNT + " beam former pairs, placed " + placed);
+            return;
+        }
+
+        Set<BlockPos> formerPositions = new HashSet<>();
+        for (BlockPos former : formers) {
+            formerPositions.add(helper.absolutePos(former));
+        }
+        BeamFormerBlock.Status[] lastStatus = new BeamFormerBlock.Status[formers.length];
+        long[] statusWrites = new long[1];
+        long[] neighborUpdates = new long[1];
+        boolean[] measuring = new boolean[1];
+        Consumer<BlockEvent.NeighborNotifyEvent> neighborListener = event -> {
+            if (measuring[0] && formerPositions.contains(event.getPos())) {
+                neighborUpdates[0]++;
+            }
+        };
+
+        helper.runAtTickTime(WARMUP_TICKS, () -> {
+            for (int i = 0; i < formers.length; i++) {
+                lastStatus[i] = helper.getBlockState(formers[i]).getValue(BeamFormerBlock.STATUS);
+            }
+            MinecraftForge.EVENT_BUS.addListener(neighborListener);
+            measuring[0] = true;
+        });
+        helper.onEachTick(() -> {
+            long tick = helper.getTick();
+            if (!measuring[0] || tick > WARMUP_TICKS + MEASURE_TICKS) {
+                return;
+            }
+            for (int i = 0; i < formers.length; i++) {
+                BeamFormerBlock.Status status = helper.getBlockState(formers[i]).getValue(BeamFormerBlock.STATUS);
+                if (status != lastStatus[i]) {
+                    lastStatus[i] = status;
+                    statusWrites[0]++;
+                }
+            }
+            if ((tick - WARMUP_TICKS) % FLAP_PERIOD_TICKS == 0) {
+                boolean blocked = ((tick - WARMUP_TICKS) / FLAP_PERIOD_TICKS) % 2 == 0;
+                for (BlockPos obstacle : obstacles) {
+                    helper.setBlock(obstacle, blocked ? Blocks.STONE : Blocks.AIR);
+                }
+            }
+        });
+        helper.runAtTickTime(WARMUP_TICKS + MEASURE_TICKS, () -> {
+            measuring[0] = false;
+            MinecraftForge.EVENT_BUS.unregister(neighborListener);
+            double writesPerSecond = statusWrites[0] / (MEASURE_TICKS / 20.0d);
+            LOGGER.info("beam flapping: {} formers, flap period {} ticks, {} status writes ({} per second), {} neighbour updates",
+                    formers.length, FLAP_PERIOD_TICKS, statusWrites[0], writesPerSecond, neighborUpdates[0]);
+            if (neighborUpdates[0] > 0) {
+                helper.fail("beam flapping: status writes caused " + neighborUpdates[0] + " neighbour updates");
+            }
+            if (writesPerSecond > FLAP_STATUS_WRITES_BUDGET) {
+                helper.fail(String.format("beam flapping: %.1f status writes per second exceeds budget of %.1f",
+                        writesPerSecond, FLAP_STATUS_WRITES_BUDGET));
+            }
+            helper.succeed();
+        });
+    }
+
+    /**
+     * 10k 座感应塔的能力适配器占用，取真实的类直方图（与 {@code jcmd <pid> GC.class_histogram} 相同的诊断命令）。
+     * 放好塔后取一次直方图，再对每座塔的每个面（含 null）查询能量、Long 能量与需求能力并解析，之后再取一次；
+     * 两次之间不经过 tick，差值即为适配器（TowerEnergyStorage、LazyOptional 及其 supplier 等）的实际占用。
+     * 在改动前后的提交上各运行一次即可对比两种布局。
+     */
+    @GameTest(template = ARENA, batch = "mebf_perf_adapter_footprint", timeoutTicks = TIMEOUT_TICKS)
+    public static void towerAdapterFootprint(GameTestHelper helper) {
+        WirelessEnergyTowerBlockEntity[] towers = new WirelessEnergyTowerBlockEntity[FOOTPRINT_TOWER_COUNT];
+        int placed = 0;
+        // 每层 62x62 座塔，层与层之间空一格
+        for (int y = 1; y + 2 < 16 && placed < FOOTPRINT_TOWER_COUNT; y += 4) {
+            for (int x = 1; x < 63 && placed < FOOTPRINT_TOWER_COUNT; x++) {
+                for (int z = 1; z < 63 && placed < FOOTPRINT_TOWER_COUNT; z++) {
+                    towers[placed++] = placeTower(helper, new BlockPos(x, y, z));
+                }
+            }
+        }
+        if (placed < FOOTPRINT_TOWER_COUNT) {
+            helper.fail("Arena too small for " + FOOTPRINT_TOWER_COUNT + " towers, placed " + placed);
+            return;
+        }
+
+        // 放置时（onLoad）不查询能力，塔的适配器此时尚未创建
+        Map<String, long[]> before = classHistogram(helper);
+        Capability<?>[] caps = {
+                ForgeCapabilities.ENERGY,
+                MEBFCapabilities.LONG_ENERGY_STORAGE,
+                MEBFCapabilities.LONG_ENERGY_DEMAND
+        };
+        Direction[] sides = new Direction[Direction.values().length + 1];
+        System.arraycopy(Direction.values(), 0, sides, 1, sides.length - 1);
+        for (WirelessEnergyTowerBlockEntity tower : towers) {
+            for (Capability<?> cap : caps) {
+                for (Direction side : sides) {
+                    tower.getCapability(cap, side).resolve();
+                }
+            }
+        }
+        Map<String, long[]> after = classHistogram(helper);
+
+        long totalBytes = 0;
+        Map<String, long[]> delta = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : after.entrySet()) {
+            long[] old = before.getOrDefault(entry.getKey(), new long[2]);
+            long instances = entry.getValue()[0] - old[0];
+            long bytes = entry.getValue()[1] - old[1];
+            totalBytes += bytes;
+            if (bytes > 0) {
+                delta.put(entry.getKey(), new long[]{instances, bytes});
+            }
+        }
+        long bytesPerTower = totalBytes / FOOTPRINT_TOWER_COUNT;
+        LOGGER.info("tower adapter footprint: {} towers, all sides queried, {} bytes ({} per tower)",
+                FOOTPRINT_TOWER_COUNT, totalBytes, bytesPerTower);
+        delta.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+                .limit(HISTOGRAM_TOP_CLASSES)
+                .forEach(e -> LOGGER.info("  {} instances, {} bytes  {}", e.getValue()[0], e.getValue()[1], e.getKey()));
+        if (bytesPerTower > ADAPTER_BYTES_PER_TOWER_BUDGET) {
+            helper.fail("tower adapter footprint: " + bytesPerTower + " bytes per tower exceeds budget of "
+                    + ADAPTER_BYTES_PER_TOWER_BUDGET);
+            return;
+        }
+        helper.succeed();
+    }
+
+    /**
+     * 通过 HotSpot 的 DiagnosticCommand MBean 取类直方图（先做一次 Full GC，只统计存活对象）。
+     *
+     * @return 类名 -> {实例数, 字节数}
+     */
+    private static Map<String, long[]> classHistogram(GameTestHelper helper) {
+        String output;
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            output = (String) mbs.invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "gcClassHistogram", new Object[]{new String[0]}, new String[]{String[].class.getName()});
+        } catch (Exception e) {
+            helper.fail("Class histogram unavailable: " + e);
+            return Map.of();
+        }
+        Map<String, long[]> histogram = new HashMap<>();
+        for (String line : output.split("\\R")) {
+            // 格式："   1:   12345   678900  java.lang.String (java.base@17)"
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens.length < 4 || !tokens[0].endsWith(":")) {
+                continue;
+            }
+            histogram.merge(tokens[3], new long[]{Long.parseLong(tokens[1]), Long.parseLong(tokens[2])},
+                    (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+        }
+        return histogram;
+    }
+
+    private static WirelessEnergyTowerBlockEntity placeTower(GameTestHelper helper, BlockPos base) {
+        BlockState tower = ME_Beam_Former.WIRELESS_ENERGY_TOWER_BLOCK.get().defaultBlockState();
+        // 自下而上放置，避免结构完整性检查把底部移除
+        helper.setBlock(base, tower.setValue(WirelessEnergyTowerBlock.PART, 0));
+        helper.setBlock(base.above(), tower.setValue(WirelessEnergyTowerBlock.PART, 1));
+        helper.setBlock(base.above(2), tower.setValue(WirelessEnergyTowerBlock.PART, 2));
+        if (helper.getBlockEntity(base) instanceof WirelessEnergyTowerBlockEntity be) {
+            return be;
+        }
+        helper.fail("Wireless energy tower has no block entity at " + base);
+        return null;
+    }
+
+    private static void linkTowers(WirelessEnergyTowerBlockEntity a, WirelessEnergyTowerBlockEntity b) {
+        a.addLink(b.getBlockPos());
+        b.addLink(a.getBlockPos());
+    }
+
+    private static void measure(GameTestHelper helper, String layout, long budgetMicros) {
+        measure(helper, layout, budgetMicros, () -> {
+        });
+    }
+
+    /**
+     * 预热后统计 {@link #MEASURE_TICKS} 个 tick 的本模组耗时，平均值超出预算则失败；之后执行用例自己的检查。
+     */
+    private static void measure(GameTestHelper helper, String layout, long budgetMicros, Runnable verify) {
+        long[] startNanos = new long[1];
+        helper.runAtTickTime(WARMUP_TICKS, () -> {
+            TickBudgetWatchdog.acquireMeasurement();
+            startNanos[0] = TickBudgetWatchdog.getMeasuredModNanos();
+        });
+        helper.runAtTickTime(WARMUP_TICKS + MEASURE_TICKS, () -> {
+            long elapsed = TickBudgetWatchdog.getMeasuredModNanos() - startNanos[0];
+            TickBudgetWatchdog.releaseMeasurement();
+            double averageMicros = elapsed / 1000.0d / MEASURE_TICKS;
+            if (averageMicros > budgetMicros) {
+                helper.fail(String.format("%s: %.1fus per tick over %d ticks exceeds budget of %dus",
+                        layout, averageMicros, MEASURE_TICKS, budgetMicros));
+            }
+            verify.run();
+            helper.succeed();
+        });
+    }
+
+    /**
+     * 测试用的 Forge 能量端点：能量源每次最多提供固定的量且永不耗尽；
+     * 用电设备每 tick 最多接收固定的量（像持续运行的机器），并累计收到的能量。
+     */
+    private static final class TestEnergyStorage implements IEnergyStorage, ICapabilityProvider {
+        final boolean source;
+        final int rate;
+        long received;
+        private final GameTestHelper helper;
+        private long tick = Long.MIN_VALUE;
+        private int receivedThisTick;
+        private final LazyOptional<IEnergyStorage> holder = LazyOptional.of(() -> this);
+
+        private TestEnergyStorage(GameTestHelper helper, boolean source, int rate) {
+            this.helper = helper;
+            this.source = source;
+            this.rate = rate;
+        }
+
+        static TestEnergyStorage source(GameTestHelper helper, int rate) {
+            return new TestEnergyStorage(helper, true, rate);
+        }
+
+        static TestEnergyStorage sink(GameTestHelper helper, int ratePerTick) {
+            return new TestEnergyStorage(helper, false, ratePerTick);
+        }
+
+        @Override
+        public int receiveEnergy(int maxReceive, boolean simulate) {
+            if (source) {
+                return 0;
+            }
+            long now = helper.getLevel().getGameTime();
+            if (now != tick) {
+                tick = now;
+                receivedThisTick = 0;
+            }
+            int accepted = Math.min(maxReceive, rate - receivedThisTick);
+            if (!simulate) {
+                receivedThisTick += accepted;
+                received += accepted;
+            }
+            return accepted;
+        }
+
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+            return source ? Math.min(maxExtract, rate) : 0;
+        }
+
+        @Override
+        public int getEnergyStored() {
+            return source ? Integer.MAX_VALUE : 0;
+        }
+
+        @Override
+        public int getMaxEnergyStored() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public boolean canExtract() {
+            return source;
+        }
+
+        @Override
+        public boolean canReceive() {
+            return !source;
+        }
+
+        @Override
+        public @NotNull <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side) {
+            return ForgeCapabilities.ENERGY.orEmpty(cap, holder);
+        }
+    }
+}
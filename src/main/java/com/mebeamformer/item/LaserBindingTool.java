@@ -150,7 +150,19 @@ public class LaserBindingTool extends Item {
                     boolean isTargetTower = isClickedTower;
                     
                     if (isTargetTower) {
-                        // 目标是感应塔，提示使用普通右键绑定
+                        CompoundTag t = tag.getCompound(TAG_SOURCE);
+                        BlockPos source = new BlockPos(t.getInt("x"), t.getInt("y"), t.getInt("z"));
+                        if (source.equals(pos) && be instanceof WirelessEnergyTowerBlockEntity tower) {
+                            // Shift+右键已选定为源的感应塔：切换脉冲模式间隔
+                            int interval = tower.cyclePulseInterval();
+                            if (interval > 1) {
+                                player.displayClientMessage(net.minecraft.network.chat.Component.translatable("tooltip.me_beam_former.binding.pulse_interval", interval), true);
+                            } else {
+                                player.displayClientMessage(net.minecraft.network.chat.Component.translatable("tooltip.me_beam_former.binding.pulse_off"), true);
+                            }
+                            return InteractionResult.SUCCESS;
+                        }
+                        // 目标是其他感应塔，提示使用普通右键绑定
                         player.displayClientMessage(net.minecraft.network.chat.Component.translatable("tooltip.me_beam_former.binding.tower_to_tower_needs_normal_click"), true);
                         return InteractionResult.SUCCESS;
                     } else if (isLinkable) {
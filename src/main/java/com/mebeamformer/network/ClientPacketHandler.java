@@ -0,0 +1,35 @@
+package com.mebeamformer.network;
+
+import com.mebeamformer.blockentity.EnergyNetworkMonitorBlockEntity;
+import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+
+/**
+ * 客户端侧的包处理，只通过 DistExecutor 调用，避免专用服务端加载客户端类。
+ */
+final class ClientPacketHandler {
+    private ClientPacketHandler() {
+    }
+
+    static void handleTowerLinks(TowerLinksPacket msg) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null || !level.isLoaded(msg.getPos())) {
+            // 方块实体尚未加载；加载时会按同步版本号自行请求全量
+            return;
+        }
+        if (level.getBlockEntity(msg.getPos()) instanceof WirelessEnergyTowerBlockEntity tower) {
+            tower.applyLinkSync(msg);
+        }
+    }
+
+    static void handleMonitorTelemetry(MonitorTelemetryPacket msg) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null || !level.isLoaded(msg.getPos())) {
+            return;
+        }
+        if (level.getBlockEntity(msg.getPos()) instanceof EnergyNetworkMonitorBlockEntity monitor) {
+            monitor.applyTelemetry(msg.getTelemetry());
+        }
+    }
+}
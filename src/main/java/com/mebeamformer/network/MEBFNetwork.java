@@ -0,0 +1,92 @@
+package com.mebeamformer.network;
+
+import com.mebeamformer.ME_Beam_Former;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 模组自有的网络通道。
+ * 方块实体的常规同步仍走 AE2 的 writeToStream/readFromStream，这里只承载按需发送的增量数据。
+ */
+public final class MEBFNetwork {
+    private static final String PROTOCOL_VERSION = "2";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+            new ResourceLocation(ME_Beam_Former.MODID, "main"),
+            () -> PROTOCOL_VERSION,
+            PROTOCOL_VERSION::equals,
+            PROTOCOL_VERSION::equals);
+
+    // 连接同步的最大距离：超出后服务端不再响应订阅并清理订阅者，与塔渲染器的视距一致并留出余量
+    public static final double LINK_SYNC_RANGE_SQR = 320.0d * 320.0d;
+
+    private static boolean registered = false;
+
+    private MEBFNetwork() {
+    }
+
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+
+        int id = 0;
+        CHANNEL.registerMessage(id++, TowerLinksPacket.class,
+                TowerLinksPacket::encode, TowerLinksPacket::decode, TowerLinksPacket::handle,
+                Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+        CHANNEL.registerMessage(id++, TowerLinksInterestPacket.class,
+                TowerLinksInterestPacket::encode, TowerLinksInterestPacket::decode, TowerLinksInterestPacket::handle,
+                Optional.of(NetworkDirection.PLAY_TO_SERVER));
+        CHANNEL.registerMessage(id++, MonitorTelemetryPacket.class,
+                MonitorTelemetryPacket::encode, MonitorTelemetryPacket::decode, MonitorTelemetryPacket::handle,
+                Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+        CHANNEL.registerMessage(id++, MonitorInterestPacket.class,
+                MonitorInterestPacket::encode, MonitorInterestPacket::decode, MonitorInterestPacket::handle,
+                Optional.of(NetworkDirection.PLAY_TO_SERVER));
+    }
+
+    /**
+     * 发送给订阅者集合中仍在同一维度且处于同步距离内的玩家，其余订阅者顺带移除。
+     * 包只编码一次。
+     */
+    public static void sendToSubscribers(ServerLevel level, BlockPos pos, Set<UUID> subscribers, Object message) {
+        Packet<?> packet = null;
+        Iterator<UUID> it = subscribers.iterator();
+        while (it.hasNext()) {
+            ServerPlayer player = level.getServer().getPlayerList().getPlayer(it.next());
+            if (player == null || player.serverLevel() != level || !isInLinkSyncRange(player, pos)) {
+                it.remove();
+                continue;
+            }
+            if (packet == null) {
+                packet = CHANNEL.toVanillaPacket(message, NetworkDirection.PLAY_TO_CLIENT);
+            }
+            player.connection.send(packet);
+        }
+    }
+
+    public static boolean isInLinkSyncRange(ServerPlayer player, BlockPos pos) {
+        return player.distanceToSqr(pos.getX() + 0.5d, pos.getY() + 0.5d, pos.getZ() + 0.5d) <= LINK_SYNC_RANGE_SQR;
+    }
+
+    public static void sendTo(ServerPlayer player, Object message) {
+        CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), message);
+    }
+
+    public static void sendToServer(Object message) {
+        CHANNEL.sendToServer(message);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mebeamformer.network;
+
+import com.mebeamformer.blockentity.EnergyNetworkMonitorBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * 客户端打开或关闭能源网络监控界面（客户端 -> 服务端）。
+ * 打开时服务端立即回发一次遥测，之后按监控方块的刷新间隔只向打开界面的玩家发送。
+ */
+public final class MonitorInterestPacket {
+    private final BlockPos pos;
+    private final boolean subscribe;
+
+    public MonitorInterestPacket(BlockPos pos, boolean subscribe) {
+        this.pos = pos;
+        this.subscribe = subscribe;
+    }
+
+    public static void encode(MonitorInterestPacket msg, FriendlyByteBuf buf) {
+        buf.writeBlockPos(msg.pos);
+        buf.writeBoolean(msg.subscribe);
+    }
+
+    public static MonitorInterestPacket decode(FriendlyByteBuf buf) {
+        return new MonitorInterestPacket(buf.readBlockPos(), buf.readBoolean());
+    }
+
+    public static void handle(MonitorInterestPacket msg, Supplier<NetworkEvent.Context> ctx) {
+        NetworkEvent.Context context = ctx.get();
+        ServerPlayer player = context.getSender();
+        context.enqueueWork(() -> {
+            if (player == null) {
+                return;
+            }
+            ServerLevel level = player.serverLevel();
+            if (!level.isLoaded(msg.pos)) {
+                return;
+            }
+            if (!(level.getBlockEntity(msg.pos) instanceof EnergyNetworkMonitorBlockEntity monitor)) {
+                return;
+            }
+            if (!msg.subscribe) {
+                monitor.unsubscribeTelemetry(player);
+            } else if (MEBFNetwork.isInLinkSyncRange(player, msg.pos)) {
+                monitor.subscribeTelemetry(player);
+            }
+        });
+        context.setPacketHandled(true);
+    }
+}
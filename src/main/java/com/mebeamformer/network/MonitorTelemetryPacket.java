@@ -0,0 +1,49 @@
+package com.mebeamformer.network;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * 能源网络监控方块的遥测数据（服务端 -> 客户端），只发给打开了该监控方块界面的玩家。
+ */
+public final class MonitorTelemetryPacket {
+    private final BlockPos pos;
+    private final CompoundTag telemetry;
+
+    public MonitorTelemetryPacket(BlockPos pos, CompoundTag telemetry) {
+        this.pos = pos;
+        this.telemetry = telemetry;
+    }
+
+    public BlockPos getPos() {
+        return pos;
+    }
+
+    public CompoundTag getTelemetry() {
+        return telemetry;
+    }
+
+    public static void encode(MonitorTelemetryPacket msg, FriendlyByteBuf buf) {
+        buf.writeBlockPos(msg.pos);
+        buf.writeNbt(msg.telemetry);
+    }
+
+    public static MonitorTelemetryPacket decode(FriendlyByteBuf buf) {
+        BlockPos pos = buf.readBlockPos();
+        CompoundTag telemetry = buf.readNbt();
+        return new MonitorTelemetryPacket(pos, telemetry != null ? telemetry : new CompoundTag());
+    }
+
+    public static void handle(MonitorTelemetryPacket msg, Supplier<NetworkEvent.Context> ctx) {
+        NetworkEvent.Context context = ctx.get();
+        context.enqueueWork(() -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT,
+                () -> () -> ClientPacketHandler.handleMonitorTelemetry(msg)));
+        context.setPacketHandled(true);
+    }
+}
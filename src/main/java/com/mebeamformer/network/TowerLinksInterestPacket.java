@@ -0,0 +1,56 @@
+package com.mebeamformer.network;
+
+import com.mebeamformer.blockentity.WirelessEnergyTowerBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * 客户端订阅或退订某座能源塔的连接列表（客户端 -> 服务端）。
+ * 订阅时服务端立即回发全量，之后只向订阅者发送增量；客户端缺失增量时重新订阅即可重同步。
+ */
+public final class TowerLinksInterestPacket {
+    private final BlockPos pos;
+    private final boolean subscribe;
+
+    public TowerLinksInterestPacket(BlockPos pos, boolean subscribe) {
+        this.pos = pos;
+        this.subscribe = subscribe;
+    }
+
+    public static void encode(TowerLinksInterestPacket msg, FriendlyByteBuf buf) {
+        buf.writeBlockPos(msg.pos);
+        buf.writeBoolean(msg.subscribe);
+    }
+
+    public static TowerLinksInterestPacket decode(FriendlyByteBuf buf) {
+        return new TowerLinksInterestPacket(buf.readBlockPos(), buf.readBoolean());
+    }
+
+    public static void handle(TowerLinksInterestPacket msg, Supplier<NetworkEvent.Context> ctx) {
+        NetworkEvent.Context context = ctx.get();
+        ServerPlayer player = context.getSender();
+        context.enqueueWork(() -> {
+            if (player == null) {
+                return;
+            }
+            ServerLevel level = player.serverLevel();
+            if (!level.isLoaded(msg.pos)) {
+                return;
+            }
+            if (!(level.getBlockEntity(msg.pos) instanceof WirelessEnergyTowerBlockEntity tower)) {
+                return;
+            }
+            if (!msg.subscribe) {
+                tower.unsubscribeLinks(player);
+            } else if (MEBFNetwork.isInLinkSyncRange(player, msg.pos)) {
+                tower.subscribeLinks(player);
+            }
+        });
+        context.setPacketHandled(true);
+    }
+}
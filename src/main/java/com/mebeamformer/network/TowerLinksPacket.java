@@ -0,0 +1,142 @@
+package com.mebeamformer.network;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 能源塔连接列表的同步包（服务端 -> 客户端）。
+ * 全量包携带完整列表；增量包只携带相对 {@code baseVersion} 的新增与移除，
+ * 客户端版本与 {@code baseVersion} 不一致时丢弃并请求全量重同步。
+ * 坐标按塔位置做相对编码后排序，逐项写入差值的 zigzag varlong，带宽与变化量成正比。
+ */
+public final class TowerLinksPacket {
+    // 单包最多接受的坐标数，防止畸形数据导致超大分配
+    private static final int MAX_POSITIONS = 1 << 16;
+
+    private final BlockPos pos;
+    private final boolean full;
+    private final int baseVersion;
+    private final int version;
+    private final Collection<BlockPos> added;
+    private final Collection<BlockPos> removed;
+
+    private TowerLinksPacket(BlockPos pos, boolean full, int baseVersion, int version,
+            Collection<BlockPos> added, Collection<BlockPos> removed) {
+        this.pos = pos;
+        this.full = full;
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public static TowerLinksPacket full(BlockPos pos, int version, Collection<BlockPos> links) {
+        return new TowerLinksPacket(pos, true, version, version, links, List.of());
+    }
+
+    public static TowerLinksPacket delta(BlockPos pos, int baseVersion, int version,
+            Collection<BlockPos> added, Collection<BlockPos> removed) {
+        return new TowerLinksPacket(pos, false, baseVersion, version, added, removed);
+    }
+
+    public BlockPos getPos() {
+        return pos;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public int getBaseVersion() {
+        return baseVersion;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Collection<BlockPos> getAdded() {
+        return added;
+    }
+
+    public Collection<BlockPos> getRemoved() {
+        return removed;
+    }
+
+    public static void encode(TowerLinksPacket msg, FriendlyByteBuf buf) {
+        buf.writeBlockPos(msg.pos);
+        buf.writeBoolean(msg.full);
+        buf.writeVarInt(msg.version);
+        if (!msg.full) {
+            buf.writeVarInt(msg.baseVersion);
+        }
+        writePositions(buf, msg.pos, msg.added);
+        if (!msg.full) {
+            writePositions(buf, msg.pos, msg.removed);
+        }
+    }
+
+    public static TowerLinksPacket decode(FriendlyByteBuf buf) {
+        BlockPos pos = buf.readBlockPos();
+        boolean full = buf.readBoolean();
+        int version = buf.readVarInt();
+        int baseVersion = full ? version : buf.readVarInt();
+        List<BlockPos> added = readPositions(buf, pos);
+        List<BlockPos> removed = full ? List.of() : readPositions(buf, pos);
+        return new TowerLinksPacket(pos, full, baseVersion, version, added, removed);
+    }
+
+    public static void handle(TowerLinksPacket msg, Supplier<NetworkEvent.Context> ctx) {
+        NetworkEvent.Context context = ctx.get();
+        context.enqueueWork(() -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT,
+                () -> () -> ClientPacketHandler.handleTowerLinks(msg)));
+        context.setPacketHandled(true);
+    }
+
+    /**
+     * x/z 相对塔坐标编码；y 保持绝对值，避免高世界中相对 y 超出 BlockPos 打包的 12 位。
+     */
+    static void writePositions(FriendlyByteBuf buf, BlockPos origin, Collection<BlockPos> positions) {
+        long[] keys = new long[positions.size()];
+        int i = 0;
+        for (BlockPos p : positions) {
+            keys[i++] = BlockPos.asLong(p.getX() - origin.getX(), p.getY(), p.getZ() - origin.getZ());
+        }
+        Arrays.sort(keys);
+
+        buf.writeVarInt(keys.length);
+        long previous = 0L;
+        for (long key : keys) {
+            long delta = key - previous;
+            buf.writeVarLong((delta << 1) ^ (delta >> 63));
+            previous = key;
+        }
+    }
+
+    static List<BlockPos> readPositions(FriendlyByteBuf buf, BlockPos origin) {
+        int count = buf.readVarInt();
+        if (count < 0 || count > MAX_POSITIONS) {
+            throw new IllegalArgumentException("Too many tower links in packet: " + count);
+        }
+        List<BlockPos> positions = new ArrayList<>(count);
+        long previous = 0L;
+        for (int i = 0; i < count; i++) {
+            long zigzag = buf.readVarLong();
+            previous += (zigzag >>> 1) ^ -(zigzag & 1L);
+            positions.add(new BlockPos(
+                    BlockPos.getX(previous) + origin.getX(),
+                    BlockPos.getY(previous),
+                    BlockPos.getZ(previous) + origin.getZ()));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,87 @@
+package com.mebeamformer.network;
+
+import appeng.api.parts.IPartHost;
+import appeng.blockentity.AEBaseBlockEntity;
+import com.mebeamformer.ME_Beam_Former;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 视觉同步的合并器。
+ * 同一 tick 内光束两端的 applyVisualState、断开、隐藏切换等路径可能对同一方块实体多次调用
+ * markForUpdate；这里只记录脏标记，在服务端 tick 结束时对每个方块实体/零件宿主统一刷新一次。
+ * 客户端或没有服务端 tick 的场景直接刷新。
+ */
+@Mod.EventBusSubscriber(modid = ME_Beam_Former.MODID)
+public final class VisualSyncCoordinator {
+    // 只在服务端主线程上读写
+    private static final Set<AEBaseBlockEntity> DIRTY_BLOCK_ENTITIES =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+    private static final Set<IPartHost> DIRTY_PART_HOSTS =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private VisualSyncCoordinator() {
+    }
+
+    public static void markDirty(AEBaseBlockEntity be) {
+        if (be.getLevel() == null || be.getLevel().isClientSide) {
+            be.markForUpdate();
+            return;
+        }
+        DIRTY_BLOCK_ENTITIES.add(be);
+    }
+
+    public static void markDirty(IPartHost host) {
+        if (host.getLocation() == null || host.getLocation().getLevel().isClientSide) {
+            host.markForUpdate();
+            return;
+        }
+        DIRTY_PART_HOSTS.add(host);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            flush();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        DIRTY_BLOCK_ENTITIES.clear();
+        DIRTY_PART_HOSTS.clear();
+    }
+
+    public static void flush() {
+        if (!DIRTY_BLOCK_ENTITIES.isEmpty()) {
+            // 刷新过程中可能再次标脏，先取出快照
+            List<AEBaseBlockEntity> blockEntities = new ArrayList<>(DIRTY_BLOCK_ENTITIES);
+            DIRTY_BLOCK_ENTITIES.clear();
+            for (AEBaseBlockEntity be : blockEntities) {
+                if (!be.isRemoved()) {
+                    be.markForUpdate();
+                }
+            }
+        }
+
+        if (!DIRTY_PART_HOSTS.isEmpty()) {
+            List<IPartHost> hosts = new ArrayList<>(DIRTY_PART_HOSTS);
+            DIRTY_PART_HOSTS.clear();
+            for (IPartHost host : hosts) {
+                if (!host.isInWorld()) {
+                    continue;
+                }
+                host.markForUpdate();
+            }
+        }
+    }
+}
@@ -15,6 +15,14 @@ import appeng.api.util.AECableType;
 import appeng.items.parts.PartModels;
 import appeng.parts.AEBasePart;
 import appeng.parts.PartModel;
+import com.mebeamformer.blockentity.BeamColorCache;
+import com.mebeamformer.diagnostics.BeamConnectionTracker;
+import com.mebeamformer.diagnostics.NetworkProfiler;
+import com.mebeamformer.diagnostics.TickBudgetWatchdog;
+import com.mebeamformer.diagnostics.jfr.BeamScanEvent;
+import com.mebeamformer.diagnostics.jfr.GridConnectionEvent;
+import com.mebeamformer.diagnostics.jfr.JfrEvents;
+import com.mebeamformer.network.VisualSyncCoordinator;
 import com.mojang.blaze3d.vertex.PoseStack;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -40,6 +48,9 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
     private static final int MAX_BEAM_RANGE = 32;
     private static final TickingRequest TICKING_REQUEST =
             new TickingRequest(appeng.core.settings.TickRates.LightTunnel, false, true);
+    // 客户端缓存的对端最长有效期，过期后重新扫描
+    private static final long CLIENT_TARGET_RESCAN_TICKS = 20L;
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     private int beamLength;
     @Nullable
@@ -48,6 +59,14 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
     private IGridConnection connection;
     private boolean hideBeam;
 
+    // 仅客户端渲染使用：缓存对端与光束颜色，避免每帧扫描路径
+    @Nullable
+    private BeamFormerPart clientTarget;
+    private int clientTargetLength = -1;
+    private long clientTargetTick;
+    @Nullable
+    private BeamColorCache beamColorCache;
+
     public BeamFormerPart(IPartItem<?> partItem) {
         super(partItem);
         getMainNode().setFlags(GridFlags.DENSE_CAPACITY);
@@ -101,6 +120,20 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
 
     @Override
     public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall) {
+        long start = TickBudgetWatchdog.begin();
+        long profileStart = NetworkProfiler.begin();
+        try {
+            return scanAndConnect();
+        } finally {
+            BlockEntity host = getBlockEntity();
+            if (profileStart != 0L && host != null && host.getLevel() != null) {
+                NetworkProfiler.endBeamFormer(host.getLevel(), host.getBlockPos(), "beam_former_part", profileStart);
+            }
+            TickBudgetWatchdog.end(start);
+        }
+    }
+
+    private TickRateModulation scanAndConnect() {
         Level level = getLevelOrNull();
         BlockEntity blockEntity = getBlockEntity();
         Direction side = getSide();
@@ -109,7 +142,10 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
             return TickRateModulation.SLEEP;
         }
 
+        BeamScanEvent scanEvent = JfrEvents.beginBeamScan();
         ScanResult scan = scanForTarget(level, blockEntity.getBlockPos(), side);
+        JfrEvents.commitBeamScan(scanEvent, level, blockEntity.getBlockPos(), "beam_former_part",
+                scan.target != null, scan.length);
         if (scan.target == null) {
             disconnect();
             return TickRateModulation.SLOWER;
@@ -177,25 +213,51 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
             return;
         }
 
-        float[] sourceColor = com.mebeamformer.client.render.BeamRenderHelper.getPartHostColor(getHost());
-        ScanResult scan = scanForTarget(level, blockEntity.getBlockPos(), side);
-        float[] targetColor = scan.target != null && scan.length == beamLength
-                ? com.mebeamformer.client.render.BeamRenderHelper.getPartHostColor(scan.target.getHost())
-                : null;
-        float[] beamColor = com.mebeamformer.client.render.BeamRenderHelper.blendEndpointColors(sourceColor, targetColor);
+        BeamFormerPart target = getClientTarget(level, blockEntity.getBlockPos(), side);
+        if (beamColorCache == null) {
+            beamColorCache = new BeamColorCache();
+        }
+        beamColorCache.update(
+                com.mebeamformer.client.render.BeamRenderHelper.getPartHostColor(getHost()),
+                target != null
+                        ? com.mebeamformer.client.render.BeamRenderHelper.getPartHostColor(target.getHost())
+                        : null);
 
         com.mebeamformer.client.render.BeamRenderHelper.renderColoredBeamForPart(
                 poseStack,
                 buffers,
                 side,
                 beamLength,
-                beamColor[0],
-                beamColor[1],
-                beamColor[2],
+                beamColorCache.getOuterColor(),
+                beamColorCache.getCoreColor(),
                 combinedLightIn,
                 combinedOverlayIn);
     }
 
+    @Nullable
+    private BeamFormerPart getClientTarget(Level level, BlockPos startPos, Direction side) {
+        long gameTime = level.getGameTime();
+        BeamFormerPart cached = clientTarget;
+        if (clientTargetLength == beamLength
+                && gameTime >= clientTargetTick
+                && gameTime - clientTargetTick < CLIENT_TARGET_RESCAN_TICKS
+                && (cached == null || isStillAttached(cached))) {
+            return cached;
+        }
+
+        ScanResult scan = scanForTarget(level, startPos, side);
+        clientTarget = scan.target != null && scan.length == beamLength ? scan.target : null;
+        clientTargetLength = beamLength;
+        clientTargetTick = gameTime;
+        return clientTarget;
+    }
+
+    private static boolean isStillAttached(BeamFormerPart part) {
+        IPartHost host = part.getHost();
+        Direction side = part.getSide();
+        return host != null && side != null && host.getPart(side) == part;
+    }
+
     @Override
     public void removeFromWorld() {
         disconnect(false);
@@ -282,11 +344,14 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
 
             activeConnection = findConnection(myNode, targetNode);
             if (activeConnection == null) {
+                GridConnectionEvent event = JfrEvents.beginGridConnection();
                 try {
                     activeConnection = GridHelper.createConnection(myNode, targetNode);
+                    BeamConnectionTracker.onCreated(activeConnection);
                 } catch (IllegalStateException ignored) {
                     activeConnection = findConnection(myNode, targetNode);
                 }
+                recordGridConnection(event, activeConnection != null);
             }
         }
 
@@ -342,10 +407,13 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
         }
 
         if (activeConnection != null && myNode != null && getOtherSide(activeConnection, myNode) != null) {
+            GridConnectionEvent event = JfrEvents.beginGridConnection();
             try {
                 activeConnection.destroy();
             } catch (IllegalArgumentException | IllegalStateException ignored) {
             }
+            BeamConnectionTracker.onDestroyed(activeConnection);
+            recordGridConnection(event, false);
         }
 
         if (notifySelf && selfChanged) {
@@ -385,7 +453,7 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
             return;
         }
 
-        host.markForUpdate();
+        VisualSyncCoordinator.markDirty(host);
         if (persist) {
             host.markForSave();
         }
@@ -419,13 +487,12 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
     }
 
     private boolean isPathClearForRender(Level level, BlockPos startPos, Direction direction, int length) {
-        BlockPos cursor = startPos;
+        BlockPos.MutableBlockPos cursor = startPos.mutable();
 
         for (int i = 0; i < length; i++) {
-            cursor = cursor.relative(direction);
+            cursor.move(direction);
             BlockState state = level.getBlockState(cursor);
-            if (state.canOcclude() && !state.isAir()
-                    && !inspectPartHost(level.getBlockEntity(cursor), direction).hasBeamFormer) {
+            if (state.canOcclude() && !state.isAir() && !hasBeamFormerPart(level.getBlockEntity(cursor))) {
                 return false;
             }
         }
@@ -433,6 +500,19 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
         return true;
     }
 
+    private static boolean hasBeamFormerPart(@Nullable BlockEntity blockEntity) {
+        if (!(blockEntity instanceof IPartHost partHost)) {
+            return false;
+        }
+
+        for (Direction side : DIRECTIONS) {
+            if (partHost.getPart(side) instanceof BeamFormerPart) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private PartHostScan inspectPartHost(@Nullable BlockEntity blockEntity, Direction direction) {
         if (!(blockEntity instanceof IPartHost partHost)) {
             return PartHostScan.NONE;
@@ -442,7 +522,7 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
         boolean hasBeamFormer = false;
         Direction opposite = direction.getOpposite();
 
-        for (Direction side : Direction.values()) {
+        for (Direction side : DIRECTIONS) {
             var part = partHost.getPart(side);
             if (part instanceof BeamFormerPart beamFormerPart) {
                 hasBeamFormer = true;
@@ -455,6 +535,13 @@ public class BeamFormerPart extends AEBasePart implements IGridTickable {
         return new PartHostScan(target, hasBeamFormer);
     }
 
+    private void recordGridConnection(@Nullable GridConnectionEvent event, boolean created) {
+        BlockEntity host = getBlockEntity();
+        if (event != null && host != null) {
+            JfrEvents.commitGridConnection(event, host.getLevel(), host.getBlockPos(), "beam_former_part", created);
+        }
+    }
+
     @Nullable
     private IGridConnection findConnection(IGridNode from, IGridNode to) {
         return from.getConnections().stream()